@@ -127,6 +127,26 @@ INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172805', '14', 'addPr
 INSERT INTO "public"."shenyu_dict" VALUES ('1529402613195784282', 'addPrefixed', 'ADD_PREFIXED', 'open', 'true', '', 0, 1, '2022-09-27 12:00:00', '2022-09-27 12:00:00');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529402613195784283', 'addPrefixed', 'ADD_PREFIXED', 'close', 'false', '', 1, 1, '2022-09-27 12:00:00', '2022-09-27 12:00:00');
 
+/* add p2c and peakEwma load balance */
+INSERT INTO "public"."shenyu_dict" VALUES ('1572621976689762308', 'loadBalance', 'LOAD_BALANCE', 'p2c', 'p2c', 'p2c', 0, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+INSERT INTO "public"."shenyu_dict" VALUES ('1572621976689762309', 'loadBalance', 'LOAD_BALANCE', 'peakEwma', 'peakEwma', 'peakEwma', 0, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+
+/* add hedge handle of divide plugin */
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172970', '5', 'hedgeDelay', 'hedgeDelay', 1, 2, 5, '{"defaultValue":"0","placeholder":"hedge delay ms, 0 is off","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172971', '5', 'hedgePercentile', 'hedgePercentile', 1, 2, 6, '{"defaultValue":"0","placeholder":"hedge latency percentile, 0 is off","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+
+/* add limiterEngine handle of rateLimiter plugin */
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172972', '4', 'limiterEngine', 'limiterEngine', 3, 2, 5, '{"required":"0","defaultValue":"redis","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."shenyu_dict" VALUES ('1572621976689762310', 'limiterEngine', 'LIMITER_ENGINE', 'redis', 'redis', 'Rate limit the cluster by redis', 0, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+INSERT INTO "public"."shenyu_dict" VALUES ('1572621976689762311', 'limiterEngine', 'LIMITER_ENGINE', 'local', 'local', 'Rate limit the node in memory', 1, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+INSERT INTO "public"."shenyu_dict" VALUES ('1572621976689762312', 'limiterEngine', 'LIMITER_ENGINE', 'lease', 'lease', 'Rate limit the cluster by the tokens leased from redis', 2, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+INSERT INTO "public"."shenyu_dict" VALUES ('1572621976689762313', 'limiterEngine', 'LIMITER_ENGINE', 'adaptive', 'adaptive', 'Limit the concurrency by the latency gradient', 3, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+
+/* add stale and coalescing handle of cache plugin */
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172973', '30', 'coalesceTimeoutMillis', 'coalesceTimeoutMillis', 1, 2, 1, '{"required":"0","defaultValue":"3000","placeholder":"max wait ms for the same missed key, 0 is off","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172974', '30', 'staleWhileRevalidateSeconds', 'staleWhileRevalidateSeconds', 1, 2, 2, '{"required":"0","defaultValue":"0","placeholder":"serve stale while revalidating, 0 is off","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172975', '30', 'staleIfErrorSeconds', 'staleIfErrorSeconds', 1, 2, 3, '{"required":"0","defaultValue":"0","placeholder":"serve stale if the upstream fails, 0 is off","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+
 /* FIX ISSUE 3997 */
 INSERT INTO "public"."resource" VALUES ('1534585531108564993', '1346775491550474240', 'loggingAliyunSls', 'loggingAliyunSls', '/plug/loggingAliyunSls', 'loggingAliyunSls', 1, 0, 'block', 0, 0, '', 1, '2022-05-25 18:08:07', '2022-05-25 18:08:07');
 INSERT INTO "public"."resource" VALUES ('1534585531108564994', '1534585531108564993', 'SHENYU.BUTTON.PLUGIN.SELECTOR.ADD', '', '', '', 2, 0, '', 1, 0, 'plugin:loggingAliyunSlsSelector:add', 1, '2022-05-25 18:08:07', '2022-05-25 18:08:07');
@@ -64,6 +64,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -243,22 +244,37 @@ public class UpstreamCheckService {
 
     private void scheduled() {
         try {
+            // all the upstreams are probed at the same time without blocking, then the results are handled one by one
             if (!ZOMBIE_SET.isEmpty()) {
-                ZOMBIE_SET.parallelStream().forEach(this::checkZombie);
+                final List<ZombieUpstream> zombieUpstreams = new ArrayList<>(ZOMBIE_SET);
+                final List<CompletableFuture<Boolean>> results = zombieUpstreams.stream()
+                        .map(zombieUpstream -> UpstreamCheckUtils.checkUrlAsync(zombieUpstream.getCommonUpstream().getUpstreamUrl()))
+                        .collect(Collectors.toList());
+                for (int i = 0; i < zombieUpstreams.size(); i++) {
+                    checkZombie(zombieUpstreams.get(i), results.get(i).join());
+                }
             }
             if (!UPSTREAM_MAP.isEmpty()) {
-                UPSTREAM_MAP.forEach(this::check);
+                final Map<String, List<CommonUpstream>> upstreams = Maps.newHashMap();
+                final Map<String, List<CompletableFuture<Boolean>>> results = Maps.newHashMap();
+                UPSTREAM_MAP.forEach((selectorId, upstreamList) -> {
+                    final List<CommonUpstream> snapshot = new ArrayList<>(upstreamList);
+                    upstreams.put(selectorId, snapshot);
+                    results.put(selectorId, snapshot.stream()
+                            .map(commonUpstream -> UpstreamCheckUtils.checkUrlAsync(commonUpstream.getUpstreamUrl()))
+                            .collect(Collectors.toList()));
+                });
+                upstreams.forEach((selectorId, upstreamList) -> check(selectorId, upstreamList, results.get(selectorId)));
             }
         } catch (Exception e) {
             LOG.error("upstream scheduled check error -------- ", e);
         }
     }
 
-    private void checkZombie(final ZombieUpstream zombieUpstream) {
+    private void checkZombie(final ZombieUpstream zombieUpstream, final boolean pass) {
         ZOMBIE_SET.remove(zombieUpstream);
         String selectorId = zombieUpstream.getSelectorId();
         CommonUpstream commonUpstream = zombieUpstream.getCommonUpstream();
-        final boolean pass = UpstreamCheckUtils.checkUrl(commonUpstream.getUpstreamUrl());
         if (pass) {
             commonUpstream.setTimestamp(System.currentTimeMillis());
             commonUpstream.setStatus(true);
@@ -275,10 +291,11 @@ public class UpstreamCheckService {
         }
     }
 
-    private void check(final String selectorId, final List<CommonUpstream> upstreamList) {
+    private void check(final String selectorId, final List<CommonUpstream> upstreamList, final List<CompletableFuture<Boolean>> results) {
         List<CommonUpstream> successList = Lists.newArrayListWithCapacity(upstreamList.size());
-        for (CommonUpstream commonUpstream : upstreamList) {
-            final boolean pass = UpstreamCheckUtils.checkUrl(commonUpstream.getUpstreamUrl());
+        for (int i = 0; i < upstreamList.size(); i++) {
+            final CommonUpstream commonUpstream = upstreamList.get(i);
+            final boolean pass = results.get(i).join();
             if (pass) {
                 if (!commonUpstream.isStatus()) {
                     commonUpstream.setTimestamp(System.currentTimeMillis());
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The synthetic route table of the benchmarks.
+ * <p>Every selector {@code i} matches {@code /service-i/**} and owns {@link #RULES_PER_SELECTOR} rules,
+ * the {@code /service-i/api-j/**} rules and a {@code /service-i/user/{id}} rule with a path variable.</p>
+ */
+public final class RouteFixtures {
+
+    /**
+     * the rules of a selector.
+     */
+    public static final int RULES_PER_SELECTOR = 5;
+
+    private static final long SEED = 20221018L;
+
+    private final List<SelectorData> selectors;
+
+    private final List<RuleData> rules;
+
+    private RouteFixtures(final List<SelectorData> selectors, final List<RuleData> rules) {
+        this.selectors = selectors;
+        this.rules = rules;
+    }
+
+    /**
+     * Build the route table of a plugin.
+     *
+     * @param pluginName the plugin name
+     * @param size the selectors
+     * @return the route fixtures
+     */
+    public static RouteFixtures build(final String pluginName, final int size) {
+        List<SelectorData> selectors = new ArrayList<>(size);
+        List<RuleData> rules = new ArrayList<>(size * RULES_PER_SELECTOR);
+        for (int i = 0; i < size; i++) {
+            String selectorId = "selector-" + i;
+            selectors.add(SelectorData.builder()
+                    .id(selectorId)
+                    .pluginName(pluginName)
+                    .name(selectorId)
+                    .sort(i)
+                    .enabled(true)
+                    .continued(true)
+                    .logged(false)
+                    .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                    .matchMode(MatchModeEnum.AND.getCode())
+                    .conditionList(Collections.singletonList(uriCondition("/service-" + i + "/**")))
+                    .build());
+            for (int j = 0; j < RULES_PER_SELECTOR; j++) {
+                String uri = j == RULES_PER_SELECTOR - 1 ? "/service-" + i + "/user/{id}" : "/service-" + i + "/api-" + j + "/**";
+                rules.add(RuleData.builder()
+                        .id("rule-" + i + "-" + j)
+                        .pluginName(pluginName)
+                        .selectorId(selectorId)
+                        .name("rule-" + i + "-" + j)
+                        .sort(j)
+                        .enabled(true)
+                        .loged(false)
+                        .matchMode(MatchModeEnum.AND.getCode())
+                        .conditionDataList(Collections.singletonList(uriCondition(uri)))
+                        .build());
+            }
+        }
+        return new RouteFixtures(selectors, rules);
+    }
+
+    /**
+     * Build a uri condition.
+     *
+     * @param path the path pattern
+     * @return the condition data
+     */
+    public static ConditionData uriCondition(final String path) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(OperatorEnum.MATCH.getAlias());
+        conditionData.setParamName("/");
+        conditionData.setParamValue(path);
+        return conditionData;
+    }
+
+    /**
+     * Generate the request paths, one in {@code missEvery} matches no selector.
+     *
+     * @param size the selectors of the route table
+     * @param count the paths
+     * @param missEvery the interval of the paths matching nothing, 0 for none
+     * @return the request paths
+     */
+    public static String[] requestPaths(final int size, final int count, final int missEvery) {
+        Random random = new Random(SEED);
+        String[] paths = new String[count];
+        for (int k = 0; k < count; k++) {
+            int i = random.nextInt(size);
+            if (missEvery > 0 && k % missEvery == 0) {
+                paths[k] = "/unknown-" + i + "/api-0/order";
+                continue;
+            }
+            int j = random.nextInt(RULES_PER_SELECTOR);
+            paths[k] = j == RULES_PER_SELECTOR - 1 ? "/service-" + i + "/user/" + random.nextInt(100_000)
+                    : "/service-" + i + "/api-" + j + "/order/" + random.nextInt(100);
+        }
+        return paths;
+    }
+
+    /**
+     * get selectors.
+     *
+     * @return the selectors
+     */
+    public List<SelectorData> getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * get rules.
+     *
+     * @return the rules
+     */
+    public List<RuleData> getRules() {
+        return rules;
+    }
+}
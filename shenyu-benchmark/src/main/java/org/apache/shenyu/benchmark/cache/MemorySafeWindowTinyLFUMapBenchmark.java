@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.cache;
+
+import org.apache.shenyu.common.cache.MemorySafeWindowTinyLFUMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reads and writes of {@link MemorySafeWindowTinyLFUMap}, the match cache of the plugins, shared by four threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MemorySafeWindowTinyLFUMapBenchmark {
+
+    private static final int MAX_FREE_MEMORY = 256 * 1024 * 1024;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private MemorySafeWindowTinyLFUMap<String, String> map;
+
+    private String[] keys;
+
+    /**
+     * Fill the map with the keys.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        map = new MemorySafeWindowTinyLFUMap<>(MAX_FREE_MEMORY, size);
+        keys = new String[size * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "/service-" + i + "/api-0/order";
+        }
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], keys[i]);
+        }
+    }
+
+    /**
+     * Get a present key.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public String getHit() {
+        return map.get(keys[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    /**
+     * Get an absent key.
+     *
+     * @return null
+     */
+    @Benchmark
+    public String getMiss() {
+        return map.get(keys[size + ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    /**
+     * Put a key of twice the size of the map.
+     *
+     * @return the previous value
+     */
+    @Benchmark
+    public String put() {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        return map.put(key, key);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.condition;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * The {@link PredicateJudge} of the operators, judged per request and compiled once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredicateJudgeBenchmark {
+
+    private static final Map<String, String[]> FIXTURES = new HashMap<>();
+
+    static {
+        FIXTURES.put("match", new String[]{"/service-1/api-*/**", "/service-1/api-2/order/save"});
+        FIXTURES.put("=", new String[]{"/service-1/api-2/order/save", "/service-1/api-2/order/save"});
+        FIXTURES.put("regex", new String[]{"^/service-[0-9]+/api-[0-9]+/order/.*$", "/service-1/api-2/order/save"});
+        FIXTURES.put("contains", new String[]{"order", "/service-1/api-2/order/save"});
+        FIXTURES.put("pathPattern", new String[]{"/service-1/{api}/order/**", "/service-1/api-2/order/save"});
+    }
+
+    @Param({"match", "=", "regex", "contains", "pathPattern"})
+    private String operator;
+
+    private ConditionData conditionData;
+
+    private String realData;
+
+    private Predicate<String> compiled;
+
+    /**
+     * Build the condition of the operator.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        final String[] fixture = FIXTURES.get(operator);
+        conditionData = new ConditionData();
+        conditionData.setParamType("uri");
+        conditionData.setParamName("/");
+        conditionData.setOperator(operator);
+        conditionData.setParamValue(fixture[0]);
+        realData = fixture[1];
+        compiled = PredicateJudgeFactory.newInstance(operator).compile(conditionData);
+    }
+
+    /**
+     * Judge the condition, parsed on every request.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public Boolean judge() {
+        return PredicateJudgeFactory.judge(conditionData, realData);
+    }
+
+    /**
+     * Test the compiled condition.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public boolean compiled() {
+        return compiled.test(realData);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.loadbalancer;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.spi.LoadBalancer;
+import org.apache.shenyu.spi.ExtensionLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The upstream selection of the {@link LoadBalancer} joins, shared by four threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoadBalancerBenchmark {
+
+    private static final int IPS = 1024;
+
+    @Param({"hash", "random", "roundRobin", "p2c", "peakEwma"})
+    private String algorithm;
+
+    @Param({"5", "50"})
+    private int upstreams;
+
+    private LoadBalancer loadBalancer;
+
+    private List<Upstream> upstreamList;
+
+    private String[] ips;
+
+    /**
+     * Build the upstreams with distinct weights.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        loadBalancer = ExtensionLoader.getExtensionLoader(LoadBalancer.class).getJoin(algorithm);
+        upstreamList = new ArrayList<>(upstreams);
+        for (int i = 0; i < upstreams; i++) {
+            upstreamList.add(Upstream.builder()
+                    .url("10.0." + (i / 250) + "." + (i % 250 + 1) + ":8080")
+                    .weight(50 + i % 5 * 10)
+                    .warmup(0)
+                    .status(true)
+                    .build());
+        }
+        ips = new String[IPS];
+        for (int i = 0; i < IPS; i++) {
+            ips[i] = "192.168." + (i >> 8) + "." + (i & 255);
+        }
+    }
+
+    /**
+     * Select an upstream for a client ip.
+     *
+     * @return the selected upstream
+     */
+    @Benchmark
+    public Upstream select() {
+        return loadBalancer.select(upstreamList, ips[ThreadLocalRandom.current().nextInt(IPS)]);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.plugin;
+
+import org.apache.shenyu.benchmark.RouteFixtures;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The selector and rule matching of {@link AbstractShenyuPlugin#execute(ServerWebExchange, ShenyuPluginChain)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShenyuPluginMatchBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmark";
+
+    private static final int EXCHANGES = 1024;
+
+    private static final ShenyuPluginChain CHAIN = exchange -> Mono.empty();
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean matchCache;
+
+    private BenchmarkPlugin plugin;
+
+    private ServerWebExchange[] exchanges;
+
+    private int index;
+
+    /**
+     * Sync the route table of the plugin.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getMatchCache().setSelectorEnabled(matchCache);
+        shenyuConfig.getMatchCache().setRuleEnabled(matchCache);
+        ShenyuConfig.ShenyuTrieConfig trieConfig = shenyuConfig.getTrie();
+        ShenyuTrie shenyuTrie = new ShenyuTrie(trieConfig.getChildrenSize(), trieConfig.getPathRuleCacheSize(),
+                trieConfig.getPathVariableSize(), trieConfig.getMatchMode());
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(ShenyuConfig.class, () -> shenyuConfig);
+        context.registerBean(ShenyuTrie.class, () -> shenyuTrie);
+        context.refresh();
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+
+        RouteFixtures fixtures = RouteFixtures.build(PLUGIN_NAME, size);
+        BaseDataCache.getInstance().cachePluginData(new PluginData("1", PLUGIN_NAME, null, null, true));
+        for (SelectorData selectorData : fixtures.getSelectors()) {
+            BaseDataCache.getInstance().cacheSelectData(selectorData);
+        }
+        for (RuleData ruleData : fixtures.getRules()) {
+            BaseDataCache.getInstance().cacheRuleData(ruleData);
+            for (ConditionData conditionData : ruleData.getConditionDataList()) {
+                shenyuTrie.putNode(conditionData.getParamValue(), ruleData, null);
+            }
+        }
+        InetSocketAddress remoteAddress = new InetSocketAddress("127.0.0.1", 8080);
+        exchanges = new ServerWebExchange[EXCHANGES];
+        String[] paths = RouteFixtures.requestPaths(size, EXCHANGES, 10);
+        for (int i = 0; i < EXCHANGES; i++) {
+            exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(paths[i]).remoteAddress(remoteAddress).build());
+        }
+        plugin = new BenchmarkPlugin();
+    }
+
+    /**
+     * Clean the route table.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BaseDataCache.getInstance().cleanPluginData();
+        BaseDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanRuleData();
+        MatchDataCache.getInstance().cleanSelectorData();
+        MatchDataCache.getInstance().cleanRuleData();
+    }
+
+    /**
+     * Match a request, one in ten requests matches no selector.
+     * the attributes of the request are cleared first, so the parameters of the conditions are read again
+     * rather than from the {@code ParameterDataCache} memoized on the exchange by a former invocation.
+     *
+     * @return the result of the plugin
+     */
+    @Benchmark
+    public Mono<Void> execute() {
+        final ServerWebExchange exchange = exchanges[index++ & (EXCHANGES - 1)];
+        exchange.getAttributes().clear();
+        return plugin.execute(exchange, CHAIN);
+    }
+
+    static class BenchmarkPlugin extends AbstractShenyuPlugin {
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+            return Mono.empty();
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return PLUGIN_NAME;
+        }
+    }
+}
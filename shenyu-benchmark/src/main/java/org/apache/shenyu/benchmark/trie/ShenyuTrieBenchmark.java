@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.trie;
+
+import org.apache.shenyu.benchmark.RouteFixtures;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.plugin.base.trie.CompactShenyuTrie;
+import org.apache.shenyu.plugin.base.trie.ShenyuRuleTrie;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rule lookup of {@link ShenyuTrie} and {@link CompactShenyuTrie}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShenyuTrieBenchmark {
+
+    private static final int PATHS = 1024;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private ShenyuRuleTrie shenyuTrie;
+
+    private String[] hitPaths;
+
+    private String[] hitSelectorIds;
+
+    private String[] missPaths;
+
+    private int index;
+
+    /**
+     * Put the rules of the route table.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        ShenyuConfig.ShenyuTrieConfig trieConfig = new ShenyuConfig().getTrie();
+        shenyuTrie = compact
+                ? new CompactShenyuTrie(trieConfig.getMatchMode())
+                : new ShenyuTrie(trieConfig.getChildrenSize(), trieConfig.getPathRuleCacheSize(), trieConfig.getPathVariableSize(), trieConfig.getMatchMode());
+        for (RuleData ruleData : RouteFixtures.build("benchmark", size).getRules()) {
+            for (ConditionData conditionData : ruleData.getConditionDataList()) {
+                shenyuTrie.putNode(conditionData.getParamValue(), ruleData, null);
+            }
+        }
+        hitPaths = RouteFixtures.requestPaths(size, PATHS, 0);
+        hitSelectorIds = new String[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            hitSelectorIds[i] = "selector-" + hitPaths[i].substring("/service-".length(), hitPaths[i].indexOf('/', 1));
+        }
+        missPaths = RouteFixtures.requestPaths(size, PATHS, 1);
+    }
+
+    /**
+     * Match a path with rules.
+     *
+     * @return the matched rules
+     */
+    @Benchmark
+    public List<RuleData> matchHit() {
+        int i = index++ & (PATHS - 1);
+        return shenyuTrie.matchRules(hitPaths[i], hitSelectorIds[i]);
+    }
+
+    /**
+     * Match a path without rules.
+     *
+     * @return null
+     */
+    @Benchmark
+    public List<RuleData> matchMiss() {
+        return shenyuTrie.matchRules(missPaths[index++ & (PATHS - 1)], "selector-0");
+    }
+}
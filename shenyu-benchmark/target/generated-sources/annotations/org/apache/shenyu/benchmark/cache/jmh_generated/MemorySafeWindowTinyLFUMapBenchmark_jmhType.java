@@ -0,0 +1,4 @@
+package org.apache.shenyu.benchmark.cache.jmh_generated;
+public class MemorySafeWindowTinyLFUMapBenchmark_jmhType extends MemorySafeWindowTinyLFUMapBenchmark_jmhType_B3 {
+}
+
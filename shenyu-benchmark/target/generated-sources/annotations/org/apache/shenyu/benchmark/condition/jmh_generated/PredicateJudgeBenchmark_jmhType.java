@@ -0,0 +1,4 @@
+package org.apache.shenyu.benchmark.condition.jmh_generated;
+public class PredicateJudgeBenchmark_jmhType extends PredicateJudgeBenchmark_jmhType_B3 {
+}
+
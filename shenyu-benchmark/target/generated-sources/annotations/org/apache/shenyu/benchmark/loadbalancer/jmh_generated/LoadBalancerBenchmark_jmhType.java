@@ -0,0 +1,4 @@
+package org.apache.shenyu.benchmark.loadbalancer.jmh_generated;
+public class LoadBalancerBenchmark_jmhType extends LoadBalancerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.shenyu.benchmark.plugin.jmh_generated;
+public class ShenyuPluginMatchBenchmark_jmhType extends ShenyuPluginMatchBenchmark_jmhType_B3 {
+}
+
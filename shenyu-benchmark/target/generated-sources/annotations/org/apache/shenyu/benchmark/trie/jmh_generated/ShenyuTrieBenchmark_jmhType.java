@@ -0,0 +1,4 @@
+package org.apache.shenyu.benchmark.trie.jmh_generated;
+public class ShenyuTrieBenchmark_jmhType extends ShenyuTrieBenchmark_jmhType_B3 {
+}
+
@@ -36,6 +36,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The differences between this class and {@link MemorySafeLRUMap}
@@ -53,6 +54,8 @@ public class MemorySafeWindowTinyLFUMap<K, V> extends AbstractMap<K, V> implemen
     
     private final int maxFreeMemory;
     
+    private final LongAdder evictionCount = new LongAdder();
+    
     private final Cache<K, V> cache;
     
     public MemorySafeWindowTinyLFUMap(final int maxFreeMemory,
@@ -70,6 +73,11 @@ public class MemorySafeWindowTinyLFUMap<K, V> extends AbstractMap<K, V> implemen
                 .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
                 .maximumSize(maximumSize)
                 .initialCapacity(initialSize)
+                .removalListener((key, value, cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictionCount.increment();
+                    }
+                })
                 .build();
     }
     
@@ -115,10 +123,22 @@ public class MemorySafeWindowTinyLFUMap<K, V> extends AbstractMap<K, V> implemen
         cache.policy().eviction().ifPresent(eviction -> {
             final Map<@NonNull K, @NonNull V> coldest = eviction.coldest(1);
             Optional.ofNullable(coldest.entrySet().iterator().next())
-                    .ifPresent(entry -> remove(entry.getKey()));
+                    .ifPresent(entry -> {
+                        remove(entry.getKey());
+                        evictionCount.increment();
+                    });
         });
     }
     
+    /**
+     * the count of entries evicted by size, expiry or memory pressure.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+    
     /**
      * whether to full.
      *
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * the load balance config.
+ */
+public class LoadBalanceConfig {
+
+    /**
+     * the virtual nodes of every upstream on the hash ring.
+     */
+    private Integer hashVirtualNodes = 5;
+
+    /**
+     * the hash function of the hash ring, md5 or fnv.
+     */
+    private String hashFunction = "md5";
+
+    /**
+     * the request data hashed to pick the upstream, ip, header or cookie.
+     */
+    private String hashKey = "ip";
+
+    /**
+     * the header or cookie name of the hash key.
+     */
+    private String hashKeyName;
+
+    /**
+     * get hash virtual nodes.
+     *
+     * @return hash virtual nodes
+     */
+    public Integer getHashVirtualNodes() {
+        return hashVirtualNodes;
+    }
+
+    /**
+     * set hash virtual nodes.
+     *
+     * @param hashVirtualNodes hash virtual nodes
+     */
+    public void setHashVirtualNodes(final Integer hashVirtualNodes) {
+        this.hashVirtualNodes = hashVirtualNodes;
+    }
+
+    /**
+     * get hash function.
+     *
+     * @return hash function
+     */
+    public String getHashFunction() {
+        return hashFunction;
+    }
+
+    /**
+     * set hash function.
+     *
+     * @param hashFunction hash function
+     */
+    public void setHashFunction(final String hashFunction) {
+        this.hashFunction = hashFunction;
+    }
+
+    /**
+     * get hash key.
+     *
+     * @return hash key
+     */
+    public String getHashKey() {
+        return hashKey;
+    }
+
+    /**
+     * set hash key.
+     *
+     * @param hashKey hash key
+     */
+    public void setHashKey(final String hashKey) {
+        this.hashKey = hashKey;
+    }
+
+    /**
+     * get hash key name.
+     *
+     * @return hash key name
+     */
+    public String getHashKeyName() {
+        return hashKeyName;
+    }
+
+    /**
+     * set hash key name.
+     *
+     * @param hashKeyName hash key name
+     */
+    public void setHashKeyName(final String hashKeyName) {
+        this.hashKeyName = hashKeyName;
+    }
+}
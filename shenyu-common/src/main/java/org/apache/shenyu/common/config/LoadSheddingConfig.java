@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * the load shedding config, the requests are shed by priority before the plugins when the gateway is overloaded.
+ */
+public class LoadSheddingConfig {
+
+    /**
+     * whether the requests are admitted by the load of the gateway.
+     */
+    private Boolean enabled = false;
+
+    /**
+     * the requests in flight the gateway is fully loaded at.
+     */
+    private Integer maxInflight = 10000;
+
+    /**
+     * the scheduling lag in milliseconds the gateway is fully loaded at.
+     */
+    private Integer maxLag = 200;
+
+    /**
+     * the interval of the lag probe in milliseconds.
+     */
+    private Integer probeInterval = 100;
+
+    /**
+     * the request header the priority is taken from, it should be set by a trusted proxy only.
+     */
+    private String priorityHeader;
+
+    /**
+     * the priority of the requests without a priority, one of critical, high, normal and low.
+     */
+    private String defaultPriority = "normal";
+
+    /**
+     * path pattern -> the priority of the requests matched, the first pattern matched wins.
+     */
+    private Map<String, String> paths = new LinkedHashMap<>();
+
+    /**
+     * get enabled.
+     *
+     * @return enabled
+     */
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * set enabled.
+     *
+     * @param enabled enabled
+     */
+    public void setEnabled(final Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * get max inflight.
+     *
+     * @return max inflight
+     */
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    /**
+     * set max inflight.
+     *
+     * @param maxInflight max inflight
+     */
+    public void setMaxInflight(final Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
+    /**
+     * get max lag.
+     *
+     * @return max lag
+     */
+    public Integer getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * set max lag.
+     *
+     * @param maxLag max lag
+     */
+    public void setMaxLag(final Integer maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * get probe interval.
+     *
+     * @return probe interval
+     */
+    public Integer getProbeInterval() {
+        return probeInterval;
+    }
+
+    /**
+     * set probe interval.
+     *
+     * @param probeInterval probe interval
+     */
+    public void setProbeInterval(final Integer probeInterval) {
+        this.probeInterval = probeInterval;
+    }
+
+    /**
+     * get priority header.
+     *
+     * @return priority header
+     */
+    public String getPriorityHeader() {
+        return priorityHeader;
+    }
+
+    /**
+     * set priority header.
+     *
+     * @param priorityHeader priority header
+     */
+    public void setPriorityHeader(final String priorityHeader) {
+        this.priorityHeader = priorityHeader;
+    }
+
+    /**
+     * get default priority.
+     *
+     * @return default priority
+     */
+    public String getDefaultPriority() {
+        return defaultPriority;
+    }
+
+    /**
+     * set default priority.
+     *
+     * @param defaultPriority default priority
+     */
+    public void setDefaultPriority(final String defaultPriority) {
+        this.defaultPriority = defaultPriority;
+    }
+
+    /**
+     * get paths.
+     *
+     * @return paths
+     */
+    public Map<String, String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * set paths.
+     *
+     * @param paths paths
+     */
+    public void setPaths(final Map<String, String> paths) {
+        this.paths = paths;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * the passive outlier detection config.
+ */
+public class OutlierDetectionConfig {
+
+    /**
+     * whether the upstreams are ejected by the results of the proxied requests.
+     */
+    private Boolean enabled = false;
+
+    /**
+     * the consecutive 5xx responses or connect failures an upstream is ejected after.
+     */
+    private Integer consecutiveErrors = 5;
+
+    /**
+     * the percentage of failed requests in an interval an upstream is ejected at.
+     */
+    private Integer failurePercentage = 50;
+
+    /**
+     * the requests in an interval the failure percentage needs.
+     */
+    private Integer minimumRequests = 20;
+
+    /**
+     * the interval of the failure percentage in milliseconds.
+     */
+    private Integer interval = 10000;
+
+    /**
+     * the ejection time in milliseconds, doubled with every ejection in a row.
+     */
+    private Integer baseEjectionTime = 30000;
+
+    /**
+     * the max ejection time in milliseconds.
+     */
+    private Integer maxEjectionTime = 300000;
+
+    /**
+     * the max percentage of the upstreams of a selector ejected at the same time.
+     */
+    private Integer maxEjectionPercent = 50;
+
+    /**
+     * get enabled.
+     *
+     * @return enabled
+     */
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * set enabled.
+     *
+     * @param enabled enabled
+     */
+    public void setEnabled(final Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * get consecutive errors.
+     *
+     * @return consecutive errors
+     */
+    public Integer getConsecutiveErrors() {
+        return consecutiveErrors;
+    }
+
+    /**
+     * set consecutive errors.
+     *
+     * @param consecutiveErrors consecutive errors
+     */
+    public void setConsecutiveErrors(final Integer consecutiveErrors) {
+        this.consecutiveErrors = consecutiveErrors;
+    }
+
+    /**
+     * get failure percentage.
+     *
+     * @return failure percentage
+     */
+    public Integer getFailurePercentage() {
+        return failurePercentage;
+    }
+
+    /**
+     * set failure percentage.
+     *
+     * @param failurePercentage failure percentage
+     */
+    public void setFailurePercentage(final Integer failurePercentage) {
+        this.failurePercentage = failurePercentage;
+    }
+
+    /**
+     * get minimum requests.
+     *
+     * @return minimum requests
+     */
+    public Integer getMinimumRequests() {
+        return minimumRequests;
+    }
+
+    /**
+     * set minimum requests.
+     *
+     * @param minimumRequests minimum requests
+     */
+    public void setMinimumRequests(final Integer minimumRequests) {
+        this.minimumRequests = minimumRequests;
+    }
+
+    /**
+     * get interval.
+     *
+     * @return interval
+     */
+    public Integer getInterval() {
+        return interval;
+    }
+
+    /**
+     * set interval.
+     *
+     * @param interval interval
+     */
+    public void setInterval(final Integer interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * get base ejection time.
+     *
+     * @return base ejection time
+     */
+    public Integer getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    /**
+     * set base ejection time.
+     *
+     * @param baseEjectionTime base ejection time
+     */
+    public void setBaseEjectionTime(final Integer baseEjectionTime) {
+        this.baseEjectionTime = baseEjectionTime;
+    }
+
+    /**
+     * get max ejection time.
+     *
+     * @return max ejection time
+     */
+    public Integer getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    /**
+     * set max ejection time.
+     *
+     * @param maxEjectionTime max ejection time
+     */
+    public void setMaxEjectionTime(final Integer maxEjectionTime) {
+        this.maxEjectionTime = maxEjectionTime;
+    }
+
+    /**
+     * get max ejection percent.
+     *
+     * @return max ejection percent
+     */
+    public Integer getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    /**
+     * set max ejection percent.
+     *
+     * @param maxEjectionPercent max ejection percent
+     */
+    public void setMaxEjectionPercent(final Integer maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+}
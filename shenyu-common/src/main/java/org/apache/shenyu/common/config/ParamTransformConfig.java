@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * the rpc param transform config.
+ */
+public class ParamTransformConfig {
+
+    /**
+     * the max size of the request body of a rpc request in MB, 0 for no limit.
+     */
+    private Integer maxBodySize = 10;
+
+    /**
+     * get max body size.
+     *
+     * @return max body size
+     */
+    public Integer getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * set max body size.
+     *
+     * @param maxBodySize max body size
+     */
+    public void setMaxBodySize(final Integer maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * the retry budget config.
+ */
+public class RetryBudgetConfig {
+
+    /**
+     * whether the retries of a selector are limited by its budget.
+     */
+    private Boolean enabled = false;
+
+    /**
+     * the retries allowed as a percentage of the successful requests.
+     */
+    private Integer percent = 20;
+
+    /**
+     * the retries per second always allowed, even without successful requests.
+     */
+    private Integer minRetriesPerSecond = 10;
+
+    /**
+     * get enabled.
+     *
+     * @return enabled
+     */
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * set enabled.
+     *
+     * @param enabled enabled
+     */
+    public void setEnabled(final Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * get percent.
+     *
+     * @return percent
+     */
+    public Integer getPercent() {
+        return percent;
+    }
+
+    /**
+     * set percent.
+     *
+     * @param percent percent
+     */
+    public void setPercent(final Integer percent) {
+        this.percent = percent;
+    }
+
+    /**
+     * get min retries per second.
+     *
+     * @return min retries per second
+     */
+    public Integer getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    /**
+     * set min retries per second.
+     *
+     * @param minRetriesPerSecond min retries per second
+     */
+    public void setMinRetriesPerSecond(final Integer minRetriesPerSecond) {
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+}
@@ -65,6 +65,16 @@ public class ShenyuConfig {
     private MetricsConfig metrics = new MetricsConfig();
 
     private ShenyuTrieConfig trie = new ShenyuTrieConfig();
+
+    private LoadBalanceConfig loadBalance = new LoadBalanceConfig();
+
+    private RetryBudgetConfig retryBudget = new RetryBudgetConfig();
+
+    private OutlierDetectionConfig outlierDetection = new OutlierDetectionConfig();
+
+    private ParamTransformConfig paramTransform = new ParamTransformConfig();
+
+    private LoadSheddingConfig loadShedding = new LoadSheddingConfig();
     
     /**
      * Gets health.
@@ -354,6 +364,96 @@ public class ShenyuConfig {
         this.trie = trie;
     }
 
+    /**
+     * Gets the load balance config.
+     *
+     * @return the load balance config
+     */
+    public LoadBalanceConfig getLoadBalance() {
+        return loadBalance;
+    }
+
+    /**
+     * Sets the load balance config.
+     *
+     * @param loadBalance the load balance config
+     */
+    public void setLoadBalance(final LoadBalanceConfig loadBalance) {
+        this.loadBalance = loadBalance;
+    }
+
+    /**
+     * Gets the retry budget config.
+     *
+     * @return the retry budget config
+     */
+    public RetryBudgetConfig getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Sets the retry budget config.
+     *
+     * @param retryBudget the retry budget config
+     */
+    public void setRetryBudget(final RetryBudgetConfig retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * Gets the outlier detection config.
+     *
+     * @return the outlier detection config
+     */
+    public OutlierDetectionConfig getOutlierDetection() {
+        return outlierDetection;
+    }
+
+    /**
+     * Sets the outlier detection config.
+     *
+     * @param outlierDetection the outlier detection config
+     */
+    public void setOutlierDetection(final OutlierDetectionConfig outlierDetection) {
+        this.outlierDetection = outlierDetection;
+    }
+
+    /**
+     * Gets the rpc param transform config.
+     *
+     * @return the rpc param transform config
+     */
+    public ParamTransformConfig getParamTransform() {
+        return paramTransform;
+    }
+
+    /**
+     * Sets the rpc param transform config.
+     *
+     * @param paramTransform the rpc param transform config
+     */
+    public void setParamTransform(final ParamTransformConfig paramTransform) {
+        this.paramTransform = paramTransform;
+    }
+
+    /**
+     * Gets the load shedding config.
+     *
+     * @return the load shedding config
+     */
+    public LoadSheddingConfig getLoadShedding() {
+        return loadShedding;
+    }
+
+    /**
+     * Sets the load shedding config.
+     *
+     * @param loadShedding the load shedding config
+     */
+    public void setLoadShedding(final LoadSheddingConfig loadShedding) {
+        this.loadShedding = loadShedding;
+    }
+
     /**
      * The type Scheduler.
      */
@@ -539,6 +639,13 @@ public class ShenyuConfig {
          */
         private Integer maxSelectorFreeMemory = 256;
 
+        private boolean ruleEnabled;
+
+        /**
+         * Max free memory of rule cache, unit mb.
+         */
+        private Integer maxRuleFreeMemory = 256;
+
         /**
          * Get selector cache enabled.
          *
@@ -575,6 +682,42 @@ public class ShenyuConfig {
         public void setMaxSelectorFreeMemory(final Integer maxSelectorFreeMemory) {
             this.maxSelectorFreeMemory = maxSelectorFreeMemory;
         }
+
+        /**
+         * Get rule cache enabled.
+         *
+         * @return the enabled
+         */
+        public boolean getRuleEnabled() {
+            return ruleEnabled;
+        }
+
+        /**
+         * Set rule cache enabled.
+         *
+         * @param ruleEnabled the enabled
+         */
+        public void setRuleEnabled(final boolean ruleEnabled) {
+            this.ruleEnabled = ruleEnabled;
+        }
+
+        /**
+         * Gets maxRuleFreeMemory.
+         *
+         * @return the maxRuleFreeMemory
+         */
+        public Integer getMaxRuleFreeMemory() {
+            return maxRuleFreeMemory;
+        }
+
+        /**
+         * Sets maxRuleFreeMemory.
+         *
+         * @param maxRuleFreeMemory the maxRuleFreeMemory
+         */
+        public void setMaxRuleFreeMemory(final Integer maxRuleFreeMemory) {
+            this.maxRuleFreeMemory = maxRuleFreeMemory;
+        }
     }
     
     /**
@@ -806,6 +949,8 @@ public class ShenyuConfig {
         private boolean printEnabled;
         
         private Integer printInterval = 60000;
+        
+        private UpstreamProbeConfig probe = new UpstreamProbeConfig();
     
         /**
          * Gets enabled.
@@ -932,6 +1077,24 @@ public class ShenyuConfig {
         public void setPrintInterval(final Integer printInterval) {
             this.printInterval = printInterval;
         }
+    
+        /**
+         * Gets the probe config.
+         *
+         * @return the probe
+         */
+        public UpstreamProbeConfig getProbe() {
+            return probe;
+        }
+    
+        /**
+         * Sets the probe config.
+         *
+         * @param probe the probe
+         */
+        public void setProbe(final UpstreamProbeConfig probe) {
+            this.probe = probe;
+        }
     }
     
     /**
@@ -1705,6 +1868,11 @@ public class ShenyuConfig {
          */
         private String matchMode = TrieMatchModeEvent.ANT_PATH_MATCH.getMatchMode();
 
+        /**
+         * use the compact trie, it keeps the children in sorted arrays and matches without splitting the path, the cache sizes above do not apply to it.
+         */
+        private Boolean compactEnabled = false;
+
         /**
          * get trie children size.
          *
@@ -1776,5 +1944,23 @@ public class ShenyuConfig {
         public void setMatchMode(final String matchMode) {
             this.matchMode = matchMode;
         }
+
+        /**
+         * get compact enabled.
+         *
+         * @return compact enabled
+         */
+        public Boolean getCompactEnabled() {
+            return compactEnabled;
+        }
+
+        /**
+         * set compact enabled.
+         *
+         * @param compactEnabled compact enabled
+         */
+        public void setCompactEnabled(final Boolean compactEnabled) {
+            this.compactEnabled = compactEnabled;
+        }
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * the probe config of the upstream check.
+ */
+public class UpstreamProbeConfig {
+
+    /**
+     * the probes of a check are spread randomly over the jitter, in milliseconds.
+     */
+    private Integer jitter = 1000;
+
+    /**
+     * the path probed by a http GET after the TCP connect, blank for the TCP connect only.
+     */
+    private String path;
+
+    /**
+     * the expected http status of the path.
+     */
+    private Integer expectedStatus = 200;
+
+    /**
+     * Gets the jitter.
+     *
+     * @return the jitter
+     */
+    public Integer getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets the jitter.
+     *
+     * @param jitter the jitter
+     */
+    public void setJitter(final Integer jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * Gets the path.
+     *
+     * @return the path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the path.
+     *
+     * @param path the path
+     */
+    public void setPath(final String path) {
+        this.path = path;
+    }
+
+    /**
+     * Gets the expected status.
+     *
+     * @return the expected status
+     */
+    public Integer getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    /**
+     * Sets the expected status.
+     *
+     * @param expectedStatus the expected status
+     */
+    public void setExpectedStatus(final Integer expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+}
@@ -112,6 +112,26 @@ public interface Constants {
      */
     String RETRY_STRATEGY = "retryStrategy";
 
+    /**
+     * The constant HTTP_HEDGE_DELAY.
+     */
+    String HTTP_HEDGE_DELAY = "httpHedgeDelay";
+
+    /**
+     * The constant HTTP_HEDGE_PERCENTILE.
+     */
+    String HTTP_HEDGE_PERCENTILE = "httpHedgePercentile";
+
+    /**
+     * The constant HTTP_HEDGE_CLAIM.
+     */
+    String HTTP_HEDGE_CLAIM = "httpHedgeClaim";
+
+    /**
+     * The constant HTTP_UPSTREAM_RTT, the round trip time of the upstream request in nanoseconds.
+     */
+    String HTTP_UPSTREAM_RTT = "httpUpstreamRtt";
+
     /**
      * The constant LOAD_BALANCE.
      */
@@ -672,6 +692,11 @@ public interface Constants {
      */
     String NAMESPACE = "namespace";
 
+    /**
+     * The request scoped cache of the parameter data used by condition matching.
+     */
+    String PARAMETER_DATA_CACHE = "parameterDataCache";
+
     /**
      * String q.
      */
@@ -54,6 +54,12 @@ public class RateLimiterHandle {
      */
     private String keyResolverName;
 
+    /**
+     * the engine of the rate limiter, redis limits the requests of the cluster and local those of the node,
+     * it is not named engine since the select box options of the admin are looked up by the field name.
+     */
+    private String limiterEngine = "redis";
+
     /**
      * get algorithmName.
      *
@@ -162,6 +168,24 @@ public class RateLimiterHandle {
         this.keyResolverName = keyResolverName;
     }
 
+    /**
+     * get limiter engine.
+     *
+     * @return limiter engine
+     */
+    public String getLimiterEngine() {
+        return limiterEngine;
+    }
+
+    /**
+     * set limiter engine.
+     *
+     * @param limiterEngine limiter engine
+     */
+    public void setLimiterEngine(final String limiterEngine) {
+        this.limiterEngine = limiterEngine;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -173,12 +197,13 @@ public class RateLimiterHandle {
         RateLimiterHandle that = (RateLimiterHandle) o;
         return Double.compare(that.replenishRate, replenishRate) == 0 && Double.compare(that.burstCapacity, burstCapacity) == 0
                 && Double.compare(that.requestCount, requestCount) == 0 && loged == that.loged
-                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName);
+                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName)
+                && Objects.equals(limiterEngine, that.limiterEngine);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName);
+        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName, limiterEngine);
     }
 
     @Override
@@ -198,6 +223,9 @@ public class RateLimiterHandle {
                 + ", keyResolverName='"
                 + keyResolverName
                 + '\''
+                + ", limiterEngine='"
+                + limiterEngine
+                + '\''
                 + '}';
     }
 }
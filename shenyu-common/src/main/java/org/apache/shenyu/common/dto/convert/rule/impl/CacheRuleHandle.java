@@ -29,6 +29,21 @@ public class CacheRuleHandle implements RuleHandle {
      */
     private Long timeoutSeconds = 60L;
 
+    /**
+     * the max wait in millis of a request for the concurrent miss of the same key, a non-positive value disables the coalescing.
+     */
+    private Long coalesceTimeoutMillis = 3000L;
+
+    /**
+     * the seconds after the timeout in which the stale response is served while it is revalidated in the background.
+     */
+    private Long staleWhileRevalidateSeconds = 0L;
+
+    /**
+     * the seconds after the timeout in which the stale response is served if the upstream fails.
+     */
+    private Long staleIfErrorSeconds = 0L;
+
     /**
      * Get the timeout seconds.
      * @return the timeout seconds
@@ -44,4 +59,52 @@ public class CacheRuleHandle implements RuleHandle {
     public void setTimeoutSeconds(final Long timeoutSeconds) {
         this.timeoutSeconds = timeoutSeconds;
     }
+
+    /**
+     * Get the coalesce timeout millis.
+     * @return the coalesce timeout millis
+     */
+    public Long getCoalesceTimeoutMillis() {
+        return coalesceTimeoutMillis;
+    }
+
+    /**
+     * Set coalesce timeout millis.
+     * @param coalesceTimeoutMillis the coalesce timeout millis
+     */
+    public void setCoalesceTimeoutMillis(final Long coalesceTimeoutMillis) {
+        this.coalesceTimeoutMillis = coalesceTimeoutMillis;
+    }
+
+    /**
+     * Get the stale while revalidate seconds.
+     * @return the stale while revalidate seconds
+     */
+    public Long getStaleWhileRevalidateSeconds() {
+        return staleWhileRevalidateSeconds;
+    }
+
+    /**
+     * Set stale while revalidate seconds.
+     * @param staleWhileRevalidateSeconds the stale while revalidate seconds
+     */
+    public void setStaleWhileRevalidateSeconds(final Long staleWhileRevalidateSeconds) {
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+    }
+
+    /**
+     * Get the stale if error seconds.
+     * @return the stale if error seconds
+     */
+    public Long getStaleIfErrorSeconds() {
+        return staleIfErrorSeconds;
+    }
+
+    /**
+     * Set stale if error seconds.
+     * @param staleIfErrorSeconds the stale if error seconds
+     */
+    public void setStaleIfErrorSeconds(final Long staleIfErrorSeconds) {
+        this.staleIfErrorSeconds = staleIfErrorSeconds;
+    }
 }
@@ -61,6 +61,17 @@ public class DivideRuleHandle implements RuleHandle {
      */
     private long requestMaxSize;
 
+    /**
+     * the delay in millis before a GET or HEAD request is hedged to another upstream, 0 is no fixed delay.
+     */
+    private long hedgeDelay;
+
+    /**
+     * the percentile of the tracked latency used as the hedge delay, eg. 95, 0 is not tracked.
+     * the fixed hedge delay is used until enough latency is tracked.
+     */
+    private int hedgePercentile;
+
     /**
      * get loadBalance.
      *
@@ -169,6 +180,42 @@ public class DivideRuleHandle implements RuleHandle {
         this.requestMaxSize = requestMaxSize;
     }
 
+    /**
+     * get hedgeDelay.
+     *
+     * @return hedgeDelay
+     */
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * set hedgeDelay.
+     *
+     * @param hedgeDelay hedgeDelay
+     */
+    public void setHedgeDelay(final long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * get hedgePercentile.
+     *
+     * @return hedgePercentile
+     */
+    public int getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * set hedgePercentile.
+     *
+     * @param hedgePercentile hedgePercentile
+     */
+    public void setHedgePercentile(final int hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -179,13 +226,14 @@ public class DivideRuleHandle implements RuleHandle {
         }
         DivideRuleHandle that = (DivideRuleHandle) o;
         return retry == that.retry && timeout == that.timeout && headerMaxSize == that.headerMaxSize
-                && requestMaxSize == that.requestMaxSize && Objects.equals(loadBalance, that.loadBalance)
+                && requestMaxSize == that.requestMaxSize && hedgeDelay == that.hedgeDelay
+                && hedgePercentile == that.hedgePercentile && Objects.equals(loadBalance, that.loadBalance)
                 && Objects.equals(retryStrategy, that.retryStrategy);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize);
+        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize, hedgeDelay, hedgePercentile);
     }
 
     @Override
@@ -205,6 +253,10 @@ public class DivideRuleHandle implements RuleHandle {
                 + headerMaxSize
                 + ", requestMaxSize="
                 + requestMaxSize
+                + ", hedgeDelay="
+                + hedgeDelay
+                + ", hedgePercentile="
+                + hedgePercentile
                 + '}';
     }
 }
@@ -28,7 +28,11 @@ public enum HystrixIsolationModeEnum {
     /**
      * semaphore mode.
      */
-    @SuppressWarnings("checkstyle:WhitespaceAfter") SEMAPHORE(1, "semaphore");
+    @SuppressWarnings("checkstyle:WhitespaceAfter") SEMAPHORE(1, "semaphore"),
+    /**
+     * reactor mode, the circuit breaker and the semaphore work on the reactor chain without hystrix commands.
+     */
+    @SuppressWarnings("checkstyle:WhitespaceAfter") REACTOR(2, "reactor");
 
     private final int code;
 
@@ -40,7 +40,17 @@ public enum LoadBalanceEnum {
     /**
      * least activity load balance enum.
      */
-    LEAST_ACTIVITY(4, "leastActive", true);
+    LEAST_ACTIVITY(4, "leastActive", true),
+
+    /**
+     * power of two choices load balance enum.
+     */
+    P2C(5, "p2c", true),
+
+    /**
+     * peak EWMA load balance enum.
+     */
+    PEAK_EWMA(6, "peakEwma", true);
 
     private final int code;
 
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The non-blocking upstream checker, the probes of all the upstreams share one NIO selector thread.
+ * <p>A probe is a TCP connect, optionally followed by an HTTP GET of a path whose status is compared to the expected one.
+ * The hosts are resolved and the futures complete on the worker threads, so neither a slow DNS lookup nor
+ * a dependent action blocks the selector thread or the caller.</p>
+ */
+public final class AsyncUpstreamChecker implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncUpstreamChecker.class);
+
+    private static final long SELECT_TIMEOUT_MILLIS = 100L;
+
+    private static final int RESPONSE_BUFFER_SIZE = 256;
+
+    private static final int WORKER_THREADS = 2;
+
+    private static final String CRLF = "\r\n";
+
+    private final Selector selector;
+
+    private final ExecutorService worker;
+
+    private final Queue<Probe> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * the probes by their deadline, only accessed by the selector thread.
+     */
+    private final Queue<Probe> probes = new PriorityQueue<>((a, b) -> Long.compare(a.deadline - b.deadline, 0L));
+
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new async upstream checker, its selector thread is started.
+     *
+     * @param name the name of the selector thread
+     */
+    public AsyncUpstreamChecker(final String name) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new ShenyuException(e);
+        }
+        this.worker = Executors.newFixedThreadPool(WORKER_THREADS, ShenyuThreadFactory.create(name + "-worker", true));
+        ShenyuThreadFactory.create(name, true).newThread(this::loop).start();
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the instance
+     */
+    public static AsyncUpstreamChecker getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Check the upstream by a TCP connect.
+     *
+     * @param host    the host
+     * @param port    the port
+     * @param timeout the timeout in milliseconds
+     * @return the future of whether the upstream is connected
+     */
+    public CompletableFuture<Boolean> check(final String host, final int port, final int timeout) {
+        return check(host, port, timeout, null, 0);
+    }
+
+    /**
+     * Check the upstream by a TCP connect, and an HTTP GET of the path if it is not blank.
+     *
+     * @param host           the host
+     * @param port           the port
+     * @param timeout        the timeout in milliseconds
+     * @param path           the http path, blank for the TCP connect only
+     * @param expectedStatus the expected http status
+     * @return the future of whether the upstream passed the check
+     */
+    public CompletableFuture<Boolean> check(final String host, final int port, final int timeout, final String path, final int expectedStatus) {
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        if (!running) {
+            future.complete(false);
+            return future;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final String request = StringUtils.isBlank(path) ? null
+                : "GET " + path + " HTTP/1.1" + CRLF + "Host: " + host + ":" + port + CRLF + "Connection: close" + CRLF + CRLF;
+        try {
+            // the host is resolved by a worker thread, neither the caller nor the selector thread waits for the DNS
+            worker.execute(() -> {
+                final InetSocketAddress address = new InetSocketAddress(host, port);
+                if (address.isUnresolved() || !running) {
+                    future.complete(false);
+                    return;
+                }
+                final Probe probe = new Probe(address, request, expectedStatus, deadline, future);
+                pending.offer(probe);
+                selector.wakeup();
+                // closed meanwhile, the selector thread may have drained the pending probes already
+                if (!running && pending.remove(probe)) {
+                    future.complete(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.complete(false);
+        }
+        return future;
+    }
+
+    /**
+     * Stop the selector thread, the probes in flight fail.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                selector.select(SELECT_TIMEOUT_MILLIS);
+                register();
+                final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    final SelectionKey key = iterator.next();
+                    iterator.remove();
+                    handle(key);
+                }
+                expire();
+            } catch (Exception e) {
+                LOG.error("[Health Check] the upstream check selector meet problem: ", e);
+            }
+        }
+        Probe probe = pending.poll();
+        while (Objects.nonNull(probe)) {
+            probes.offer(probe);
+            probe = pending.poll();
+        }
+        probe = probes.poll();
+        while (Objects.nonNull(probe)) {
+            finish(probe, false);
+            probe = probes.poll();
+        }
+        // the queued completions still run
+        worker.shutdown();
+        try {
+            selector.close();
+        } catch (IOException e) {
+            LOG.error("[Health Check] close the upstream check selector error: ", e);
+        }
+    }
+
+    private void register() {
+        for (Probe probe = pending.poll(); Objects.nonNull(probe); probe = pending.poll()) {
+            probes.offer(probe);
+            try {
+                probe.channel = SocketChannel.open();
+                probe.channel.configureBlocking(false);
+                if (probe.channel.connect(probe.address)) {
+                    connected(probe);
+                } else {
+                    probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                }
+            } catch (IOException e) {
+                finish(probe, false);
+            }
+        }
+    }
+
+    private void handle(final SelectionKey key) {
+        final Probe probe = (Probe) key.attachment();
+        try {
+            if (key.isConnectable()) {
+                if (probe.channel.finishConnect()) {
+                    connected(probe);
+                }
+            } else if (key.isWritable()) {
+                write(probe);
+            } else if (key.isReadable()) {
+                read(probe);
+            }
+        } catch (IOException | CancelledKeyException e) {
+            finish(probe, false);
+        }
+    }
+
+    private void connected(final Probe probe) throws IOException {
+        if (Objects.isNull(probe.request)) {
+            finish(probe, true);
+            return;
+        }
+        probe.channel.register(selector, SelectionKey.OP_WRITE, probe);
+    }
+
+    private void write(final Probe probe) throws IOException {
+        probe.channel.write(probe.request);
+        if (!probe.request.hasRemaining()) {
+            probe.response = ByteBuffer.allocate(RESPONSE_BUFFER_SIZE);
+            probe.channel.register(selector, SelectionKey.OP_READ, probe);
+        }
+    }
+
+    private void read(final Probe probe) throws IOException {
+        final int read = probe.channel.read(probe.response);
+        final int status = parseStatus(probe.response);
+        if (status >= 0) {
+            finish(probe, status == probe.expectedStatus);
+        } else if (read < 0 || !probe.response.hasRemaining()) {
+            finish(probe, false);
+        }
+    }
+
+    /**
+     * Parse the status of the http status line.
+     *
+     * @param response the response read so far
+     * @return the status, 0 if the status line is malformed, -1 if it is not complete
+     */
+    private static int parseStatus(final ByteBuffer response) {
+        final String head = new String(response.array(), 0, response.position(), StandardCharsets.US_ASCII);
+        final int end = head.indexOf(CRLF);
+        if (end < 0) {
+            return -1;
+        }
+        final String[] statusLine = StringUtils.split(head.substring(0, end), ' ');
+        if (statusLine.length < 2 || !statusLine[0].startsWith("HTTP/")) {
+            return 0;
+        }
+        return NumberUtils.toInt(statusLine[1], 0);
+    }
+
+    private void expire() {
+        final long now = System.nanoTime();
+        Probe probe = probes.peek();
+        while (Objects.nonNull(probe) && (probe.done || now - probe.deadline >= 0)) {
+            probes.poll();
+            finish(probe, false);
+            probe = probes.peek();
+        }
+    }
+
+    private void finish(final Probe probe, final boolean pass) {
+        if (probe.done) {
+            return;
+        }
+        probe.done = true;
+        if (Objects.nonNull(probe.channel)) {
+            try {
+                probe.channel.close();
+            } catch (IOException e) {
+                LOG.debug("[Health Check] close the channel of the probe error: ", e);
+            }
+        }
+        try {
+            // the dependent actions may take locks, they must not run on the selector thread
+            worker.execute(() -> probe.future.complete(pass));
+        } catch (RejectedExecutionException e) {
+            probe.future.complete(pass);
+        }
+    }
+
+    private static final class Probe {
+
+        private final InetSocketAddress address;
+
+        private final ByteBuffer request;
+
+        private final int expectedStatus;
+
+        private final long deadline;
+
+        private final CompletableFuture<Boolean> future;
+
+        private SocketChannel channel;
+
+        private ByteBuffer response;
+
+        /**
+         * whether the probe is finished, a finished probe is dropped once it is the head of the queue.
+         */
+        private boolean done;
+
+        Probe(final InetSocketAddress address, final String request, final int expectedStatus,
+              final long deadline, final CompletableFuture<Boolean> future) {
+            this.address = address;
+            this.request = Objects.isNull(request) ? null : ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII));
+            this.expectedStatus = expectedStatus;
+            this.deadline = deadline;
+            this.future = future;
+        }
+    }
+
+    private static final class Holder {
+
+        private static final AsyncUpstreamChecker INSTANCE = new AsyncUpstreamChecker("upstream-check-selector");
+    }
+}
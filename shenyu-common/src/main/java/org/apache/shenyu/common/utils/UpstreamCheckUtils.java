@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The type Uri utils.
@@ -62,16 +63,61 @@ public class UpstreamCheckUtils {
         if (StringUtils.isBlank(url)) {
             return false;
         }
-        String[] hostPort;
+        final String[] hostPort = splitHostPort(url);
+        return isHostConnector(hostPort[0].trim(), port(url, hostPort), timeout);
+    }
+
+    /**
+     * Check url without blocking, by the shared {@link AsyncUpstreamChecker}.
+     *
+     * @param url the url
+     * @return the future of whether the url is connected
+     */
+    public static CompletableFuture<Boolean> checkUrlAsync(final String url) {
+        return checkUrlAsync(url, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Check url without blocking, by the shared {@link AsyncUpstreamChecker}.
+     *
+     * @param url     the url
+     * @param timeout timeout
+     * @return the future of whether the url is connected
+     */
+    public static CompletableFuture<Boolean> checkUrlAsync(final String url, final int timeout) {
+        return checkUrlAsync(url, timeout, null, 0);
+    }
+
+    /**
+     * Check url without blocking, by the shared {@link AsyncUpstreamChecker}.
+     * the http path is probed over plain http only, an https url is checked by the TCP connect.
+     *
+     * @param url            the url
+     * @param timeout        timeout
+     * @param path           the http path, blank for the TCP connect only
+     * @param expectedStatus the expected http status
+     * @return the future of whether the url passed the check
+     */
+    public static CompletableFuture<Boolean> checkUrlAsync(final String url, final int timeout, final String path, final int expectedStatus) {
+        if (StringUtils.isBlank(url)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        final String[] hostPort = splitHostPort(url);
+        final String httpPath = url.startsWith(HTTPS) ? null : path;
+        return AsyncUpstreamChecker.getInstance().check(hostPort[0].trim(), port(url, hostPort), timeout, httpPath, expectedStatus);
+    }
+
+    private static String[] splitHostPort(final String url) {
         if (url.startsWith(HTTP)) {
             final String[] http = StringUtils.split(url, "\\/\\/");
-            hostPort = StringUtils.split(http[1], Constants.COLONS);
-        } else {
-            hostPort = StringUtils.split(url, Constants.COLONS);
+            return StringUtils.split(http[1], Constants.COLONS);
         }
+        return StringUtils.split(url, Constants.COLONS);
+    }
+
+    private static int port(final String url, final String[] hostPort) {
         final boolean isHttps = url.startsWith(HTTPS);
-        final int port = hostPort.length > 1 ? Integer.parseInt(hostPort[1].trim()) : isHttps ? 443 : 80;
-        return isHostConnector(hostPort[0].trim(), port, timeout);
+        return hostPort.length > 1 ? Integer.parseInt(hostPort[1].trim()) : isHttps ? 443 : 80;
     }
 
     private static boolean isHostConnector(final String host, final int port, final int timeout) {
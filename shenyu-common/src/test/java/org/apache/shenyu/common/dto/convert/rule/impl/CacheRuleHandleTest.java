@@ -32,8 +32,14 @@ public class CacheRuleHandleTest {
         CacheRuleHandle handle = new CacheRuleHandle();
         
         handle.setTimeoutSeconds(120L);
+        handle.setCoalesceTimeoutMillis(500L);
+        handle.setStaleWhileRevalidateSeconds(30L);
+        handle.setStaleIfErrorSeconds(300L);
         
         assertThat(handle.getTimeoutSeconds(), is(120L));
+        assertThat(handle.getCoalesceTimeoutMillis(), is(500L));
+        assertThat(handle.getStaleWhileRevalidateSeconds(), is(30L));
+        assertThat(handle.getStaleIfErrorSeconds(), is(300L));
     }
     
 }
@@ -30,11 +30,13 @@ public final class HystrixIsolationModeEnumTest {
     public void testGetCode() {
         assertEquals(0, HystrixIsolationModeEnum.THREAD_POOL.getCode());
         assertEquals(1, HystrixIsolationModeEnum.SEMAPHORE.getCode());
+        assertEquals(2, HystrixIsolationModeEnum.REACTOR.getCode());
     }
 
     @Test
     public void testGetName() {
         assertEquals("thread", HystrixIsolationModeEnum.THREAD_POOL.getName());
         assertEquals("semaphore", HystrixIsolationModeEnum.SEMAPHORE.getName());
+        assertEquals("reactor", HystrixIsolationModeEnum.REACTOR.getName());
     }
 }
@@ -29,6 +29,7 @@ public class RateLimitEnumTest {
         assertEquals("request_leaky_rate_limiter", RateLimitEnum.LEAKY_BUCKET.getKeyName());
         assertEquals("sliding_window_request_rate_limiter", RateLimitEnum.SLIDING_WINDOW.getKeyName());
         assertEquals("request_rate_limiter", RateLimitEnum.TOKEN_BUCKET.getKeyName());
+        assertEquals("request_lease_rate_limiter", RateLimitEnum.TOKEN_LEASE.getKeyName());
     }
 
     @Test
@@ -37,5 +38,6 @@ public class RateLimitEnumTest {
         assertEquals("request_leaky_rate_limiter.lua", RateLimitEnum.LEAKY_BUCKET.getScriptName());
         assertEquals("sliding_window_request_rate_limiter.lua", RateLimitEnum.SLIDING_WINDOW.getScriptName());
         assertEquals("request_rate_limiter.lua", RateLimitEnum.TOKEN_BUCKET.getScriptName());
+        assertEquals("request_lease_rate_limiter.lua", RateLimitEnum.TOKEN_LEASE.getScriptName());
     }
 }
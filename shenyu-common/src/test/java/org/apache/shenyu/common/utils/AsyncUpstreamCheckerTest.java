@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for AsyncUpstreamChecker.
+ */
+public final class AsyncUpstreamCheckerTest {
+
+    private static final String LOCALHOST = "127.0.0.1";
+
+    private AsyncUpstreamChecker checker;
+
+    private ServerSocket serverSocket;
+
+    private volatile String response;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        checker = new AsyncUpstreamChecker("upstream-check-test");
+        serverSocket = new ServerSocket(0);
+        final Thread server = new Thread(this::serve);
+        server.setDaemon(true);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        checker.close();
+        serverSocket.close();
+    }
+
+    @Test
+    public void testTcpConnect() throws Exception {
+        assertTrue(checker.check(LOCALHOST, serverSocket.getLocalPort(), 3000).get(5, TimeUnit.SECONDS));
+        final int closedPort;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            closedPort = closed.getLocalPort();
+        }
+        assertFalse(checker.check(LOCALHOST, closedPort, 3000).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testHttpStatus() throws Exception {
+        response = "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n";
+        assertTrue(checker.check(LOCALHOST, serverSocket.getLocalPort(), 3000, "/health", 200).get(5, TimeUnit.SECONDS));
+        assertFalse(checker.check(LOCALHOST, serverSocket.getLocalPort(), 3000, "/health", 204).get(5, TimeUnit.SECONDS));
+        response = "not http\r\n";
+        assertFalse(checker.check(LOCALHOST, serverSocket.getLocalPort(), 3000, "/health", 200).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        final long start = System.nanoTime();
+        assertFalse(checker.check(LOCALHOST, serverSocket.getLocalPort(), 200, "/health", 200).get(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        checker.close();
+        assertFalse(checker.check(LOCALHOST, serverSocket.getLocalPort(), 3000).get(5, TimeUnit.SECONDS));
+    }
+
+    private void serve() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                final String body = response;
+                if (Objects.isNull(body)) {
+                    // hold the connection without responding, until the checker closes it
+                    final InputStream hold = socket.getInputStream();
+                    int read = hold.read();
+                    while (read >= 0) {
+                        read = hold.read();
+                    }
+                    continue;
+                }
+                final InputStream in = socket.getInputStream();
+                final byte[] buffer = new byte[1024];
+                in.read(buffer);
+                final OutputStream out = socket.getOutputStream();
+                out.write(body.getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            } catch (IOException ignored) {
+                // the server socket is closed
+            }
+        }
+    }
+}
@@ -45,6 +45,8 @@ public final class UpstreamCacheManager {
 
     private UpstreamCheckTask task;
 
+    private UpstreamOutlierDetector outlierDetector;
+
     /**
      * health check parameters.
      */
@@ -58,6 +60,12 @@ public final class UpstreamCacheManager {
 
     private int unhealthyThreshold;
 
+    private int checkJitter;
+
+    private String checkPath;
+
+    private int checkExpectedStatus;
+
     /**
      * healthy upstream print parameters.
      */
@@ -77,8 +85,12 @@ public final class UpstreamCacheManager {
         healthyThreshold = upstreamCheck.getHealthyThreshold();
         unhealthyThreshold = upstreamCheck.getUnhealthyThreshold();
         checkInterval = upstreamCheck.getInterval();
+        checkJitter = upstreamCheck.getProbe().getJitter();
+        checkPath = upstreamCheck.getProbe().getPath();
+        checkExpectedStatus = upstreamCheck.getProbe().getExpectedStatus();
         printEnable = upstreamCheck.getPrintEnabled();
         printInterval = upstreamCheck.getPrintInterval();
+        outlierDetector = new UpstreamOutlierDetector(shenyuConfig.getOutlierDetection());
         createTask();
         scheduleHealthCheck();
     }
@@ -88,6 +100,9 @@ public final class UpstreamCacheManager {
         task.setCheckTimeout(checkTimeout);
         task.setHealthyThreshold(healthyThreshold);
         task.setUnhealthyThreshold(unhealthyThreshold);
+        task.setJitter(checkJitter);
+        task.setPath(checkPath);
+        task.setExpectedStatus(checkExpectedStatus);
     }
 
     private void scheduleHealthCheck() {
@@ -118,7 +133,31 @@ public final class UpstreamCacheManager {
      * @return the list
      */
     public List<Upstream> findUpstreamListBySelectorId(final String selectorId) {
-        return task.getHealthyUpstream().get(selectorId);
+        return outlierDetector.filter(selectorId, task.getHealthyUpstream().get(selectorId));
+    }
+
+    /**
+     * Whether the upstreams are ejected by the results of the proxied requests.
+     *
+     * @return true if the outlier detection is enabled
+     */
+    public boolean isOutlierDetectionEnabled() {
+        return outlierDetector.isEnabled();
+    }
+
+    /**
+     * Record the result of a proxied request for the outlier detection.
+     *
+     * @param selectorId the selector id
+     * @param url the upstream url
+     * @param success false if the request failed or the upstream responded a server error
+     */
+    public void recordResult(final String selectorId, final String url, final boolean success) {
+        if (!outlierDetector.isEnabled()) {
+            return;
+        }
+        final int upstreamSize = Optional.ofNullable(task.getHealthyUpstream().get(selectorId)).map(List::size).orElse(0);
+        outlierDetector.record(selectorId, url, success, upstreamSize);
     }
 
     /**
@@ -129,6 +168,7 @@ public final class UpstreamCacheManager {
     public void removeByKey(final String key) {
         UPSTREAM_MAP.remove(key);
         task.triggerRemoveAll(key);
+        outlierDetector.remove(key);
     }
 
     /**
@@ -142,13 +182,17 @@ public final class UpstreamCacheManager {
         if (CollectionUtils.isNotEmpty(validUpstreamList)) {
             List<Upstream> existUpstream = UPSTREAM_MAP.computeIfAbsent(selectorId, k -> Lists.newArrayList());
             existUpstream.stream().filter(upstream -> !validUpstreamList.contains(upstream))
-                    .forEach(upstream -> task.triggerRemoveOne(selectorId, upstream));
+                    .forEach(upstream -> {
+                        task.triggerRemoveOne(selectorId, upstream);
+                        outlierDetector.remove(selectorId, upstream.getUrl());
+                    });
             validUpstreamList.stream().filter(upstream -> !existUpstream.contains(upstream))
                     .forEach(upstream -> task.triggerAddOne(selectorId, upstream));
             UPSTREAM_MAP.put(selectorId, validUpstreamList);
         } else {
             UPSTREAM_MAP.remove(selectorId);
             task.triggerRemoveAll(selectorId);
+            outlierDetector.remove(selectorId);
         }
     }
 }
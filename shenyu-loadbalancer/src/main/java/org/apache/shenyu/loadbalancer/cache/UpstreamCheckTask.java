@@ -31,16 +31,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
  * Health check manager for upstream servers.
+ * <p>The upstreams are probed without blocking by the shared {@link org.apache.shenyu.common.utils.AsyncUpstreamChecker},
+ * the probes of a check are spread randomly over the jitter, and a check is done when all of its probes are.</p>
  */
 public final class UpstreamCheckTask implements Runnable {
 
@@ -57,17 +59,21 @@ public final class UpstreamCheckTask implements Runnable {
 
     private final AtomicBoolean checkStarted = new AtomicBoolean(false);
 
-    private final List<CompletableFuture<UpstreamWithSelectorId>> futures = Lists.newArrayList();
-
     private final int checkInterval;
 
-    private ExecutorService executor;
+    private ScheduledExecutorService executor;
 
     private int checkTimeout = 3000;
 
     private int healthyThreshold = 1;
 
     private int unhealthyThreshold = 1;
+
+    private int jitter;
+
+    private String path;
+
+    private int expectedStatus = 200;
     
     /**
      * Instantiates a new Upstream check task.
@@ -96,9 +102,9 @@ public final class UpstreamCheckTask implements Runnable {
         new ScheduledThreadPoolExecutor(1, healthCheckFactory)
                 .scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
 
-        // executor for async request, avoid request block health check thread
+        // executor for the jittered probes, the probes themselves do not block it
         ThreadFactory requestFactory = ShenyuThreadFactory.create("upstream-health-check-request", true);
-        executor = new ScheduledThreadPoolExecutor(10, requestFactory);
+        executor = new ScheduledThreadPoolExecutor(1, requestFactory);
     }
     
     /**
@@ -127,6 +133,33 @@ public final class UpstreamCheckTask implements Runnable {
     public void setUnhealthyThreshold(final int unhealthyThreshold) {
         this.unhealthyThreshold = unhealthyThreshold;
     }
+    
+    /**
+     * Set jitter, the probes of a check are spread randomly over it.
+     *
+     * @param jitter milliseconds
+     */
+    public void setJitter(final int jitter) {
+        this.jitter = Math.max(Math.min(jitter, checkInterval), 0);
+    }
+    
+    /**
+     * Set the http path probed after the TCP connect, blank for the TCP connect only.
+     *
+     * @param path the http path
+     */
+    public void setPath(final String path) {
+        this.path = path;
+    }
+    
+    /**
+     * Set the expected http status of the path.
+     *
+     * @param expectedStatus the expected status
+     */
+    public void setExpectedStatus(final int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
 
     @Override
     public void run() {
@@ -134,42 +167,54 @@ public final class UpstreamCheckTask implements Runnable {
     }
 
     private void healthCheck() {
+        if (!tryStartHealthCheck()) {
+            return;
+        }
         try {
-            /*
-             * If there is no synchronized. when check is done and all upstream check result is in the futures list.
-             * In the same time, triggerRemoveAll() called before waitFinish(), there will be dirty data stay in map.
-             */
+            final List<UpstreamWithSelectorId> upstreams = Lists.newArrayList();
             synchronized (lock) {
-                if (tryStartHealthCheck()) {
-                    doHealthCheck();
-                    waitFinish();
-                }
+                collect(healthyUpstream, upstreams);
+                collect(unhealthyUpstream, upstreams);
             }
+            final CompletableFuture<?>[] probes = upstreams.stream()
+                    .map(each -> probe(each.getSelectorId(), each.getUpstream())).toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(probes).whenComplete((v, e) -> finishHealthCheck());
         } catch (Exception e) {
             LOG.error("[Health Check] Meet problem: ", e);
-        } finally {
             finishHealthCheck();
         }
     }
 
-    private void doHealthCheck() {
-        check(healthyUpstream);
-        check(unhealthyUpstream);
+    private void collect(final Map<String, List<Upstream>> map, final List<UpstreamWithSelectorId> upstreams) {
+        map.forEach((selectorId, list) -> list.forEach(upstream -> upstreams.add(new UpstreamWithSelectorId(selectorId, upstream))));
     }
 
-    private void check(final Map<String, List<Upstream>> map) {
-        for (Map.Entry<String, List<Upstream>> entry : map.entrySet()) {
-            String key = entry.getKey();
-            List<Upstream> value = entry.getValue();
-            for (Upstream upstream : value) {
-                CompletableFuture<UpstreamWithSelectorId> future = CompletableFuture.supplyAsync(() -> check(key, upstream), executor);
-                futures.add(future);
+    private CompletableFuture<Void> probe(final String selectorId, final Upstream upstream) {
+        final CompletableFuture<Boolean> pass = new CompletableFuture<>();
+        final Runnable request = () -> {
+            try {
+                UpstreamCheckUtils.checkUrlAsync(upstream.getUrl(), checkTimeout, path, expectedStatus)
+                        .whenComplete((result, e) -> pass.complete(Boolean.TRUE.equals(result)));
+            } catch (Exception e) {
+                LOG.error("[Health Check] Selector [{}] upstream {} can not be checked: ", selectorId, upstream.getUrl(), e);
+                pass.complete(false);
             }
+        };
+        if (jitter > 0 && Objects.nonNull(executor)) {
+            executor.schedule(request, ThreadLocalRandom.current().nextInt(jitter), TimeUnit.MILLISECONDS);
+        } else {
+            request.run();
         }
+        return pass.thenAccept(result -> {
+            try {
+                putEntityToMap(check(selectorId, upstream, result));
+            } catch (Exception e) {
+                LOG.error("[Health Check] Meet problem: ", e);
+            }
+        });
     }
 
-    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream) {
-        boolean pass = UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout);
+    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream, final boolean pass) {
         if (pass) {
             if (upstream.isHealthy()) {
                 upstream.setLastHealthTimestamp(System.currentTimeMillis());
@@ -204,26 +249,28 @@ public final class UpstreamCheckTask implements Runnable {
         return checkStarted.compareAndSet(false, true);
     }
 
-    private void waitFinish() throws ExecutionException, InterruptedException {
-        for (CompletableFuture<UpstreamWithSelectorId> future : futures) {
-            UpstreamWithSelectorId entity = future.get();
-            putEntityToMap(entity);
-        }
-
-        futures.clear();
-    }
-
     private void putEntityToMap(final UpstreamWithSelectorId entity) {
         Upstream upstream = entity.getUpstream();
-        if (upstream.isHealthy()) {
-            putToMap(healthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-        } else {
-            putToMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(healthyUpstream, entity.getSelectorId(), upstream);
+        synchronized (lock) {
+            // the upstream removed while it was probed is not put back
+            if (!contains(healthyUpstream, entity.getSelectorId(), upstream) && !contains(unhealthyUpstream, entity.getSelectorId(), upstream)) {
+                return;
+            }
+            if (upstream.isHealthy()) {
+                putToMap(healthyUpstream, entity.getSelectorId(), upstream);
+                removeFromMap(unhealthyUpstream, entity.getSelectorId(), upstream);
+            } else {
+                putToMap(unhealthyUpstream, entity.getSelectorId(), upstream);
+                removeFromMap(healthyUpstream, entity.getSelectorId(), upstream);
+            }
         }
     }
 
+    private boolean contains(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
+        final List<Upstream> list = map.get(selectorId);
+        return Objects.nonNull(list) && list.contains(upstream);
+    }
+
     private void finishHealthCheck() {
         checkStarted.set(false);
     }
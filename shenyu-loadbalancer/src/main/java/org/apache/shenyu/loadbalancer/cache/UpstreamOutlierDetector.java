@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.config.OutlierDetectionConfig;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The passive outlier detection of the upstreams, fed by the results of the proxied requests.
+ * <p>An upstream is ejected after consecutive errors, or when the failure percentage of an interval is reached.
+ * The ejection time doubles with every ejection in a row up to the max ejection time, and the upstream is put back
+ * once it is over. No more than the max ejection percent of the upstreams of a selector are ejected at the same time.
+ * The upstreams are keyed by {@link UpstreamStatsCache#key(String)}, so an upstream url and a request uri authority meet.</p>
+ */
+public final class UpstreamOutlierDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamOutlierDetector.class);
+
+    private final Map<String, SelectorOutliers> selectorOutliers = Maps.newConcurrentMap();
+
+    private final boolean enabled;
+
+    private final int consecutiveErrors;
+
+    private final int failurePercentage;
+
+    private final int minimumRequests;
+
+    private final long interval;
+
+    private final long baseEjectionTime;
+
+    private final long maxEjectionTime;
+
+    private final int maxEjectionPercent;
+
+    /**
+     * Instantiates a new upstream outlier detector.
+     *
+     * @param config the outlier detection config
+     */
+    public UpstreamOutlierDetector(final OutlierDetectionConfig config) {
+        this.enabled = Boolean.TRUE.equals(config.getEnabled());
+        this.consecutiveErrors = config.getConsecutiveErrors();
+        this.failurePercentage = config.getFailurePercentage();
+        this.minimumRequests = config.getMinimumRequests();
+        this.interval = config.getInterval();
+        this.baseEjectionTime = config.getBaseEjectionTime();
+        this.maxEjectionTime = Math.max(config.getMaxEjectionTime(), baseEjectionTime);
+        this.maxEjectionPercent = config.getMaxEjectionPercent();
+    }
+
+    /**
+     * Whether the outlier detection is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record the result of a request to the upstream.
+     *
+     * @param selectorId   the selector id
+     * @param url          the upstream url
+     * @param success      false if the request failed or the upstream responded a server error
+     * @param upstreamSize the size of the healthy upstreams of the selector
+     */
+    public void record(final String selectorId, final String url, final boolean success, final int upstreamSize) {
+        if (!enabled || Objects.isNull(selectorId) || Objects.isNull(url)) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final SelectorOutliers outliers = selectorOutliers.computeIfAbsent(selectorId, key -> new SelectorOutliers());
+        final Outlier outlier = outliers.outliers.computeIfAbsent(UpstreamStatsCache.key(url), key -> new Outlier(now));
+        if (outlier.ejectedUntil > now) {
+            // the requests sent before the ejection are not counted
+            return;
+        }
+        outlier.roll(now, interval);
+        if (success) {
+            outlier.consecutiveErrors.set(0);
+            outlier.requests.incrementAndGet();
+            return;
+        }
+        final int errors = outlier.consecutiveErrors.incrementAndGet();
+        final int requests = outlier.requests.incrementAndGet();
+        final int failures = outlier.failures.incrementAndGet();
+        if (errors >= consecutiveErrors || (requests >= minimumRequests && failures * 100L >= (long) requests * failurePercentage)) {
+            eject(selectorId, url, outliers, outlier, now, upstreamSize);
+        }
+    }
+
+    /**
+     * Filter the ejected upstreams out, all the upstreams are returned if all of them are ejected.
+     *
+     * @param selectorId the selector id
+     * @param upstreams  the healthy upstreams of the selector
+     * @return the upstreams not ejected
+     */
+    public List<Upstream> filter(final String selectorId, final List<Upstream> upstreams) {
+        if (!enabled || CollectionUtils.isEmpty(upstreams)) {
+            return upstreams;
+        }
+        final SelectorOutliers outliers = selectorOutliers.get(selectorId);
+        final long now = System.currentTimeMillis();
+        if (Objects.isNull(outliers) || outliers.ejectedUntil <= now) {
+            return upstreams;
+        }
+        final List<Upstream> result = upstreams.stream()
+                .filter(upstream -> !isEjected(outliers, upstream.getUrl(), now))
+                .collect(Collectors.toList());
+        return result.isEmpty() ? upstreams : result;
+    }
+
+    /**
+     * Whether the upstream of the selector is ejected.
+     *
+     * @param selectorId the selector id
+     * @param url        the upstream url
+     * @return true if ejected
+     */
+    public boolean isEjected(final String selectorId, final String url) {
+        final SelectorOutliers outliers = selectorOutliers.get(selectorId);
+        return Objects.nonNull(outliers) && isEjected(outliers, url, System.currentTimeMillis());
+    }
+
+    private boolean isEjected(final SelectorOutliers outliers, final String url, final long now) {
+        final Outlier outlier = Objects.isNull(url) ? null : outliers.outliers.get(UpstreamStatsCache.key(url));
+        return Objects.nonNull(outlier) && outlier.ejectedUntil > now;
+    }
+
+    /**
+     * Remove the outliers of the selector.
+     *
+     * @param selectorId the selector id
+     */
+    public void remove(final String selectorId) {
+        selectorOutliers.remove(selectorId);
+    }
+
+    /**
+     * Remove the outlier of the upstream of the selector.
+     *
+     * @param selectorId the selector id
+     * @param url        the upstream url
+     */
+    public void remove(final String selectorId, final String url) {
+        final SelectorOutliers outliers = selectorOutliers.get(selectorId);
+        if (Objects.nonNull(outliers) && Objects.nonNull(url)) {
+            outliers.outliers.remove(UpstreamStatsCache.key(url));
+        }
+    }
+
+    private void eject(final String selectorId, final String url, final SelectorOutliers outliers,
+                       final Outlier outlier, final long now, final int upstreamSize) {
+        // ejections are rare, so the guard counting the ejected upstreams of the selector is simply synchronized
+        synchronized (outliers) {
+            if (outlier.ejectedUntil > now) {
+                return;
+            }
+            final long ejected = outliers.outliers.values().stream().filter(each -> each.ejectedUntil > now).count();
+            if ((ejected + 1) * 100 > (long) upstreamSize * maxEjectionPercent) {
+                return;
+            }
+            // an upstream not ejected for the max ejection time starts over from the base ejection time
+            if (now - outlier.ejectedUntil > maxEjectionTime) {
+                outlier.ejections.set(0);
+            }
+            final int ejections = Math.min(outlier.ejections.getAndIncrement(), 30);
+            final long ejectionTime = Math.min(baseEjectionTime << ejections, maxEjectionTime);
+            outlier.ejectedUntil = now + ejectionTime;
+            outlier.reset(now);
+            outliers.ejectedUntil = Math.max(outliers.ejectedUntil, outlier.ejectedUntil);
+        }
+        LOG.warn("the upstream {} of the selector {} is ejected by the outlier detection, ejected times {}", url, selectorId, outlier.ejections.get());
+    }
+
+    private static final class SelectorOutliers {
+
+        private final Map<String, Outlier> outliers = Maps.newConcurrentMap();
+
+        /**
+         * the time the last ejection of the upstreams of the selector is over.
+         */
+        private volatile long ejectedUntil;
+    }
+
+    private static final class Outlier {
+
+        private final AtomicInteger consecutiveErrors = new AtomicInteger();
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private final AtomicInteger ejections = new AtomicInteger();
+
+        private final AtomicLong windowStart;
+
+        private volatile long ejectedUntil;
+
+        Outlier(final long now) {
+            this.windowStart = new AtomicLong(now);
+        }
+
+        void roll(final long now, final long interval) {
+            final long start = windowStart.get();
+            if (now - start >= interval && windowStart.compareAndSet(start, now)) {
+                requests.set(0);
+                failures.set(0);
+            }
+        }
+
+        void reset(final long now) {
+            windowStart.set(now);
+            consecutiveErrors.set(0);
+            requests.set(0);
+            failures.set(0);
+        }
+    }
+}
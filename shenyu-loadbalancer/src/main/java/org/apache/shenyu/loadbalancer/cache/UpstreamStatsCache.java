@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.enums.LoadBalanceEnum;
+import org.apache.shenyu.loadbalancer.entity.UpstreamStats;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The request stats of the upstreams, keyed by the host:port of the upstream url.
+ * The stats survive the upstream list being synced again, and are dropped once the upstream is not used for a while.
+ */
+public final class UpstreamStatsCache {
+
+    private static final UpstreamStatsCache INSTANCE = new UpstreamStatsCache();
+
+    private final Cache<String, UpstreamStats> statsCache = Caffeine.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private UpstreamStatsCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static UpstreamStatsCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether the load balance selects the upstream by the request stats.
+     *
+     * @param loadBalance the load balance
+     * @return true if the stats should be recorded
+     */
+    public static boolean isStatsAware(final String loadBalance) {
+        return LoadBalanceEnum.P2C.getName().equals(loadBalance) || LoadBalanceEnum.PEAK_EWMA.getName().equals(loadBalance);
+    }
+
+    /**
+     * Get the key of the upstream, the host:port of the url, so an upstream url and a request uri authority meet.
+     *
+     * @param url the upstream url or the request uri authority
+     * @return the key
+     */
+    public static String key(final String url) {
+        String key = url.trim();
+        final int schemeEnd = key.indexOf("://");
+        if (schemeEnd >= 0) {
+            key = key.substring(schemeEnd + 3);
+        }
+        final int pathStart = key.indexOf('/');
+        if (pathStart >= 0) {
+            key = key.substring(0, pathStart);
+        }
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Obtain the stats of the upstream, created if absent.
+     *
+     * @param url the upstream url or the request uri authority
+     * @return the stats
+     */
+    public UpstreamStats obtain(final String url) {
+        return statsCache.get(key(url), key -> new UpstreamStats());
+    }
+}
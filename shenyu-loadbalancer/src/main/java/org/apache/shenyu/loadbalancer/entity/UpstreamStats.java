@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The lock free request stats of an upstream, the in-flight requests and the peak EWMA of the latency.
+ * <p>A latency above the average replaces it at once, a lower one is averaged in with a weight decaying with the time
+ * since the last sample. The average also decays while it is read, so a slow upstream is probed again after a while.</p>
+ */
+public final class UpstreamStats {
+
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * the load of an upstream with requests in flight but no latency yet.
+     */
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    /**
+     * the raw bits of the average latency in nanoseconds.
+     */
+    private final AtomicLong cost = new AtomicLong(Double.doubleToRawLongBits(0d));
+
+    private volatile long stamp = System.nanoTime();
+
+    /**
+     * Begin a request.
+     *
+     * @return the start nano time
+     */
+    public long begin() {
+        inflight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Complete a request, with a response, an error or a cancel.
+     *
+     * @param startNanos the start nano time returned by {@link #begin()}
+     */
+    public void complete(final long startNanos) {
+        final long now = System.nanoTime();
+        inflight.decrementAndGet();
+        observe(now - startNanos, now);
+    }
+
+    /**
+     * Get the in-flight requests.
+     *
+     * @return the in-flight requests
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Get the decayed average latency.
+     *
+     * @return the average latency in nanoseconds
+     */
+    public double getCost() {
+        final double current = Double.longBitsToDouble(cost.get());
+        final long elapsed = Math.max(System.nanoTime() - stamp, 0L);
+        return current * Math.exp(-elapsed / DECAY_NANOS);
+    }
+
+    /**
+     * Get the peak EWMA load, the average latency times the in-flight requests and the new one.
+     *
+     * @return the load
+     */
+    public double getLoad() {
+        final int active = inflight.get();
+        final double current = getCost();
+        if (current == 0d && active != 0) {
+            return PENALTY + active;
+        }
+        return current * (active + 1);
+    }
+
+    private void observe(final long rttNanos, final long now) {
+        final double rtt = Math.max(rttNanos, 0L);
+        final long last = stamp;
+        stamp = now;
+        final double weight = Math.exp(-Math.max(now - last, 0L) / DECAY_NANOS);
+        long prev;
+        long next;
+        do {
+            prev = cost.get();
+            final double current = Double.longBitsToDouble(prev);
+            next = Double.doubleToRawLongBits(rtt > current ? rtt : current * weight + rtt * (1d - weight));
+        } while (!cost.compareAndSet(prev, next));
+    }
+}
@@ -20,15 +20,21 @@ package org.apache.shenyu.loadbalancer.spi;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.IntStream;
+import java.util.Objects;
+import java.util.Optional;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.config.LoadBalanceConfig;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.spi.Join;
 
 /**
  * hash algorithm impl.
+ * <p>The ring of an upstream list is built once and cached, it is rebuilt only when the urls of the list change.</p>
  */
 @Join
 public class HashLoadBalancer extends AbstractLoadBalancer {
@@ -38,6 +44,15 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
      */
     private static final int VIRTUAL_NODE_NUM = 5;
 
+    private static final String FNV = "fnv";
+
+    private static final LoadBalanceConfig DEFAULT_CONFIG = new LoadBalanceConfig();
+
+    /**
+     * the signature of the upstream urls -> ring.
+     */
+    private final Cache<Integer, HashRing> ringCache = Caffeine.newBuilder().maximumSize(1024).build();
+
     /**
      * consistent hash with virtual node to select upstream.
      *
@@ -47,17 +62,29 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
      */
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, Upstream> treeMap = new ConcurrentSkipListMap<>();
-        upstreamList.forEach(upstream -> IntStream.range(0, VIRTUAL_NODE_NUM).forEach(i -> {
-            long addressHash = hash("SHENYU-" + upstream.getUrl() + "-HASH-" + i);
-            treeMap.put(addressHash, upstream);
-        }));
-        long hash = hash(ip);
-        SortedMap<Long, Upstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        final LoadBalanceConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class))
+                .map(ShenyuConfig::getLoadBalance).orElse(DEFAULT_CONFIG);
+        final int virtualNodes = Optional.ofNullable(config.getHashVirtualNodes()).filter(num -> num > 0).orElse(VIRTUAL_NODE_NUM);
+        final boolean fnv = FNV.equalsIgnoreCase(config.getHashFunction());
+        final int signature = signature(upstreamList);
+        HashRing ring = ringCache.getIfPresent(signature);
+        if (Objects.isNull(ring) || !ring.matches(upstreamList, virtualNodes, fnv)) {
+            ring = new HashRing(upstreamList, virtualNodes, fnv);
+            ringCache.put(signature, ring);
         }
-        return treeMap.firstEntry().getValue();
+        return upstreamList.get(ring.select(hash(ip, fnv)));
+    }
+
+    private static int signature(final List<Upstream> upstreamList) {
+        int signature = upstreamList.size();
+        for (Upstream upstream : upstreamList) {
+            signature = 31 * signature + Objects.hashCode(upstream.getUrl());
+        }
+        return signature;
+    }
+
+    private static long hash(final String key, final boolean fnv) {
+        return fnv ? fnvHash(Objects.toString(key, "")) : hash(Objects.toString(key, ""));
     }
 
     private static long hash(final String key) {
@@ -80,4 +107,98 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
                 | (digest[0] & 0xFF);
         return hashCode & 0xffffffffL;
     }
+
+    /**
+     * FNV-1a over the chars with the murmur3 finalizer, it neither allocates nor touches a digest.
+     *
+     * @param key key
+     * @return the unsigned 32-bits hash
+     */
+    private static long fnvHash(final String key) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash & 0xffffffffL;
+    }
+
+    /**
+     * the immutable ring of an upstream list, the virtual nodes are sorted by hash.
+     */
+    private static final class HashRing {
+
+        private static final int ORDINAL_BITS = 31;
+
+        private static final long ORDINAL_MASK = (1L << ORDINAL_BITS) - 1;
+
+        private final String[] urls;
+
+        private final int virtualNodes;
+
+        private final boolean fnv;
+
+        private final long[] hashes;
+
+        /**
+         * the index of the upstream in the list of every virtual node.
+         */
+        private final int[] positions;
+
+        HashRing(final List<Upstream> upstreamList, final int virtualNodes, final boolean fnv) {
+            this.urls = upstreamList.stream().map(Upstream::getUrl).toArray(String[]::new);
+            this.virtualNodes = virtualNodes;
+            this.fnv = fnv;
+            // the 32 bits hash is packed above the ordinal, so sorting keeps the virtual nodes of the same hash in order
+            final long[] nodes = new long[urls.length * virtualNodes];
+            for (int i = 0; i < urls.length; i++) {
+                for (int j = 0; j < virtualNodes; j++) {
+                    final int ordinal = i * virtualNodes + j;
+                    nodes[ordinal] = hash("SHENYU-" + urls[i] + "-HASH-" + j, fnv) << ORDINAL_BITS | ordinal;
+                }
+            }
+            Arrays.sort(nodes);
+            final long[] sortedHashes = new long[nodes.length];
+            final int[] sortedPositions = new int[nodes.length];
+            int size = 0;
+            for (long node : nodes) {
+                final long nodeHash = node >>> ORDINAL_BITS;
+                final int position = (int) (node & ORDINAL_MASK) / virtualNodes;
+                // the later upstream wins the same hash, as the ring map did
+                if (size > 0 && sortedHashes[size - 1] == nodeHash) {
+                    sortedPositions[size - 1] = position;
+                    continue;
+                }
+                sortedHashes[size] = nodeHash;
+                sortedPositions[size++] = position;
+            }
+            this.hashes = Arrays.copyOf(sortedHashes, size);
+            this.positions = Arrays.copyOf(sortedPositions, size);
+        }
+
+        boolean matches(final List<Upstream> upstreamList, final int virtualNodes, final boolean fnv) {
+            if (this.virtualNodes != virtualNodes || this.fnv != fnv || urls.length != upstreamList.size()) {
+                return false;
+            }
+            for (int i = 0; i < urls.length; i++) {
+                if (!Objects.equals(urls[i], upstreamList.get(i).getUrl())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int select(final long hash) {
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return positions[index == hashes.length ? 0 : index];
+        }
+    }
 }
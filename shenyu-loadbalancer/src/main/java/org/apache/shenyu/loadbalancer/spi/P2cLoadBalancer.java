@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.cache.UpstreamStatsCache;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamStats;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices algorithm impl.
+ * <p>Two distinct upstreams are picked at random and the one with the lower load wins, the load is the in-flight requests
+ * divided by the weight. The stats are recorded by the http client plugins.</p>
+ */
+@Join
+public class P2cLoadBalancer extends AbstractLoadBalancer {
+
+    @Override
+    protected Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int size = upstreamList.size();
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        final Upstream firstUpstream = upstreamList.get(first);
+        final Upstream secondUpstream = upstreamList.get(second);
+        return weightedLoad(secondUpstream) < weightedLoad(firstUpstream) ? secondUpstream : firstUpstream;
+    }
+
+    /**
+     * Get the load of the upstream stats.
+     *
+     * @param stats the upstream stats
+     * @return the load
+     */
+    protected double load(final UpstreamStats stats) {
+        return stats.getInflight();
+    }
+
+    private double weightedLoad(final Upstream upstream) {
+        final UpstreamStats stats = UpstreamStatsCache.getInstance().obtain(upstream.getUrl());
+        return load(stats) / Math.max(getWeight(upstream), 1);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.entity.UpstreamStats;
+import org.apache.shenyu.spi.Join;
+
+/**
+ * peak EWMA algorithm impl.
+ * <p>The power of two choices over the peak EWMA load, the average latency times the in-flight requests,
+ * so a slow upstream loses its share of traffic until its latency decays.</p>
+ */
+@Join
+public class PeakEwmaLoadBalancer extends P2cLoadBalancer {
+
+    @Override
+    protected double load(final UpstreamStats stats) {
+        return stats.getLoad();
+    }
+}
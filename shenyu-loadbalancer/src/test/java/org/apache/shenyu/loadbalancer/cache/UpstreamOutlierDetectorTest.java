@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.apache.shenyu.common.config.OutlierDetectionConfig;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type UpstreamOutlierDetector test.
+ */
+public class UpstreamOutlierDetectorTest {
+
+    private static final String SELECTOR_ID = "SELECTOR_ID";
+
+    private final List<Upstream> upstreams = Arrays.asList(Upstream.builder().url("url1").build(),
+            Upstream.builder().url("url2").build(), Upstream.builder().url("url3").build(), Upstream.builder().url("url4").build());
+
+    private OutlierDetectionConfig config;
+
+    @BeforeEach
+    public void setUp() {
+        config = new OutlierDetectionConfig();
+        config.setEnabled(true);
+        config.setConsecutiveErrors(3);
+        config.setMinimumRequests(10);
+        config.setBaseEjectionTime(100);
+    }
+
+    @Test
+    public void testDisabled() {
+        config.setEnabled(false);
+        final UpstreamOutlierDetector detector = new UpstreamOutlierDetector(config);
+        fail(detector, "url1", 10);
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "url1"));
+        Assertions.assertSame(upstreams, detector.filter(SELECTOR_ID, upstreams));
+    }
+
+    @Test
+    public void testEjectByConsecutiveErrors() throws InterruptedException {
+        final UpstreamOutlierDetector detector = new UpstreamOutlierDetector(config);
+        fail(detector, "url1", 2);
+        detector.record(SELECTOR_ID, "url1", true, upstreams.size());
+        fail(detector, "url1", 2);
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "url1"));
+        fail(detector, "url1", 1);
+        Assertions.assertTrue(detector.isEjected(SELECTOR_ID, "url1"));
+        Assertions.assertEquals(3, detector.filter(SELECTOR_ID, upstreams).size());
+        Thread.sleep(150);
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "url1"));
+        Assertions.assertEquals(4, detector.filter(SELECTOR_ID, upstreams).size());
+    }
+
+    @Test
+    public void testEjectByFailurePercentage() {
+        config.setConsecutiveErrors(100);
+        final UpstreamOutlierDetector detector = new UpstreamOutlierDetector(config);
+        for (int i = 0; i < 4; i++) {
+            detector.record(SELECTOR_ID, "url1", true, upstreams.size());
+            fail(detector, "url1", 1);
+        }
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "url1"));
+        detector.record(SELECTOR_ID, "url1", true, upstreams.size());
+        fail(detector, "url1", 1);
+        Assertions.assertTrue(detector.isEjected(SELECTOR_ID, "url1"));
+    }
+
+    @Test
+    public void testEjectionTimeDoubles() throws InterruptedException {
+        final UpstreamOutlierDetector detector = new UpstreamOutlierDetector(config);
+        fail(detector, "url1", 3);
+        Thread.sleep(150);
+        fail(detector, "url1", 3);
+        Thread.sleep(150);
+        Assertions.assertTrue(detector.isEjected(SELECTOR_ID, "url1"));
+        Thread.sleep(100);
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "url1"));
+    }
+
+    @Test
+    public void testMaxEjectionPercent() {
+        final UpstreamOutlierDetector detector = new UpstreamOutlierDetector(config);
+        upstreams.forEach(upstream -> fail(detector, upstream.getUrl(), 3));
+        Assertions.assertEquals(2, detector.filter(SELECTOR_ID, upstreams).size());
+        final List<Upstream> single = Collections.singletonList(upstreams.get(0));
+        fail(detector, "single", 3);
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "single"));
+        Assertions.assertEquals(1, detector.filter(SELECTOR_ID, single).size());
+    }
+
+    @Test
+    public void testRemove() {
+        final UpstreamOutlierDetector detector = new UpstreamOutlierDetector(config);
+        fail(detector, "url1", 3);
+        detector.remove(SELECTOR_ID, "url1");
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "url1"));
+        fail(detector, "url2", 3);
+        detector.remove(SELECTOR_ID);
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "url2"));
+    }
+
+    @Test
+    public void testRecordByAuthority() {
+        final UpstreamOutlierDetector detector = new UpstreamOutlierDetector(config);
+        final List<Upstream> urls = Arrays.asList(Upstream.builder().url("http://Host1:8080").build(),
+                Upstream.builder().url("host2:8080/").build());
+        fail(detector, "host1:8080", 3);
+        Assertions.assertTrue(detector.isEjected(SELECTOR_ID, "http://host1:8080"));
+        Assertions.assertEquals(Collections.singletonList(urls.get(1)), detector.filter(SELECTOR_ID, urls));
+        detector.remove(SELECTOR_ID, "http://host1:8080/");
+        Assertions.assertFalse(detector.isEjected(SELECTOR_ID, "host1:8080"));
+    }
+
+    private void fail(final UpstreamOutlierDetector detector, final String url, final int times) {
+        for (int i = 0; i < times; i++) {
+            detector.record(SELECTOR_ID, url, false, upstreams.size());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The type upstream stats test.
+ */
+public class UpstreamStatsTest {
+
+    @Test
+    public void inflightTest() {
+        final UpstreamStats stats = new UpstreamStats();
+        final long start = stats.begin();
+        stats.begin();
+        assertEquals(2, stats.getInflight());
+        assertTrue(stats.getLoad() > TimeUnit.DAYS.toNanos(1));
+        stats.complete(start);
+        assertEquals(1, stats.getInflight());
+    }
+
+    @Test
+    public void peakEwmaTest() {
+        final UpstreamStats stats = new UpstreamStats();
+        assertEquals(0d, stats.getLoad());
+        final long peak = TimeUnit.SECONDS.toNanos(1);
+        stats.complete(stats.begin() - peak);
+        assertTrue(stats.getCost() >= peak * 0.99);
+        stats.complete(stats.begin() - TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(stats.getCost() > TimeUnit.MILLISECONDS.toNanos(900));
+        assertTrue(stats.getCost() <= peak);
+        assertEquals(stats.getCost(), stats.getLoad(), TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -17,6 +17,8 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,13 +29,17 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mockStatic;
 
@@ -204,4 +210,38 @@ public final class HashLoadBalanceTest {
         final Upstream assertUp = lastRing.get(lastRing.firstKey());
         assertEquals(assertUp.getUrl(), divideUpstream.getUrl());
     }
+
+    @Test
+    public void selectAfterUpstreamChangedTest() {
+        final String ip = "127.0.0.1";
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+        final List<Upstream> upstreamList = new ArrayList<>(hashLoadBalancesOrdered);
+        final Upstream upstream = hashLoadBalance.select(upstreamList, ip);
+        assertSame(upstream, hashLoadBalance.select(upstreamList, ip));
+        upstreamList.remove(upstream);
+        final Upstream changedUpstream = hashLoadBalance.select(upstreamList, ip);
+        Assertions.assertNotEquals(upstream.getUrl(), changedUpstream.getUrl());
+        Assertions.assertTrue(upstreamList.contains(changedUpstream));
+    }
+
+    @Test
+    public void fnvHashTest() {
+        final ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getLoadBalance().setHashFunction("fnv");
+        shenyuConfig.getLoadBalance().setHashVirtualNodes(100);
+        Singleton.INST.single(ShenyuConfig.class, shenyuConfig);
+        try {
+            final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+            final Set<String> selected = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                final String ip = "192.168.0." + i;
+                final Upstream upstream = hashLoadBalance.select(hashLoadBalancesOrdered, ip);
+                assertEquals(upstream.getUrl(), hashLoadBalance.select(hashLoadBalancesDisordered, ip).getUrl());
+                selected.add(upstream.getUrl());
+            }
+            assertEquals(hashLoadBalancesOrdered.size(), selected.size());
+        } finally {
+            Singleton.INST.single(ShenyuConfig.class, new ShenyuConfig());
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.cache.UpstreamStatsCache;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The type p2c load balance test.
+ */
+public class P2cLoadBalancerTest {
+
+    @Test
+    public void selectLessInflightTest() {
+        final Upstream busy = Upstream.builder().url("p2c-busy").weight(50).build();
+        final Upstream idle = Upstream.builder().url("p2c-idle").weight(50).build();
+        final List<Upstream> upstreamList = Arrays.asList(busy, idle);
+        UpstreamStatsCache.getInstance().obtain(busy.getUrl()).begin();
+        final P2cLoadBalancer loadBalancer = new P2cLoadBalancer();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(idle, loadBalancer.select(upstreamList, ""));
+        }
+    }
+
+    @Test
+    public void selectByRequestAuthorityTest() {
+        final Upstream busy = Upstream.builder().url("http://p2c-busy-host:8080/").weight(50).build();
+        final Upstream idle = Upstream.builder().url("p2c-idle-host:8080").weight(50).build();
+        final List<Upstream> upstreamList = Arrays.asList(busy, idle);
+        // the http client plugins record the stats under the authority of the request uri
+        UpstreamStatsCache.getInstance().obtain("p2c-busy-host:8080").begin();
+        final P2cLoadBalancer loadBalancer = new P2cLoadBalancer();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(idle, loadBalancer.select(upstreamList, ""));
+        }
+    }
+}
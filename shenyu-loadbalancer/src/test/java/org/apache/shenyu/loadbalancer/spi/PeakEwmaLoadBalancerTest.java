@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.cache.UpstreamStatsCache;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The type peak EWMA load balance test.
+ */
+public class PeakEwmaLoadBalancerTest {
+
+    @Test
+    public void selectLowerLatencyTest() {
+        final Upstream slow = Upstream.builder().url("ewma-slow").weight(50).build();
+        final Upstream fast = Upstream.builder().url("ewma-fast").weight(50).build();
+        final List<Upstream> upstreamList = Arrays.asList(slow, fast);
+        final UpstreamStats slowStats = UpstreamStatsCache.getInstance().obtain(slow.getUrl());
+        slowStats.complete(slowStats.begin() - TimeUnit.SECONDS.toNanos(1));
+        final UpstreamStats fastStats = UpstreamStatsCache.getInstance().obtain(fast.getUrl());
+        fastStats.complete(fastStats.begin() - TimeUnit.MILLISECONDS.toNanos(1));
+        final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(fast, loadBalancer.select(upstreamList, ""));
+        }
+    }
+}
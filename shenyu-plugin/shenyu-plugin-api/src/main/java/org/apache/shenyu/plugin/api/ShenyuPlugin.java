@@ -24,7 +24,9 @@ import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * the shenyu plugin interface.
@@ -60,15 +62,59 @@ public interface ShenyuPlugin {
         return "";
     }
 
+    /**
+     * the rpc types this plugin is skipped for on every request.
+     * the handler leaves the plugin out of the chain once the rpc type of the request is known.
+     *
+     * @return the skipped rpc types, default empty.
+     */
+    default Set<RpcTypeEnum> skipRpcTypes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * the rpc types this plugin is only executed for, it is skipped for every other rpc type.
+     * the handler leaves the plugin out of the chain once the rpc type of the request is known.
+     *
+     * @return the executed rpc types, default empty for all of them.
+     */
+    default Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * whether the plugin is always skipped for the rpc type, by {@link #skipRpcTypes()} and {@link #skipExceptRpcTypes()}.
+     *
+     * @param rpcType the rpc type
+     * @return true if the plugin is skipped
+     */
+    default boolean skipRpcType(final RpcTypeEnum rpcType) {
+        final Set<RpcTypeEnum> exceptRpcTypes = skipExceptRpcTypes();
+        return exceptRpcTypes.isEmpty() ? skipRpcTypes().contains(rpcType) : !exceptRpcTypes.contains(rpcType);
+    }
+
     /**
      * plugin is executed.
      * if return true this plugin can not execute.
      *
      * @param exchange the current server exchange
-     * @return default false.
+     * @return default skipped by {@link #skipRpcTypes()} and {@link #skipExceptRpcTypes()}.
      */
     default boolean skip(ServerWebExchange exchange) {
-        return false;
+        final Set<RpcTypeEnum> exceptRpcTypes = skipExceptRpcTypes();
+        final Set<RpcTypeEnum> rpcTypes = exceptRpcTypes.isEmpty() ? skipRpcTypes() : exceptRpcTypes;
+        if (rpcTypes.isEmpty()) {
+            return false;
+        }
+        ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+        assert shenyuContext != null;
+        String rpcType = shenyuContext.getRpcType();
+        for (final RpcTypeEnum type : rpcTypes) {
+            if (Objects.equals(rpcType, type.getName())) {
+                return exceptRpcTypes.isEmpty();
+            }
+        }
+        return !exceptRpcTypes.isEmpty();
     }
 
     /**
@@ -70,7 +70,10 @@ public final class BodyParamUtils {
      * @return the parameters.
      */
     public static Pair<String[], Object[]> buildSingleParameter(final String body, final String parameterTypes) {
-        final Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
+        return buildSingleParameter(GsonUtils.getInstance().toObjectMap(body), parameterTypes);
+    }
+
+    private static Pair<String[], Object[]> buildSingleParameter(final Map<String, Object> paramMap, final String parameterTypes) {
         for (String key : paramMap.keySet()) {
             Object obj = paramMap.get(key);
             if (obj instanceof JsonObject) {
@@ -94,21 +97,21 @@ public final class BodyParamUtils {
     public static Pair<String[], Object[]> buildParameters(final String body, final String parameterTypes) {
         List<String> paramNameList = new ArrayList<>();
         List<String> paramTypeList = new ArrayList<>();
+        // the body is parsed once, for the parameter names and the values
+        Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
 
         if (isNameMapping(parameterTypes)) {
             Map<String, String> paramNameMap = GsonUtils.getInstance().toObjectMap(parameterTypes, String.class);
             paramNameList.addAll(paramNameMap.keySet());
             paramTypeList.addAll(paramNameMap.values());
         } else {
-            Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
             paramNameList.addAll(paramMap.keySet());
             paramTypeList.addAll(Arrays.asList(StringUtils.split(parameterTypes, ",")));
         }
 
         if (paramTypeList.size() == 1 && !isBaseType(paramTypeList.get(0))) {
-            return buildSingleParameter(body, parameterTypes);
+            return buildSingleParameter(paramMap, parameterTypes);
         }
-        Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
         Object[] objects = paramNameList.stream().map(key -> {
             Object obj = paramMap.get(key);
             if (obj instanceof JsonObject) {
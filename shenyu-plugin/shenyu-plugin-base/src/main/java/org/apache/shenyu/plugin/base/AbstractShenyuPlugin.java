@@ -17,6 +17,8 @@
 
 package org.apache.shenyu.plugin.base;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -39,9 +41,11 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.apache.shenyu.plugin.base.cache.RouteTable.PluginRoute;
+import org.apache.shenyu.plugin.base.cache.RouteTable.RuleRoute;
+import org.apache.shenyu.plugin.base.cache.RouteTable.SelectorRoute;
 import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
-import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
-import org.apache.shenyu.plugin.base.trie.ShenyuTrieNode;
+import org.apache.shenyu.plugin.base.trie.ShenyuRuleTrie;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
@@ -87,37 +91,41 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             return chain.execute(exchange);
         }
         final String path = exchange.getRequest().getURI().getPath();
-        List<SelectorData> selectors = BaseDataCache.getInstance().obtainSelectorData(pluginName);
+        // the version is read before the snapshot, a rule matched with a stale snapshot is never cached
+        final long ruleVersion = MatchDataCache.getInstance().obtainRuleVersion();
+        final PluginRoute pluginRoute = BaseDataCache.getInstance().obtainRouteTable().obtainPluginRoute(pluginName);
         SelectorData selectorData = obtainSelectorDataCacheIfEnabled(path);
         // handle Selector
         if (Objects.nonNull(selectorData) && StringUtils.isBlank(selectorData.getId())) {
             return handleSelectorIfNull(pluginName, exchange, chain);
         }
-        if (Objects.isNull(selectorData)) {
-            if (CollectionUtils.isEmpty(selectors)) {
+        SelectorRoute selectorRoute = Objects.isNull(selectorData) || Objects.isNull(pluginRoute) ? null : pluginRoute.obtainSelectorRoute(selectorData.getId());
+        if (Objects.isNull(selectorRoute)) {
+            if (Objects.isNull(pluginRoute) || pluginRoute.isEmpty()) {
                 return handleSelectorIfNull(pluginName, exchange, chain);
             }
-            Pair<Boolean, SelectorData> matchSelectorData = matchSelector(exchange, selectors);
-            selectorData = matchSelectorData.getRight();
-            if (Objects.isNull(selectorData)) {
-                if (matchCacheConfig.getSelectorEnabled() && matchSelectorData.getLeft()) {
+            Pair<Boolean, SelectorRoute> matchSelectorRoute = matchSelector(exchange, pluginRoute.match(path));
+            selectorRoute = matchSelectorRoute.getRight();
+            if (Objects.isNull(selectorRoute)) {
+                if (matchCacheConfig.getSelectorEnabled() && matchSelectorRoute.getLeft()) {
                     selectorData = new SelectorData();
                     selectorData.setPluginName(pluginName);
                     cacheSelectorData(path, selectorData);
                 }
                 return handleSelectorIfNull(pluginName, exchange, chain);
             } else {
-                if (matchCacheConfig.getSelectorEnabled() && matchSelectorData.getLeft()) {
-                    cacheSelectorData(path, selectorData);
+                if (matchCacheConfig.getSelectorEnabled() && matchSelectorRoute.getLeft()) {
+                    cacheSelectorData(path, selectorRoute.getSelectorData());
                 }
             }
         }
+        selectorData = selectorRoute.getSelectorData();
         printLog(selectorData, pluginName);
         if (Objects.nonNull(selectorData.getContinued()) && !selectorData.getContinued()) {
             // if continued， not match rules
             return doExecute(exchange, chain, selectorData, defaultRuleData(selectorData));
         }
-        List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
+        List<RuleData> rules = selectorRoute.getRules();
         if (CollectionUtils.isEmpty(rules)) {
             return handleRuleIfNull(pluginName, exchange, chain);
         }
@@ -128,17 +136,15 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             printLog(rule, pluginName);
             return doExecute(exchange, chain, selectorData, rule);
         } else {
-            // match path with rule uri condition
-            ShenyuTrieNode matchTrieNode = SpringBeanUtils.getInstance().getBean(ShenyuTrie.class).match(path, selectorData.getId());
-            if (Objects.nonNull(matchTrieNode)) {
-                List<RuleData> ruleDataList = matchTrieNode.getPathRuleCache().getIfPresent(selectorData.getId());
-                if (CollectionUtils.isNotEmpty(ruleDataList)) {
-                    ruleData = genericMatchRule(exchange, ruleDataList);
-                } else {
-                    ruleData = genericMatchRule(exchange, rules);
+            ruleData = obtainRuleDataCacheIfEnabled(selectorData.getId(), path);
+            if (Objects.nonNull(ruleData) && StringUtils.isBlank(ruleData.getId())) {
+                return handleRuleIfNull(pluginName, exchange, chain);
+            }
+            if (Objects.isNull(ruleData)) {
+                ruleData = matchRuleByTrie(exchange, path, selectorRoute);
+                if (matchCacheConfig.getRuleEnabled()) {
+                    cacheRuleData(path, Objects.isNull(ruleData) ? defaultRuleData(selectorData) : ruleData, rules, ruleVersion);
                 }
-            } else {
-                ruleData = genericMatchRule(exchange, rules);
             }
             if (Objects.isNull(ruleData)) {
                 return handleRuleIfNull(pluginName, exchange, chain);
@@ -148,6 +154,20 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return doExecute(exchange, chain, selectorData, ruleData);
     }
 
+    private RuleData matchRuleByTrie(final ServerWebExchange exchange, final String path, final SelectorRoute selectorRoute) {
+        // match path with rule uri condition
+        final String selectorId = selectorRoute.getSelectorData().getId();
+        List<RuleData> ruleDataList = SpringBeanUtils.getInstance().getBean(ShenyuRuleTrie.class).matchRules(path, selectorId);
+        if (CollectionUtils.isNotEmpty(ruleDataList)) {
+            final List<RuleRoute> ruleRoutes = selectorRoute.obtainRuleRoutes(ruleDataList);
+            // the trie is synced apart from the route snapshot, fall back to the snapshot when they disagree
+            if (ruleRoutes.size() == ruleDataList.size()) {
+                return genericMatchRule(exchange, ruleRoutes);
+            }
+        }
+        return genericMatchRule(exchange, Arrays.asList(selectorRoute.getRuleRoutes()));
+    }
+
     private void initMatchCacheConfig() {
         if (Objects.isNull(matchCacheConfig)) {
             matchCacheConfig = SpringBeanUtils.getInstance().getBean(ShenyuConfig.class).getMatchCache();
@@ -168,6 +188,25 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         }
     }
 
+    /**
+     * the matched rule only depends on the path when every rule of the selector matches by uri conditions only.
+     */
+    private void cacheRuleData(final String path, final RuleData ruleData, final List<RuleData> rules, final long ruleVersion) {
+        boolean isUriCondition = rules.stream().allMatch(rule -> CollectionUtils.isNotEmpty(rule.getConditionDataList())
+                && rule.getConditionDataList().stream().allMatch(v -> URI_CONDITION_TYPE.equals(v.getParamType())));
+        if (isUriCondition) {
+            MatchDataCache.getInstance().cacheRuleData(path, ruleData, getRuleMaxFreeMemory(), ruleVersion);
+        }
+    }
+
+    private Integer getRuleMaxFreeMemory() {
+        return matchCacheConfig.getMaxRuleFreeMemory() * 1024 * 1024;
+    }
+
+    private RuleData obtainRuleDataCacheIfEnabled(final String selectorId, final String path) {
+        return matchCacheConfig.getRuleEnabled() ? MatchDataCache.getInstance().obtainRuleData(selectorId, path) : null;
+    }
+
     private Integer getSelectorMaxFreeMemory() {
         return matchCacheConfig.getMaxSelectorFreeMemory() * 1024 * 1024;
     }
@@ -191,47 +230,51 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return chain.execute(exchange);
     }
 
-    private Pair<Boolean, SelectorData> matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        List<SelectorData> filterCollectors = selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
-                .distinct()
-                .collect(Collectors.toList());
-        if (filterCollectors.size() > 1) {
-            return Pair.of(Boolean.FALSE, manyMatchSelector(filterCollectors));
+    private Pair<Boolean, SelectorRoute> matchSelector(final ServerWebExchange exchange, final SelectorRoute[] selectorRoutes) {
+        List<SelectorRoute> filterRoutes = new ArrayList<>(2);
+        for (SelectorRoute selectorRoute : selectorRoutes) {
+            if (selectorRoute.getSelectorData().getEnabled() && filterSelector(selectorRoute, exchange)) {
+                filterRoutes.add(selectorRoute);
+            }
+        }
+        if (filterRoutes.size() > 1) {
+            return Pair.of(Boolean.FALSE, manyMatchSelector(filterRoutes));
         } else {
-            return Pair.of(Boolean.TRUE, filterCollectors.stream().findFirst().orElse(null));
+            return Pair.of(Boolean.TRUE, filterRoutes.stream().findFirst().orElse(null));
         }
     }
 
-    private SelectorData manyMatchSelector(final List<SelectorData> filterCollectors) {
+    private SelectorRoute manyMatchSelector(final List<SelectorRoute> filterRoutes) {
         //What needs to be dealt with here is the and condition. If the number of and conditions is the same and is matched at the same time,
         // it will be sorted by the sort field.
-        Map<Integer, List<Pair<Integer, SelectorData>>> collect =
-                filterCollectors.stream().map(selector -> {
+        Map<Integer, List<Pair<Integer, SelectorRoute>>> collect =
+                filterRoutes.stream().map(selectorRoute -> {
+                    SelectorData selector = selectorRoute.getSelectorData();
                     boolean match = MatchModeEnum.match(selector.getMatchMode(), MatchModeEnum.AND);
                     int sort = 0;
                     if (match) {
                         sort = selector.getConditionList().size();
                     }
-                    return Pair.of(sort, selector);
+                    return Pair.of(sort, selectorRoute);
                 }).collect(Collectors.groupingBy(Pair::getLeft));
         Integer max = Collections.max(collect.keySet());
-        List<Pair<Integer, SelectorData>> pairs = collect.get(max);
-        return pairs.stream().map(Pair::getRight).min(Comparator.comparing(SelectorData::getSort)).orElse(null);
+        List<Pair<Integer, SelectorRoute>> pairs = collect.get(max);
+        return pairs.stream().map(Pair::getRight).min(Comparator.comparing(SelectorRoute::getSelectorData, Comparator.comparing(SelectorData::getSort))).orElse(null);
     }
 
-    private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
+    private Boolean filterSelector(final SelectorRoute selectorRoute, final ServerWebExchange exchange) {
+        SelectorData selector = selectorRoute.getSelectorData();
         if (selector.getType() == SelectorTypeEnum.CUSTOM_FLOW.getCode()) {
             if (CollectionUtils.isEmpty(selector.getConditionList())) {
                 return false;
             }
-            return MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange);
+            return MatchStrategyFactory.match(selector.getMatchMode(), selectorRoute.getConditions(), exchange);
         }
         return true;
     }
 
-    private RuleData genericMatchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        Pair<Boolean, RuleData> genericMatchRule = this.matchRule(exchange, rules);
+    private RuleData genericMatchRule(final ServerWebExchange exchange, final Collection<RuleRoute> ruleRoutes) {
+        Pair<Boolean, RuleData> genericMatchRule = this.matchRule(exchange, ruleRoutes);
         if (genericMatchRule.getLeft()) {
             return genericMatchRule.getRight();
         } else {
@@ -239,9 +282,10 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         }
     }
 
-    private Pair<Boolean, RuleData> matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        List<RuleData> filterRuleData = rules.stream()
-                .filter(rule -> filterRule(rule, exchange))
+    private Pair<Boolean, RuleData> matchRule(final ServerWebExchange exchange, final Collection<RuleRoute> ruleRoutes) {
+        List<RuleData> filterRuleData = ruleRoutes.stream()
+                .filter(ruleRoute -> filterRule(ruleRoute, exchange))
+                .map(RuleRoute::getRuleData)
                 .distinct()
                 .collect(Collectors.toList());
         if (filterRuleData.size() > 1) {
@@ -266,8 +310,9 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return pairs.stream().map(Pair::getRight).min(Comparator.comparing(RuleData::getSort)).orElse(null);
     }
 
-    private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
-        return ruleData.getEnabled() && MatchStrategyFactory.match(ruleData.getMatchMode(), ruleData.getConditionDataList(), exchange);
+    private Boolean filterRule(final RuleRoute ruleRoute, final ServerWebExchange exchange) {
+        RuleData ruleData = ruleRoute.getRuleData();
+        return ruleData.getEnabled() && MatchStrategyFactory.match(ruleData.getMatchMode(), ruleRoute.getConditions(), exchange);
     }
 
     private void printLog(final Object data, final String pluginName) {
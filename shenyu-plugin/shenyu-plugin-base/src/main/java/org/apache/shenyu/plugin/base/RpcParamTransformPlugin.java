@@ -24,9 +24,14 @@ import org.apache.shenyu.plugin.base.utils.HttpParamConverter;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
+import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.BodyParamUtils;
+import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.lang.NonNull;
@@ -37,14 +42,41 @@ import reactor.core.publisher.Mono;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The param transform plugin.
  */
 public class RpcParamTransformPlugin implements ShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(
+            EnumSet.of(RpcTypeEnum.DUBBO, RpcTypeEnum.GRPC, RpcTypeEnum.TARS, RpcTypeEnum.MOTAN, RpcTypeEnum.SOFA, RpcTypeEnum.BRPC));
+
+    private static final int BYTES_PER_MB = 1024 * 1024;
+
+    private final long maxBodySize;
+
+    /**
+     * Instantiates a new rpc param transform plugin, the request body is not limited.
+     */
+    public RpcParamTransformPlugin() {
+        this(0);
+    }
+
+    /**
+     * Instantiates a new rpc param transform plugin.
+     *
+     * @param maxBodySize the max size of the request body in MB, 0 for no limit
+     */
+    public RpcParamTransformPlugin(final int maxBodySize) {
+        this.maxBodySize = (long) maxBodySize * BYTES_PER_MB;
+    }
+
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -73,22 +105,23 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
     }
 
     private Mono<Void> body(final ServerWebExchange exchange, final ServerHttpRequest serverHttpRequest, final ShenyuPluginChain chain) {
-        return Mono.from(DataBufferUtils.join(serverHttpRequest.getBody())
+        return readBody(serverHttpRequest)
                 .flatMap(data -> Mono.just(Optional.of(data)))
                 .defaultIfEmpty(Optional.empty())
                 .flatMap(body -> {
-                    body.ifPresent(dataBuffer -> exchange.getAttributes().put(Constants.PARAM_TRANSFORM, resolveBodyFromRequest(dataBuffer)));
+                    body.ifPresent(param -> exchange.getAttributes().put(Constants.PARAM_TRANSFORM, param));
                     return chain.execute(exchange);
-                }));
+                })
+                .onErrorResume(DataBufferLimitException.class, e -> payloadTooLarge(exchange));
     }
 
     private Mono<Void> formData(final ServerWebExchange exchange, final ServerHttpRequest serverHttpRequest, final ShenyuPluginChain chain) {
-        return Mono.from(DataBufferUtils.join(serverHttpRequest.getBody())
+        return readBody(serverHttpRequest)
                 .flatMap(data -> Mono.just(Optional.of(data)))
                 .defaultIfEmpty(Optional.empty())
                 .flatMap(map -> {
                     if (map.isPresent()) {
-                        String param = resolveBodyFromRequest(map.get());
+                        String param = map.get();
                         LinkedMultiValueMap<String, String> linkedMultiValueMap;
                         try {
                             linkedMultiValueMap = BodyParamUtils.buildBodyParams(URLDecoder.decode(param, StandardCharsets.UTF_8.name()));
@@ -98,7 +131,34 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
                         exchange.getAttributes().put(Constants.PARAM_TRANSFORM, HttpParamConverter.toMap(() -> linkedMultiValueMap));
                     }
                     return chain.execute(exchange);
-                }));
+                })
+                .onErrorResume(DataBufferLimitException.class, e -> payloadTooLarge(exchange));
+    }
+
+    /**
+     * Read the request body into a string, each buffer is copied once into an array sized by the content length and
+     * released as soon as it arrives, instead of holding all of them until the body is joined.
+     *
+     * @param serverHttpRequest the request
+     * @return the body, empty if the request has no body
+     */
+    private Mono<String> readBody(final ServerHttpRequest serverHttpRequest) {
+        final long contentLength = serverHttpRequest.getHeaders().getContentLength();
+        if (maxBodySize > 0 && contentLength > maxBodySize) {
+            return Mono.error(new DataBufferLimitException("Exceeded limit on max bytes of the rpc body: " + maxBodySize));
+        }
+        // a content length over the limit is rejected above, without a limit it is not trusted for more than 1MB
+        final long initialCapacity = maxBodySize > 0 ? contentLength : Math.min(contentLength, BYTES_PER_MB);
+        return serverHttpRequest.getBody()
+                .reduceWith(() -> new BodyBuffer(initialCapacity, maxBodySize), BodyBuffer::write)
+                .filter(BodyBuffer::isPresent)
+                .map(BodyBuffer::toUtf8String);
+    }
+
+    private Mono<Void> payloadTooLarge(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.PAYLOAD_TOO_LARGE);
+        return WebFluxResultUtils.result(exchange, error);
     }
 
     private Mono<Void> query(final ServerWebExchange exchange, final ServerHttpRequest serverHttpRequest, final ShenyuPluginChain chain) {
@@ -107,21 +167,54 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange,
-                RpcTypeEnum.DUBBO,
-                RpcTypeEnum.GRPC,
-                RpcTypeEnum.TARS,
-                RpcTypeEnum.MOTAN,
-                RpcTypeEnum.SOFA,
-                RpcTypeEnum.BRPC);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 
-    @NonNull
-    private String resolveBodyFromRequest(final DataBuffer dataBuffer) {
-        byte[] bytes = new byte[dataBuffer.readableByteCount()];
-        dataBuffer.read(bytes);
-        DataBufferUtils.release(dataBuffer);
-        return new String(bytes, StandardCharsets.UTF_8);
+    /**
+     * The bytes of the request body read so far.
+     */
+    private static final class BodyBuffer {
+
+        private final long maxBodySize;
+
+        private byte[] bytes;
+
+        private int size;
+
+        private boolean present;
+
+        BodyBuffer(final long initialCapacity, final long maxBodySize) {
+            this.maxBodySize = maxBodySize;
+            this.bytes = new byte[(int) Math.max(Math.min(initialCapacity, Integer.MAX_VALUE - 8), 0)];
+        }
+
+        BodyBuffer write(final DataBuffer dataBuffer) {
+            try {
+                present = true;
+                final int readable = dataBuffer.readableByteCount();
+                final long required = (long) size + readable;
+                if (maxBodySize > 0 && required > maxBodySize) {
+                    throw new DataBufferLimitException("Exceeded limit on max bytes of the rpc body: " + maxBodySize);
+                }
+                if (required > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(Math.max(required, (long) bytes.length << 1), Integer.MAX_VALUE - 8));
+                }
+                dataBuffer.read(bytes, size, readable);
+                size += readable;
+                return this;
+            } finally {
+                DataBufferUtils.release(dataBuffer);
+            }
+        }
+
+        boolean isPresent() {
+            return present;
+        }
+
+        @NonNull
+        String toUtf8String() {
+            return new String(bytes, 0, size, StandardCharsets.UTF_8);
+        }
     }
 }
@@ -22,9 +22,15 @@ import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.cache.RouteTable.PluginRoute;
+import org.apache.shenyu.plugin.base.cache.RouteTable.SelectorRoute;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
@@ -51,6 +57,16 @@ public final class BaseDataCache {
      */
     private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
 
+    /**
+     * guards the rebuild and the publication of the route table, the lock of the maps above is only taken inside it, never the reverse.
+     */
+    private static final Object ROUTE_LOCK = new Object();
+
+    /**
+     * the routing snapshot built from the maps above, replaced as a whole on every change.
+     */
+    private static volatile RouteTable routeTable = RouteTable.EMPTY;
+
     private BaseDataCache() {
     }
     
@@ -122,7 +138,10 @@ public final class BaseDataCache {
      * @param selectorData the selector data
      */
     public void cacheSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(this::selectorAccept);
+        Optional.ofNullable(selectorData).ifPresent(data -> {
+            CompiledConditionCache.getInstance().cacheSelectorConditions(data);
+            selectorAccept(data);
+        });
     }
     
     /**
@@ -136,6 +155,8 @@ public final class BaseDataCache {
             synchronized (SELECTOR_MAP) {
                 Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
             }
+            CompiledConditionCache.getInstance().removeSelectorConditions(data);
+            refreshPluginRoute(data.getPluginName(), data.getId());
         });
     }
     
@@ -145,14 +166,24 @@ public final class BaseDataCache {
      * @param pluginName the plugin name
      */
     public void removeSelectDataByPluginName(final String pluginName) {
-        SELECTOR_MAP.remove(pluginName);
+        synchronized (SELECTOR_MAP) {
+            Optional.ofNullable(SELECTOR_MAP.remove(pluginName))
+                    .ifPresent(list -> list.forEach(CompiledConditionCache.getInstance()::removeSelectorConditions));
+        }
+        refreshPluginRoute(pluginName);
     }
     
     /**
      * Clean selector data.
      */
     public void cleanSelectorData() {
-        SELECTOR_MAP.clear();
+        synchronized (SELECTOR_MAP) {
+            SELECTOR_MAP.clear();
+        }
+        CompiledConditionCache.getInstance().cleanSelectorConditions();
+        synchronized (ROUTE_LOCK) {
+            routeTable = routeTable.clear();
+        }
     }
     
     /**
@@ -173,6 +204,15 @@ public final class BaseDataCache {
     public List<SelectorData> obtainSelectorData(final String pluginName) {
         return SELECTOR_MAP.get(pluginName);
     }
+
+    /**
+     * Obtain the current routing snapshot, a request should read it only once.
+     *
+     * @return the route table
+     */
+    public RouteTable obtainRouteTable() {
+        return routeTable;
+    }
     
     /**
      * Cache rule data.
@@ -180,7 +220,10 @@ public final class BaseDataCache {
      * @param ruleData the rule data
      */
     public void cacheRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(this::ruleAccept);
+        Optional.ofNullable(ruleData).ifPresent(data -> {
+            CompiledConditionCache.getInstance().cacheRuleConditions(data);
+            ruleAccept(data);
+        });
     }
     
     /**
@@ -194,6 +237,8 @@ public final class BaseDataCache {
             synchronized (RULE_MAP) {
                 Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
             }
+            CompiledConditionCache.getInstance().removeRuleConditions(data);
+            refreshSelectorRoute(data.getSelectorId());
         });
     }
     
@@ -203,7 +248,9 @@ public final class BaseDataCache {
      * @param selectorId the selector id
      */
     public void removeRuleDataBySelectorId(final String selectorId) {
-        RULE_MAP.remove(selectorId);
+        Optional.ofNullable(RULE_MAP.remove(selectorId))
+                .ifPresent(list -> list.forEach(CompiledConditionCache.getInstance()::removeRuleConditions));
+        refreshSelectorRoute(selectorId);
     }
     
     /**
@@ -211,6 +258,10 @@ public final class BaseDataCache {
      */
     public void cleanRuleData() {
         RULE_MAP.clear();
+        CompiledConditionCache.getInstance().cleanRuleConditions();
+        synchronized (ROUTE_LOCK) {
+            routeTable.getPluginRoutes().keySet().forEach(this::refreshPluginRoute);
+        }
     }
     
     /**
@@ -250,6 +301,7 @@ public final class BaseDataCache {
                 RULE_MAP.put(selectorId, Lists.newArrayList(data));
             }
         }
+        refreshSelectorRoute(selectorId);
     }
 
     /**
@@ -270,5 +322,76 @@ public final class BaseDataCache {
                 SELECTOR_MAP.put(key, Lists.newArrayList(data));
             }
         }
+        refreshPluginRoute(key, data.getId());
+    }
+
+    /**
+     * rebuild the route of the plugin from the selectors and the rules, then publish a new route table.
+     *
+     * @param pluginName the plugin name
+     */
+    private void refreshPluginRoute(final String pluginName) {
+        refreshPluginRoute(pluginName, null);
+    }
+
+    /**
+     * rebuild the route of the plugin, then publish a new route table.
+     * the routes of the other selectors are kept if their selector data is unchanged, their rules are refreshed by
+     * {@link #refreshSelectorRoute(String)}, so only the changed selector is built again.
+     *
+     * @param pluginName the plugin name
+     * @param selectorId the id of the changed selector, null rebuilds all the selectors
+     */
+    private void refreshPluginRoute(final String pluginName, final String selectorId) {
+        if (Objects.isNull(pluginName)) {
+            return;
+        }
+        synchronized (ROUTE_LOCK) {
+            List<SelectorData> selectorDataList;
+            synchronized (SELECTOR_MAP) {
+                selectorDataList = new ArrayList<>(Optional.ofNullable(SELECTOR_MAP.get(pluginName)).orElse(Collections.emptyList()));
+            }
+            final PluginRoute current = Objects.isNull(selectorId) ? null : routeTable.obtainPluginRoute(pluginName);
+            final List<SelectorRoute> selectorRoutes = new ArrayList<>(selectorDataList.size());
+            for (SelectorData selector : selectorDataList) {
+                if (!Boolean.TRUE.equals(selector.getEnabled())) {
+                    continue;
+                }
+                final SelectorRoute selectorRoute = Objects.isNull(current) || selectorId.equals(selector.getId())
+                        ? null : current.obtainSelectorRoute(selector.getId());
+                selectorRoutes.add(Objects.nonNull(selectorRoute) && selectorRoute.getSelectorData() == selector
+                        ? selectorRoute : buildSelectorRoute(selector));
+            }
+            routeTable = routeTable.putPluginRoute(pluginName, selectorRoutes.isEmpty() ? null : new PluginRoute(selectorRoutes));
+        }
+    }
+
+    /**
+     * rebuild the route of the selector with its current rules, then publish a new route table.
+     *
+     * @param selectorId the selector id
+     */
+    private void refreshSelectorRoute(final String selectorId) {
+        if (Objects.isNull(selectorId)) {
+            return;
+        }
+        synchronized (ROUTE_LOCK) {
+            for (Map.Entry<String, PluginRoute> entry : routeTable.getPluginRoutes().entrySet()) {
+                final SelectorRoute selectorRoute = entry.getValue().obtainSelectorRoute(selectorId);
+                if (Objects.nonNull(selectorRoute)) {
+                    final PluginRoute pluginRoute = entry.getValue().replaceSelectorRoute(buildSelectorRoute(selectorRoute.getSelectorData()));
+                    routeTable = routeTable.putPluginRoute(entry.getKey(), pluginRoute);
+                    return;
+                }
+            }
+        }
+    }
+
+    private SelectorRoute buildSelectorRoute(final SelectorData selectorData) {
+        List<RuleData> ruleDataList;
+        synchronized (RULE_MAP) {
+            ruleDataList = new ArrayList<>(Optional.ofNullable(RULE_MAP.get(selectorData.getId())).orElse(Collections.emptyList()));
+        }
+        return new SelectorRoute(selectorData, ruleDataList);
     }
 }
@@ -27,7 +27,7 @@ import org.apache.shenyu.common.enums.RuleTrieEventEnum;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.event.RuleTrieEvent;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
-import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
+import org.apache.shenyu.plugin.base.trie.ShenyuRuleTrie;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -150,7 +150,8 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
     @Override
     public void refreshRuleDataAll() {
         BaseDataCache.getInstance().cleanRuleData();
-        SpringBeanUtils.getInstance().getBean(ShenyuTrie.class).clear();
+        SpringBeanUtils.getInstance().getBean(ShenyuRuleTrie.class).clear();
+        MatchDataCache.getInstance().cleanRuleData();
     }
     
     @Override
@@ -159,6 +160,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             return;
         }
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
+        ruleDataList.stream().map(RuleData::getSelectorId).distinct().forEach(MatchDataCache.getInstance()::removeRuleData);
     }
     
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
@@ -205,6 +207,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.handlerRule(ruleData));
             eventPublisher.publishEvent(new RuleTrieEvent(RuleTrieEventEnum.INSERT, ruleData));
+            MatchDataCache.getInstance().removeRuleData(ruleData.getSelectorId());
         }
     }
 
@@ -241,6 +244,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             SelectorData selectorData = (SelectorData) data;
             BaseDataCache.getInstance().removeSelectData(selectorData);
             MatchDataCache.getInstance().removeSelectorData(selectorData.getPluginName());
+            MatchDataCache.getInstance().removeSelectorRuleData(selectorData.getId());
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
                     .ifPresent(handler -> handler.removeSelector(selectorData));
             
@@ -250,6 +254,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.removeRule(ruleData));
             eventPublisher.publishEvent(new RuleTrieEvent(RuleTrieEventEnum.REMOVE, ruleData));
+            MatchDataCache.getInstance().removeRuleData(ruleData.getSelectorId());
         }
     }
 }
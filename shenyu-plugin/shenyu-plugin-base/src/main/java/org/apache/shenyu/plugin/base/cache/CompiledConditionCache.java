@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.CompiledCondition;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The compiled condition cache, conditions are compiled when selectors and rules arrive from sync.
+ */
+public final class CompiledConditionCache {
+
+    private static final CompiledConditionCache INSTANCE = new CompiledConditionCache();
+
+    private static final CompiledCondition[] EMPTY_CONDITIONS = new CompiledCondition[0];
+
+    /**
+     * selectorId -> compiled conditions.
+     */
+    private static final ConcurrentMap<String, CompiledConditions> SELECTOR_CONDITION_MAP = Maps.newConcurrentMap();
+
+    /**
+     * ruleId -> compiled conditions.
+     */
+    private static final ConcurrentMap<String, CompiledConditions> RULE_CONDITION_MAP = Maps.newConcurrentMap();
+
+    private CompiledConditionCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static CompiledConditionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Compile the conditions of the selector.
+     *
+     * @param selectorData the selector data
+     */
+    public void cacheSelectorConditions(final SelectorData selectorData) {
+        Optional.ofNullable(selectorData).filter(data -> Objects.nonNull(data.getId()))
+                .ifPresent(data -> SELECTOR_CONDITION_MAP.put(data.getId(), new CompiledConditions(data.getConditionList())));
+    }
+
+    /**
+     * Remove the compiled conditions of the selector.
+     *
+     * @param selectorData the selector data
+     */
+    public void removeSelectorConditions(final SelectorData selectorData) {
+        Optional.ofNullable(selectorData).map(SelectorData::getId).ifPresent(SELECTOR_CONDITION_MAP::remove);
+    }
+
+    /**
+     * Clean the compiled conditions of all selectors.
+     */
+    public void cleanSelectorConditions() {
+        SELECTOR_CONDITION_MAP.clear();
+    }
+
+    /**
+     * Obtain the compiled conditions of the selector, the conditions are compiled again if they changed since sync.
+     *
+     * @param selectorData the selector data
+     * @return the compiled conditions
+     */
+    public CompiledCondition[] obtainSelectorConditions(final SelectorData selectorData) {
+        return obtain(SELECTOR_CONDITION_MAP, selectorData.getId(), selectorData.getConditionList());
+    }
+
+    /**
+     * Compile the conditions of the rule.
+     *
+     * @param ruleData the rule data
+     */
+    public void cacheRuleConditions(final RuleData ruleData) {
+        Optional.ofNullable(ruleData).filter(data -> Objects.nonNull(data.getId()))
+                .ifPresent(data -> RULE_CONDITION_MAP.put(data.getId(), new CompiledConditions(data.getConditionDataList())));
+    }
+
+    /**
+     * Remove the compiled conditions of the rule.
+     *
+     * @param ruleData the rule data
+     */
+    public void removeRuleConditions(final RuleData ruleData) {
+        Optional.ofNullable(ruleData).map(RuleData::getId).ifPresent(RULE_CONDITION_MAP::remove);
+    }
+
+    /**
+     * Clean the compiled conditions of all rules.
+     */
+    public void cleanRuleConditions() {
+        RULE_CONDITION_MAP.clear();
+    }
+
+    /**
+     * Obtain the compiled conditions of the rule, the conditions are compiled again if they changed since sync.
+     *
+     * @param ruleData the rule data
+     * @return the compiled conditions
+     */
+    public CompiledCondition[] obtainRuleConditions(final RuleData ruleData) {
+        return obtain(RULE_CONDITION_MAP, ruleData.getId(), ruleData.getConditionDataList());
+    }
+
+    private static CompiledCondition[] obtain(final ConcurrentMap<String, CompiledConditions> conditionMap,
+                                              final String id, final List<ConditionData> conditionDataList) {
+        CompiledConditions compiledConditions = Objects.isNull(id) ? null : conditionMap.get(id);
+        if (Objects.nonNull(compiledConditions) && compiledConditions.source == conditionDataList) {
+            return compiledConditions.conditions;
+        }
+        compiledConditions = new CompiledConditions(conditionDataList);
+        if (Objects.nonNull(id)) {
+            conditionMap.put(id, compiledConditions);
+        }
+        return compiledConditions.conditions;
+    }
+
+    private static final class CompiledConditions {
+
+        private final List<ConditionData> source;
+
+        private final CompiledCondition[] conditions;
+
+        CompiledConditions(final List<ConditionData> source) {
+            this.source = source;
+            this.conditions = Objects.isNull(source) ? EMPTY_CONDITIONS
+                    : source.stream().map(CompiledCondition::compile).toArray(CompiledCondition[]::new);
+        }
+    }
+}
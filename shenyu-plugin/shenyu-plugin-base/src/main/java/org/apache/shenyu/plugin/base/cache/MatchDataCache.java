@@ -23,8 +23,11 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -40,10 +43,34 @@ public final class MatchDataCache {
     private static final ConcurrentMap<String, Map<String, SelectorData>> SELECTOR_DATA_MAP = Maps.newConcurrentMap();
 
     /**
-     * plugin name -> LRU Map.
-     * LRU Map: path -> rule data.
+     * the initial size of the rule map, it is sized up on demand.
      */
-    private static final ConcurrentMap<String, Map<String, RuleData>> RULE_DATA_MAP = Maps.newConcurrentMap();
+    private static final int RULE_MAP_INITIAL_SIZE = 1 << 10;
+
+    /**
+     * increased on every rule invalidation, a rule matched with older rules is not kept in the cache.
+     */
+    private static final AtomicLong RULE_VERSION = new AtomicLong();
+
+    /**
+     * selector id -> the rule version its rules were last invalidated at, the rules cached before are stale.
+     */
+    private static final ConcurrentMap<String, Long> SELECTOR_INVALIDATED_VERSION = Maps.newConcurrentMap();
+
+    /**
+     * the rule version all the rules were last invalidated at.
+     */
+    private static volatile long cleanedVersion;
+
+    private static final LongAdder RULE_HIT_COUNT = new LongAdder();
+
+    private static final LongAdder RULE_MISS_COUNT = new LongAdder();
+
+    /**
+     * selector id and path -> the rule data with the rule version it was matched at, a rule data without id means no rule matched.
+     * one map for all the selectors, created with the max memory of the first rule cached.
+     */
+    private volatile MemorySafeWindowTinyLFUMap<String, VersionedRuleData> ruleDataMap;
 
     private MatchDataCache() {
     }
@@ -95,4 +122,145 @@ public final class MatchDataCache {
         final Map<String, SelectorData> lruMap = SELECTOR_DATA_MAP.get(pluginName);
         return Optional.ofNullable(lruMap).orElse(Maps.newHashMap()).get(path);
     }
+
+    /**
+     * Obtain the rule version, it must be obtained before the rules are matched.
+     *
+     * @return the rule version
+     */
+    public long obtainRuleVersion() {
+        return RULE_VERSION.get();
+    }
+
+    /**
+     * Cache rule data, the rule data is dropped if the rules of its selector changed since the version was obtained.
+     *
+     * @param path        the path
+     * @param ruleData    the rule data, a rule data without id means no rule matched
+     * @param maxMemory   the max memory
+     * @param ruleVersion the rule version obtained before matching
+     */
+    public void cacheRuleData(final String path, final RuleData ruleData, final Integer maxMemory, final long ruleVersion) {
+        final String selectorId = ruleData.getSelectorId();
+        if (Objects.isNull(selectorId) || isStale(selectorId, ruleVersion)) {
+            return;
+        }
+        obtainRuleDataMap(maxMemory).put(ruleKey(selectorId, path), new VersionedRuleData(ruleData, ruleVersion));
+    }
+
+    /**
+     * Obtain rule data.
+     *
+     * @param selectorId the selector id
+     * @param path       the path
+     * @return the rule data, null if it is not cached
+     */
+    public RuleData obtainRuleData(final String selectorId, final String path) {
+        final MemorySafeWindowTinyLFUMap<String, VersionedRuleData> lruMap = ruleDataMap;
+        final VersionedRuleData cached = Objects.isNull(selectorId) || Objects.isNull(lruMap) ? null : lruMap.get(ruleKey(selectorId, path));
+        if (Objects.isNull(cached) || isStale(selectorId, cached.version)) {
+            RULE_MISS_COUNT.increment();
+            return null;
+        }
+        RULE_HIT_COUNT.increment();
+        return cached.ruleData;
+    }
+
+    /**
+     * Remove the rule data of the selector, its entries are stale from now on and age out of the map.
+     *
+     * @param selectorId the selector id
+     */
+    public void removeRuleData(final String selectorId) {
+        final long version = RULE_VERSION.incrementAndGet();
+        Optional.ofNullable(selectorId).ifPresent(id -> SELECTOR_INVALIDATED_VERSION.put(id, version));
+    }
+
+    /**
+     * Remove the rule data of a deleted selector, its entries are dropped together with its invalidated version.
+     * the rules of a selector added again with the same id invalidate it again when they are synced.
+     *
+     * @param selectorId the selector id
+     */
+    public void removeSelectorRuleData(final String selectorId) {
+        if (Objects.isNull(selectorId)) {
+            return;
+        }
+        final String keyPrefix = ruleKey(selectorId, "");
+        Optional.ofNullable(ruleDataMap).ifPresent(lruMap -> lruMap.keySet().removeIf(key -> key.startsWith(keyPrefix)));
+        SELECTOR_INVALIDATED_VERSION.remove(selectorId);
+    }
+
+    /**
+     * Clean rule data.
+     */
+    public void cleanRuleData() {
+        cleanedVersion = RULE_VERSION.incrementAndGet();
+        SELECTOR_INVALIDATED_VERSION.clear();
+        Optional.ofNullable(ruleDataMap).ifPresent(Map::clear);
+    }
+
+    /**
+     * Get the hit count of the rule cache.
+     *
+     * @return the hit count
+     */
+    public long getRuleHitCount() {
+        return RULE_HIT_COUNT.sum();
+    }
+
+    /**
+     * Get the miss count of the rule cache.
+     *
+     * @return the miss count
+     */
+    public long getRuleMissCount() {
+        return RULE_MISS_COUNT.sum();
+    }
+
+    /**
+     * Get the eviction count of the rule cache.
+     *
+     * @return the eviction count
+     */
+    public long getRuleEvictionCount() {
+        return Optional.ofNullable(ruleDataMap).map(MemorySafeWindowTinyLFUMap::evictionCount).orElse(0L);
+    }
+
+    private MemorySafeWindowTinyLFUMap<String, VersionedRuleData> obtainRuleDataMap(final Integer maxMemory) {
+        MemorySafeWindowTinyLFUMap<String, VersionedRuleData> lruMap = ruleDataMap;
+        if (Objects.isNull(lruMap)) {
+            synchronized (this) {
+                lruMap = ruleDataMap;
+                if (Objects.isNull(lruMap)) {
+                    lruMap = new MemorySafeWindowTinyLFUMap<>(maxMemory, RULE_MAP_INITIAL_SIZE);
+                    ruleDataMap = lruMap;
+                }
+            }
+        }
+        return lruMap;
+    }
+
+    private static boolean isStale(final String selectorId, final long ruleVersion) {
+        return ruleVersion < cleanedVersion || ruleVersion < SELECTOR_INVALIDATED_VERSION.getOrDefault(selectorId, 0L);
+    }
+
+    private static String ruleKey(final String selectorId, final String path) {
+        return selectorId + "_" + path;
+    }
+
+    /**
+     * The rule data with the rule version it was matched at.
+     */
+    private static final class VersionedRuleData {
+
+        private final RuleData ruleData;
+
+        private final long version;
+
+        VersionedRuleData(final RuleData ruleData, final long version) {
+            this.ruleData = ruleData;
+            this.version = version;
+        }
+    }
 }
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.CompiledCondition;
+import org.apache.shenyu.plugin.base.trie.ShenyuSelectorTrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The immutable routing snapshot of all the plugins.
+ * <p>Every plugin holds its enabled selectors sorted by sort, every selector holds its rules sorted by sort and
+ * the compiled conditions of both. A new snapshot is built when sync delivers changes and published at once,
+ * so a request reads the selectors and the rules of the same version.</p>
+ */
+public final class RouteTable {
+
+    /**
+     * The empty route table.
+     */
+    public static final RouteTable EMPTY = new RouteTable(0L, Collections.emptyMap());
+
+    private final long version;
+
+    private final Map<String, PluginRoute> pluginRoutes;
+
+    private RouteTable(final long version, final Map<String, PluginRoute> pluginRoutes) {
+        this.version = version;
+        this.pluginRoutes = pluginRoutes;
+    }
+
+    /**
+     * Get the version, it is increased on every change.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get all the plugin routes.
+     *
+     * @return pluginName -> plugin route
+     */
+    public Map<String, PluginRoute> getPluginRoutes() {
+        return pluginRoutes;
+    }
+
+    /**
+     * Obtain the route of the plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the plugin route, null if the plugin has no enabled selector
+     */
+    public PluginRoute obtainPluginRoute(final String pluginName) {
+        return pluginRoutes.get(pluginName);
+    }
+
+    /**
+     * Build a new route table with the route of the plugin replaced.
+     *
+     * @param pluginName  the plugin name
+     * @param pluginRoute the plugin route, null removes the plugin
+     * @return the new route table
+     */
+    public RouteTable putPluginRoute(final String pluginName, final PluginRoute pluginRoute) {
+        Map<String, PluginRoute> routes = new HashMap<>(pluginRoutes);
+        if (Objects.isNull(pluginRoute)) {
+            routes.remove(pluginName);
+        } else {
+            routes.put(pluginName, pluginRoute);
+        }
+        return new RouteTable(version + 1, Collections.unmodifiableMap(routes));
+    }
+
+    /**
+     * Build a new empty route table.
+     *
+     * @return the new route table
+     */
+    public RouteTable clear() {
+        return new RouteTable(version + 1, Collections.emptyMap());
+    }
+
+    /**
+     * The route of a plugin.
+     */
+    public static final class PluginRoute {
+
+        private final SelectorRoute[] selectorRoutes;
+
+        private final Map<String, Integer> selectorIndexes;
+
+        /**
+         * built with the route and published in the same snapshot, so the request path never builds it.
+         */
+        private final ShenyuSelectorTrie selectorTrie;
+
+        /**
+         * Instantiates a new plugin route.
+         *
+         * @param selectorRoutes the routes of the enabled selectors, sorted by sort
+         */
+        public PluginRoute(final List<SelectorRoute> selectorRoutes) {
+            this.selectorRoutes = selectorRoutes.toArray(new SelectorRoute[0]);
+            this.selectorIndexes = new HashMap<>(selectorRoutes.size() * 2);
+            for (int i = 0; i < this.selectorRoutes.length; i++) {
+                selectorIndexes.put(this.selectorRoutes[i].getSelectorData().getId(), i);
+            }
+            this.selectorTrie = new ShenyuSelectorTrie(selectorRoutes.stream().map(SelectorRoute::getSelectorData).collect(Collectors.toList()));
+        }
+
+        private PluginRoute(final SelectorRoute[] selectorRoutes, final Map<String, Integer> selectorIndexes, final ShenyuSelectorTrie selectorTrie) {
+            this.selectorRoutes = selectorRoutes;
+            this.selectorIndexes = selectorIndexes;
+            this.selectorTrie = selectorTrie;
+        }
+
+        /**
+         * Whether the plugin has no enabled selector.
+         *
+         * @return true if it is empty
+         */
+        public boolean isEmpty() {
+            return selectorRoutes.length == 0;
+        }
+
+        /**
+         * Get the selector trie.
+         *
+         * @return the selector trie
+         */
+        public ShenyuSelectorTrie getSelectorTrie() {
+            return selectorTrie;
+        }
+
+        /**
+         * Obtain the route of the selector.
+         *
+         * @param selectorId the selector id
+         * @return the selector route, null if absent
+         */
+        public SelectorRoute obtainSelectorRoute(final String selectorId) {
+            final Integer index = Objects.isNull(selectorId) ? null : selectorIndexes.get(selectorId);
+            return Objects.isNull(index) ? null : selectorRoutes[index];
+        }
+
+        /**
+         * Find the routes of the selectors which may match the path, the conditions still need to be evaluated.
+         * the returned array must not be modified.
+         *
+         * @param path the request path
+         * @return the candidate selector routes, sorted by sort
+         */
+        public SelectorRoute[] match(final String path) {
+            final int[] positions = selectorTrie.matchPositions(path);
+            if (Objects.isNull(positions)) {
+                return selectorRoutes;
+            }
+            SelectorRoute[] candidates = new SelectorRoute[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                candidates[i] = selectorRoutes[positions[i]];
+            }
+            return candidates;
+        }
+
+        /**
+         * Build a new plugin route with the route of the same selector replaced, the selector itself must be unchanged.
+         *
+         * @param selectorRoute the selector route
+         * @return the new plugin route
+         */
+        public PluginRoute replaceSelectorRoute(final SelectorRoute selectorRoute) {
+            final Integer index = selectorIndexes.get(selectorRoute.getSelectorData().getId());
+            if (Objects.isNull(index)) {
+                return this;
+            }
+            SelectorRoute[] routes = Arrays.copyOf(selectorRoutes, selectorRoutes.length);
+            routes[index] = selectorRoute;
+            return new PluginRoute(routes, selectorIndexes, selectorTrie);
+        }
+    }
+
+    /**
+     * The route of a selector.
+     */
+    public static final class SelectorRoute {
+
+        private final SelectorData selectorData;
+
+        private final List<ConditionData> conditionSource;
+
+        private final CompiledCondition[] conditions;
+
+        private final List<RuleData> rules;
+
+        private final RuleRoute[] ruleRoutes;
+
+        private final Map<String, RuleRoute> ruleRouteMap;
+
+        /**
+         * Instantiates a new selector route.
+         *
+         * @param selectorData the selector data
+         * @param rules        all the rules of the selector, sorted by sort
+         */
+        public SelectorRoute(final SelectorData selectorData, final List<RuleData> rules) {
+            this.selectorData = selectorData;
+            this.conditionSource = selectorData.getConditionList();
+            this.conditions = CompiledConditionCache.getInstance().obtainSelectorConditions(selectorData);
+            this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+            this.ruleRouteMap = new HashMap<>(rules.size() * 2);
+            List<RuleRoute> enabledRoutes = new ArrayList<>(rules.size());
+            for (RuleData rule : rules) {
+                if (Boolean.TRUE.equals(rule.getEnabled())) {
+                    RuleRoute ruleRoute = new RuleRoute(rule);
+                    enabledRoutes.add(ruleRoute);
+                    ruleRouteMap.putIfAbsent(rule.getId(), ruleRoute);
+                }
+            }
+            this.ruleRoutes = enabledRoutes.toArray(new RuleRoute[0]);
+        }
+
+        /**
+         * Get the selector data.
+         *
+         * @return the selector data
+         */
+        public SelectorData getSelectorData() {
+            return selectorData;
+        }
+
+        /**
+         * Get the compiled conditions of the selector, they are compiled again only if the condition list was replaced outside of sync.
+         *
+         * @return the compiled conditions
+         */
+        public CompiledCondition[] getConditions() {
+            if (selectorData.getConditionList() == conditionSource) {
+                return conditions;
+            }
+            return CompiledConditionCache.getInstance().obtainSelectorConditions(selectorData);
+        }
+
+        /**
+         * Get all the rules of the selector, including the disabled ones.
+         *
+         * @return the rules sorted by sort
+         */
+        public List<RuleData> getRules() {
+            return rules;
+        }
+
+        /**
+         * Get the routes of the enabled rules, the returned array must not be modified.
+         *
+         * @return the rule routes sorted by sort
+         */
+        public RuleRoute[] getRuleRoutes() {
+            return ruleRoutes;
+        }
+
+        /**
+         * Obtain the routes of the given rules which are enabled in this snapshot.
+         *
+         * @param ruleDataList the rule data list
+         * @return the rule routes
+         */
+        public List<RuleRoute> obtainRuleRoutes(final List<RuleData> ruleDataList) {
+            List<RuleRoute> result = new ArrayList<>(ruleDataList.size());
+            for (RuleData rule : ruleDataList) {
+                RuleRoute ruleRoute = ruleRouteMap.get(rule.getId());
+                if (Objects.nonNull(ruleRoute)) {
+                    result.add(ruleRoute);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The route of a rule.
+     */
+    public static final class RuleRoute {
+
+        private final RuleData ruleData;
+
+        private final List<ConditionData> conditionSource;
+
+        private final CompiledCondition[] conditions;
+
+        /**
+         * Instantiates a new rule route.
+         *
+         * @param ruleData the rule data
+         */
+        public RuleRoute(final RuleData ruleData) {
+            this.ruleData = ruleData;
+            this.conditionSource = ruleData.getConditionDataList();
+            this.conditions = CompiledConditionCache.getInstance().obtainRuleConditions(ruleData);
+        }
+
+        /**
+         * Get the rule data.
+         *
+         * @return the rule data
+         */
+        public RuleData getRuleData() {
+            return ruleData;
+        }
+
+        /**
+         * Get the compiled conditions of the rule, they are compiled again only if the condition list was replaced outside of sync.
+         *
+         * @return the compiled conditions
+         */
+        public CompiledCondition[] getConditions() {
+            if (ruleData.getConditionDataList() == conditionSource) {
+                return conditions;
+            }
+            return CompiledConditionCache.getInstance().obtainRuleConditions(ruleData);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataCache;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The immutable pre-compiled form of {@linkplain ConditionData}.
+ * The parameter data and the predicate judge are resolved, and the parameter value is parsed only once.
+ */
+public final class CompiledCondition {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledCondition.class);
+
+    private final ConditionData conditionData;
+
+    private final String paramType;
+
+    private final String paramName;
+
+    private final boolean cacheable;
+
+    private final String cacheKey;
+
+    private final ParameterData parameterData;
+
+    private final Predicate<String> predicate;
+
+    private CompiledCondition(final ConditionData conditionData, final ParameterData parameterData, final Predicate<String> predicate) {
+        this.conditionData = conditionData;
+        this.paramType = conditionData.getParamType();
+        this.paramName = conditionData.getParamName();
+        this.cacheable = ParameterDataCache.isCacheable(paramType);
+        this.cacheKey = ParameterDataCache.cacheKey(paramType, paramName);
+        this.parameterData = parameterData;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Compile the condition data.
+     * if the condition can not be compiled, it is judged the original way on the request,
+     * and a null condition never matches.
+     *
+     * @param conditionData the condition data
+     * @return the compiled condition
+     */
+    public static CompiledCondition compile(final ConditionData conditionData) {
+        if (Objects.isNull(conditionData)) {
+            return new CompiledCondition(new ConditionData(), new ParameterData() { }, realData -> false);
+        }
+        ParameterData parameterData = null;
+        Predicate<String> predicate;
+        try {
+            parameterData = ParameterDataFactory.newInstance(conditionData.getParamType());
+            predicate = PredicateJudgeFactory.newInstance(conditionData.getOperator()).compile(conditionData);
+        } catch (RuntimeException e) {
+            LOG.warn("compile condition failed, it will be judged on every request, condition: {}", conditionData, e);
+            predicate = realData -> PredicateJudgeFactory.judge(conditionData, realData);
+        }
+        return new CompiledCondition(conditionData, parameterData, predicate);
+    }
+
+    /**
+     * Get the original condition data.
+     *
+     * @return the condition data
+     */
+    public ConditionData getConditionData() {
+        return conditionData;
+    }
+
+    /**
+     * Get param type.
+     *
+     * @return the param type
+     */
+    public String getParamType() {
+        return paramType;
+    }
+
+    /**
+     * Get param name.
+     *
+     * @return the param name
+     */
+    public String getParamName() {
+        return paramName;
+    }
+
+    /**
+     * Build real data from the exchange, the data read from the request is extracted only once per request.
+     *
+     * @param exchange the exchange
+     * @return the real data
+     */
+    public String buildRealData(final ServerWebExchange exchange) {
+        if (!cacheable) {
+            return extractRealData(exchange);
+        }
+        final ParameterDataCache cache = ParameterDataCache.obtain(exchange);
+        String realData = cache.get(cacheKey);
+        if (Objects.isNull(realData)) {
+            realData = extractRealData(exchange);
+            cache.put(cacheKey, realData);
+        }
+        return realData;
+    }
+
+    /**
+     * judge the real data has by pass.
+     *
+     * @param realData the real data
+     * @return is true pass, is false not pass
+     */
+    public boolean test(final String realData) {
+        return StringUtils.isNotBlank(realData) && predicate.test(realData);
+    }
+
+    private String extractRealData(final ServerWebExchange exchange) {
+        if (Objects.isNull(parameterData)) {
+            return ParameterDataFactory.builderData(paramType, paramName, exchange);
+        }
+        return parameterData.builder(paramName, exchange);
+    }
+}
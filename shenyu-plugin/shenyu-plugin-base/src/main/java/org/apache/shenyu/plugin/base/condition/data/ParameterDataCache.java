@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The request scoped cache of parameter data, every plugin in the chain shares one extraction of each request attribute.
+ * The cache is bound to the request of the exchange, and is dropped once a plugin mutates the request.
+ * Only the parameter types read from the request itself are cached, the post type reads the mutable {@code ShenyuContext}.
+ */
+public final class ParameterDataCache {
+
+    private static final Set<String> CACHEABLE_TYPES = ImmutableSet.of(ParamTypeEnum.URI.getName(), ParamTypeEnum.QUERY.getName(),
+            ParamTypeEnum.HEADER.getName(), ParamTypeEnum.COOKIE.getName(), ParamTypeEnum.IP.getName(), ParamTypeEnum.HOST.getName(),
+            ParamTypeEnum.DOMAIN.getName(), ParamTypeEnum.REQUEST_METHOD.getName());
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private final ServerHttpRequest request;
+
+    private final Map<String, String> dataMap = new HashMap<>(16);
+
+    private ParameterDataCache(final ServerHttpRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Builder data string, the data is extracted only once per request.
+     *
+     * @param paramType the param type
+     * @param paramName the param name
+     * @param exchange  the exchange
+     * @return the string
+     */
+    public static String builderData(final String paramType, final String paramName, final ServerWebExchange exchange) {
+        if (!isCacheable(paramType)) {
+            return ParameterDataFactory.builderData(paramType, paramName, exchange);
+        }
+        final String cacheKey = cacheKey(paramType, paramName);
+        final ParameterDataCache cache = obtain(exchange);
+        String realData = cache.get(cacheKey);
+        if (Objects.isNull(realData)) {
+            realData = ParameterDataFactory.builderData(paramType, paramName, exchange);
+            cache.put(cacheKey, realData);
+        }
+        return realData;
+    }
+
+    /**
+     * Obtain the cache of the current request, it is stored once on the exchange.
+     *
+     * @param exchange the exchange
+     * @return the parameter data cache
+     */
+    public static ParameterDataCache obtain(final ServerWebExchange exchange) {
+        final ServerHttpRequest currentRequest = exchange.getRequest();
+        ParameterDataCache cache = exchange.getAttribute(Constants.PARAMETER_DATA_CACHE);
+        if (Objects.isNull(cache) || cache.request != currentRequest) {
+            cache = new ParameterDataCache(currentRequest);
+            exchange.getAttributes().put(Constants.PARAMETER_DATA_CACHE, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Whether the param type can be cached for the request.
+     *
+     * @param paramType the param type
+     * @return true if it can be cached
+     */
+    public static boolean isCacheable(final String paramType) {
+        return Objects.nonNull(paramType) && CACHEABLE_TYPES.contains(paramType);
+    }
+
+    /**
+     * Build the cache key of the parameter.
+     *
+     * @param paramType the param type
+     * @param paramName the param name
+     * @return the cache key
+     */
+    public static String cacheKey(final String paramType, final String paramName) {
+        return paramType + KEY_SEPARATOR + paramName;
+    }
+
+    /**
+     * Get the cached data.
+     *
+     * @param cacheKey the cache key
+     * @return the data, null if absent
+     */
+    public String get(final String cacheKey) {
+        return dataMap.get(cacheKey);
+    }
+
+    /**
+     * Cache the data, null data is not cached.
+     *
+     * @param cacheKey the cache key
+     * @param realData the data
+     */
+    public void put(final String cacheKey, final String realData) {
+        if (Objects.nonNull(realData)) {
+            dataMap.put(cacheKey, realData);
+        }
+    }
+}
@@ -17,21 +17,45 @@
 
 package org.apache.shenyu.plugin.base.condition.data;
 
+import com.google.common.collect.ImmutableMap;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.utils.ReflectUtils;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.spi.Join;
 import org.springframework.web.server.ServerWebExchange;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * The type Post parameter data.
  */
 @Join
 public class PostParameterData implements ParameterData {
+
+    /**
+     * field name -> accessor, the fields of {@linkplain ShenyuContext} are read without reflection.
+     */
+    private static final Map<String, Function<ShenyuContext, Object>> ACCESSOR_MAP = ImmutableMap.<String, Function<ShenyuContext, Object>>builder()
+            .put("module", ShenyuContext::getModule)
+            .put("method", ShenyuContext::getMethod)
+            .put("rpcType", ShenyuContext::getRpcType)
+            .put("httpMethod", ShenyuContext::getHttpMethod)
+            .put("path", ShenyuContext::getPath)
+            .put("contextPath", ShenyuContext::getContextPath)
+            .put("realUrl", ShenyuContext::getRealUrl)
+            .put("startDateTime", ShenyuContext::getStartDateTime)
+            .build();
     
     @Override
     public String builder(final String paramName, final ServerWebExchange exchange) {
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
-        return (String) ReflectUtils.getFieldValue(shenyuContext, paramName);
+        Function<ShenyuContext, Object> accessor = Objects.isNull(paramName) ? null : ACCESSOR_MAP.get(paramName);
+        if (Objects.isNull(shenyuContext) || Objects.isNull(accessor)) {
+            // the fields without getter are still read by reflection
+            return (String) ReflectUtils.getFieldValue(shenyuContext, paramName);
+        }
+        return (String) accessor.apply(shenyuContext);
     }
 }
@@ -20,6 +20,8 @@ package org.apache.shenyu.plugin.base.condition.judge;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.Join;
 
+import java.util.function.Predicate;
+
 /**
  * Ends with predicate judge.
  */
@@ -30,4 +32,10 @@ public class EndsWithPredicateJudge implements PredicateJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return realData.endsWith(conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final String paramValue = conditionData.getParamValue().trim();
+        return realData -> realData.endsWith(paramValue);
+    }
 }
@@ -21,6 +21,7 @@ import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.Join;
 
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Equals predicate judge.
@@ -32,4 +33,10 @@ public class EqualsPredicateJudge implements PredicateJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return Objects.equals(realData, conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final String paramValue = conditionData.getParamValue().trim();
+        return realData -> Objects.equals(realData, paramValue);
+    }
 }
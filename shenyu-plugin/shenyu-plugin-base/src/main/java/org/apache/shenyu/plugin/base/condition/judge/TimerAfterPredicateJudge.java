@@ -23,6 +23,7 @@ import org.apache.shenyu.spi.Join;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Timer after predicate judge.
@@ -38,4 +39,13 @@ public class TimerAfterPredicateJudge implements PredicateJudge {
         }
         return DateUtils.parseLocalDateTime(realData).isAfter(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final LocalDateTime paramTime = DateUtils.parseLocalDateTime(conditionData.getParamValue().trim());
+        if (Objects.isNull(conditionData.getParamName())) {
+            return realData -> LocalDateTime.now().isAfter(paramTime);
+        }
+        return realData -> DateUtils.parseLocalDateTime(realData).isAfter(paramTime);
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.shenyu.spi.Join;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.function.Predicate;
 
 /**
  * Timer before predicate judge.
@@ -38,4 +39,13 @@ public class TimerBeforePredicateJudge implements PredicateJudge {
         }
         return DateUtils.parseLocalDateTime(realData).isBefore(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final LocalDateTime paramTime = DateUtils.parseLocalDateTime(conditionData.getParamValue().trim());
+        if (!StringUtils.hasLength(conditionData.getParamName())) {
+            return realData -> LocalDateTime.now().isBefore(paramTime);
+        }
+        return realData -> DateUtils.parseLocalDateTime(realData).isBefore(paramTime);
+    }
 }
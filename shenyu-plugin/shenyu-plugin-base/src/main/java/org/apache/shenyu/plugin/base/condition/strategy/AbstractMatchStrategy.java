@@ -18,7 +18,8 @@
 package org.apache.shenyu.plugin.base.condition.strategy;
 
 import org.apache.shenyu.common.dto.ConditionData;
-import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.CompiledCondition;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataCache;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -34,6 +35,17 @@ public abstract class AbstractMatchStrategy {
      * @return the string
      */
     public String buildRealData(final ConditionData condition, final ServerWebExchange exchange) {
-        return ParameterDataFactory.builderData(condition.getParamType(), condition.getParamName(), exchange);
+        return ParameterDataCache.builderData(condition.getParamType(), condition.getParamName(), exchange);
+    }
+
+    /**
+     * Build real data string.
+     *
+     * @param condition the compiled condition
+     * @param exchange  the exchange
+     * @return the string
+     */
+    public String buildRealData(final CompiledCondition condition, final ServerWebExchange exchange) {
+        return condition.buildRealData(exchange);
     }
 }
@@ -18,10 +18,13 @@
 package org.apache.shenyu.plugin.base.condition.strategy;
 
 import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.CompiledCondition;
 import org.apache.shenyu.spi.SPI;
 import org.springframework.web.server.ServerWebExchange;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * This is condition strategy.
@@ -37,4 +40,15 @@ public interface MatchStrategy {
      * @return true is match , false is not match.
      */
     Boolean match(List<ConditionData> conditionDataList, ServerWebExchange exchange);
+
+    /**
+     * this is pre-compiled condition match.
+     *
+     * @param conditions the compiled conditions.
+     * @param exchange   {@linkplain ServerWebExchange}
+     * @return true is match , false is not match.
+     */
+    default Boolean match(final CompiledCondition[] conditions, final ServerWebExchange exchange) {
+        return match(Arrays.stream(conditions).map(CompiledCondition::getConditionData).collect(Collectors.toList()), exchange);
+    }
 }
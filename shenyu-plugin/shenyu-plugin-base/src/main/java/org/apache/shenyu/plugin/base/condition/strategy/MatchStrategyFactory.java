@@ -17,17 +17,25 @@
 
 package org.apache.shenyu.plugin.base.condition.strategy;
 
+import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.plugin.base.condition.CompiledCondition;
 import org.apache.shenyu.spi.ExtensionLoader;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * MatchStrategyFactory.
  */
 public final class MatchStrategyFactory {
+
+    /**
+     * strategy code -> MatchStrategy.
+     */
+    private static final ConcurrentMap<Integer, MatchStrategy> STRATEGY_MAP = Maps.newConcurrentMap();
     
     private MatchStrategyFactory() {
     }
@@ -54,4 +62,16 @@ public final class MatchStrategyFactory {
     public static boolean match(final Integer strategy, final List<ConditionData> conditionDataList, final ServerWebExchange exchange) {
         return newInstance(strategy).match(conditionDataList, exchange);
     }
+    
+    /**
+     * Match boolean with the pre-compiled conditions, the match strategy is resolved once per strategy code.
+     *
+     * @param strategy the strategy
+     * @param conditions the compiled conditions
+     * @param exchange the exchange
+     * @return the boolean
+     */
+    public static boolean match(final Integer strategy, final CompiledCondition[] conditions, final ServerWebExchange exchange) {
+        return STRATEGY_MAP.computeIfAbsent(strategy, MatchStrategyFactory::newInstance).match(conditions, exchange);
+    }
 }
@@ -0,0 +1,360 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.enums.TrieMatchModeEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The compact shenyu trie.
+ * <p>Nodes keep their children in sorted arrays and their rules in a plain map instead of caffeine caches,
+ * every change replaces them copy on write, so matching is lock free.
+ * The path is scanned by index, segments are never split out of it.
+ * The matching rules are the same as {@linkplain ShenyuTrie}, the nodes themselves are not exposed.</p>
+ */
+public class CompactShenyuTrie implements ShenyuRuleTrie {
+
+    private static final String WILDCARD = "*";
+
+    private static final String MATCH_ALL = "**";
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private final String matchMode;
+
+    private volatile CompactNode root = new CompactNode(PATH_SEPARATOR + "");
+
+    public CompactShenyuTrie(final String matchMode) {
+        this.matchMode = matchMode;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.root = new CompactNode(PATH_SEPARATOR + "");
+    }
+
+    @Override
+    public boolean isEmpty() {
+        final CompactNode node = this.root;
+        return node.children.keys.length == 0 && node.variableChildren.keys.length == 0 && Objects.isNull(node.variableNode);
+    }
+
+    @Override
+    public synchronized void putNode(final String uriPath, final RuleData ruleData, final Object bizInfo) {
+        if (StringUtils.isBlank(uriPath)) {
+            return;
+        }
+        final String[] pathParts = StringUtils.split(uriPath, PATH_SEPARATOR);
+        if (pathParts.length == 0) {
+            return;
+        }
+        CompactNode node = root;
+        for (int i = 0; i < pathParts.length; i++) {
+            node = putChild(node, pathParts[i], i == pathParts.length - 1);
+        }
+        node.fullPath = uriPath;
+        node.bizInfo = bizInfo;
+        node.endOfPath = true;
+        final List<RuleData> ruleDataList = new ArrayList<>(node.pathRules.getOrDefault(ruleData.getSelectorId(), Collections.emptyList()));
+        ruleDataList.removeIf(rule -> Objects.equals(rule.getId(), ruleData.getId()));
+        ruleDataList.add(ruleData);
+        ruleDataList.sort(Comparator.comparing(RuleData::getSort));
+        final Map<String, List<RuleData>> pathRules = new HashMap<>(node.pathRules);
+        pathRules.put(ruleData.getSelectorId(), Collections.unmodifiableList(ruleDataList));
+        node.pathRules = pathRules;
+    }
+
+    /**
+     * insert the child the same way as {@linkplain ShenyuTrie}.
+     *
+     * @param node      the parent node
+     * @param segment   the segment
+     * @param isPathEnd whether the segment is the last one
+     * @return the child node
+     */
+    private CompactNode putChild(final CompactNode node, final String segment, final boolean isPathEnd) {
+        final boolean pathPattern = TrieMatchModeEvent.PATH_PATTERN.getMatchMode().equals(matchMode);
+        final boolean antPathMatch = TrieMatchModeEvent.ANT_PATH_MATCH.getMatchMode().equals(matchMode);
+        if ((pathPattern || antPathMatch && isPathEnd) && (MATCH_ALL.equals(segment) || WILDCARD.equals(segment))) {
+            return putChild(node, segment, true, false);
+        }
+        if (isPathVariable(segment)) {
+            return putChild(node, segment, false, true);
+        }
+        return putChild(node, segment, false, false);
+    }
+
+    private CompactNode putChild(final CompactNode node, final String segment, final boolean endOfPath, final boolean variable) {
+        final Children children = variable ? node.variableChildren : node.children;
+        final int index = children.indexOf(segment, 0, segment.length());
+        if (index >= 0) {
+            return children.nodes[index];
+        }
+        final CompactNode child = new CompactNode(segment);
+        child.endOfPath = endOfPath;
+        if (variable) {
+            node.variableChildren = children.insert(-index - 1, segment, child);
+            node.variableNode = child;
+        } else {
+            node.childrenCreated = true;
+            node.children = children.insert(-index - 1, segment, child);
+        }
+        return child;
+    }
+
+    /**
+     * Match the rules of the selector, the path is walked the same way as {@linkplain ShenyuTrie#matchRules(String, String)}.
+     *
+     * @param uriPath    uri path
+     * @param selectorId selector id
+     * @return the matched rules, null if no node matches
+     */
+    @Override
+    public List<RuleData> matchRules(final String uriPath, final String selectorId) {
+        Objects.requireNonNull(selectorId);
+        if (StringUtils.isEmpty(uriPath)) {
+            return null;
+        }
+        final int length = uriPath.length();
+        int start = skipSeparator(uriPath, 0);
+        CompactNode node = root;
+        while (start < length) {
+            int end = uriPath.indexOf(PATH_SEPARATOR, start);
+            end = end < 0 ? length : end;
+            node = matchNode(node, uriPath, start, end);
+            if (Objects.isNull(node)) {
+                return null;
+            }
+            start = skipSeparator(uriPath, end);
+            if (node.childrenCreated && !node.endOfPath) {
+                continue;
+            }
+            final List<RuleData> ruleDataList = node.pathRules.get(selectorId);
+            if (Objects.nonNull(ruleDataList) && !ruleDataList.isEmpty()
+                    && (start >= length || node.endOfPath && MATCH_ALL.equals(node.segment))) {
+                return ruleDataList;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * match node, priority: path > * > ** > pathVariableNode.
+     */
+    private static CompactNode matchNode(final CompactNode node, final String path, final int start, final int end) {
+        final Children children = node.children;
+        int index = children.indexOf(path, start, end);
+        if (index >= 0) {
+            return children.nodes[index];
+        }
+        index = children.indexOf(WILDCARD, 0, WILDCARD.length());
+        if (index >= 0) {
+            return children.nodes[index];
+        }
+        index = children.indexOf(MATCH_ALL, 0, MATCH_ALL.length());
+        if (index >= 0) {
+            return children.nodes[index];
+        }
+        return node.variableNode;
+    }
+
+    @Override
+    public synchronized void remove(final String path, final String selectorId, final String ruleId) {
+        if (StringUtils.isBlank(path)) {
+            return;
+        }
+        final String[] pathParts = StringUtils.split(path, PATH_SEPARATOR);
+        if (pathParts.length == 0) {
+            return;
+        }
+        final CompactNode[] nodes = new CompactNode[pathParts.length + 1];
+        nodes[0] = root;
+        for (int i = 0; i < pathParts.length; i++) {
+            final String segment = pathParts[i];
+            final Children children = isPathVariable(segment) ? nodes[i].variableChildren : nodes[i].children;
+            final int index = children.indexOf(segment, 0, segment.length());
+            if (index < 0) {
+                return;
+            }
+            nodes[i + 1] = children.nodes[index];
+        }
+        final CompactNode node = nodes[pathParts.length];
+        final List<RuleData> ruleDataList = node.pathRules.get(selectorId);
+        if (Objects.isNull(ruleDataList)) {
+            return;
+        }
+        final List<RuleData> remainRules = new ArrayList<>(ruleDataList);
+        remainRules.removeIf(rule -> Objects.equals(rule.getId(), ruleId));
+        final Map<String, List<RuleData>> pathRules = new HashMap<>(node.pathRules);
+        if (remainRules.isEmpty()) {
+            pathRules.remove(selectorId);
+        } else {
+            pathRules.put(selectorId, Collections.unmodifiableList(remainRules));
+        }
+        node.pathRules = pathRules;
+        // prune the nodes left without rules and children, from the leaf up
+        for (int i = pathParts.length; i > 0; i--) {
+            final CompactNode current = nodes[i];
+            if (!current.pathRules.isEmpty() || current.children.keys.length > 0 || current.variableChildren.keys.length > 0) {
+                return;
+            }
+            final CompactNode parent = nodes[i - 1];
+            final String segment = pathParts[i - 1];
+            if (isPathVariable(segment)) {
+                parent.variableChildren = parent.variableChildren.remove(segment);
+                if (parent.variableNode == current) {
+                    parent.variableNode = null;
+                }
+            } else {
+                parent.children = parent.children.remove(segment);
+            }
+        }
+    }
+
+    private static int skipSeparator(final String path, final int from) {
+        int index = from;
+        while (index < path.length() && path.charAt(index) == PATH_SEPARATOR) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isPathVariable(final String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    private static final class CompactNode {
+
+        private final String segment;
+
+        private volatile Children children = Children.EMPTY;
+
+        private volatile Children variableChildren = Children.EMPTY;
+
+        /**
+         * the latest inserted path variable child, it is the one matched as in {@linkplain ShenyuTrie}.
+         */
+        private volatile CompactNode variableNode;
+
+        /**
+         * whether a child was ever put, the children cache of {@linkplain ShenyuTrie} is never dropped either.
+         */
+        private volatile boolean childrenCreated;
+
+        private volatile boolean endOfPath;
+
+        private volatile String fullPath;
+
+        private volatile Object bizInfo;
+
+        /**
+         * selectorId -> rules, never modified once published.
+         */
+        private volatile Map<String, List<RuleData>> pathRules = Collections.emptyMap();
+
+        CompactNode(final String segment) {
+            this.segment = segment;
+        }
+    }
+
+    /**
+     * the immutable sorted children of a node.
+     */
+    private static final class Children {
+
+        private static final Children EMPTY = new Children(new String[0], new CompactNode[0]);
+
+        private final String[] keys;
+
+        private final CompactNode[] nodes;
+
+        Children(final String[] keys, final CompactNode[] nodes) {
+            this.keys = keys;
+            this.nodes = nodes;
+        }
+
+        /**
+         * binary search the key equal to the region of the path.
+         *
+         * @return the index, or (-(insertion point) - 1) if absent
+         */
+        int indexOf(final String path, final int start, final int end) {
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final int cmp = compare(keys[mid], path, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        Children insert(final int index, final String key, final CompactNode node) {
+            final String[] newKeys = new String[keys.length + 1];
+            final CompactNode[] newNodes = new CompactNode[nodes.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(nodes, 0, newNodes, 0, index);
+            newKeys[index] = key;
+            newNodes[index] = node;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(nodes, index, newNodes, index + 1, nodes.length - index);
+            return new Children(newKeys, newNodes);
+        }
+
+        Children remove(final String key) {
+            final int index = indexOf(key, 0, key.length());
+            if (index < 0) {
+                return this;
+            }
+            final String[] newKeys = Arrays.copyOf(keys, keys.length - 1);
+            final CompactNode[] newNodes = Arrays.copyOf(nodes, nodes.length - 1);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(nodes, index + 1, newNodes, index, nodes.length - index - 1);
+            return new Children(newKeys, newNodes);
+        }
+
+        private static int compare(final String key, final String path, final int start, final int end) {
+            final int length = end - start;
+            final int min = Math.min(key.length(), length);
+            for (int i = 0; i < min; i++) {
+                final char c1 = key.charAt(i);
+                final char c2 = path.charAt(start + i);
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+            }
+            return key.length() - length;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.shenyu.common.dto.RuleData;
+
+import java.util.List;
+
+/**
+ * The rule trie, indexes the rules of the selectors by their uri paths.
+ * <p>Implemented by {@linkplain ShenyuTrie} and {@linkplain CompactShenyuTrie},
+ * the one in use is chosen by {@code shenyu.trie.compactEnabled}.</p>
+ */
+public interface ShenyuRuleTrie {
+
+    /**
+     * clear the trie.
+     */
+    void clear();
+
+    /**
+     * judge the trie is empty.
+     *
+     * @return status
+     */
+    boolean isEmpty();
+
+    /**
+     * put node to trie.
+     *
+     * @param uriPath uri path
+     * @param ruleData rule data
+     * @param bizInfo biz info
+     */
+    void putNode(String uriPath, RuleData ruleData, Object bizInfo);
+
+    /**
+     * match the rules of the selector, trie exist and match the path will return the rules of current node.
+     *
+     * @param uriPath uri path
+     * @param selectorId selectorId
+     * @return the rules sorted by sort, null if not matched
+     */
+    List<RuleData> matchRules(String uriPath, String selectorId);
+
+    /**
+     * remove the rule of the selector from the node of the path.
+     *
+     * @param path path
+     * @param selectorId selectorId
+     * @param ruleId ruleId
+     */
+    void remove(String path, String selectorId, String ruleId);
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Selector level trie of a plugin.
+ * <p>Selectors whose uri conditions must all hold (and mode, custom flow) are indexed by the literal leading
+ * segments of their uri condition, every other selector stays on the root node. {@link #match(String)} returns
+ * a superset of the selectors which can match the path, in the same order as the selector list of the plugin,
+ * so the conditions of the candidates still need to be evaluated.</p>
+ */
+public final class ShenyuSelectorTrie {
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private static final char PATH_PARAM_SEPARATOR = ';';
+
+    private static final String EQUALS_OPERATOR = "equals";
+
+    private final List<SelectorData> selectors;
+
+    private final SelectorNode root = new SelectorNode();
+
+    /**
+     * Instantiates a new selector trie.
+     *
+     * @param selectors the selectors of the plugin, sorted by sort
+     */
+    public ShenyuSelectorTrie(final List<SelectorData> selectors) {
+        this.selectors = Objects.isNull(selectors) ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(selectors));
+        for (int i = 0; i < this.selectors.size(); i++) {
+            SelectorData selector = this.selectors.get(i);
+            if (Boolean.FALSE.equals(selector.getEnabled())) {
+                continue;
+            }
+            SelectorNode node = root;
+            for (String segment : indexSegments(selector)) {
+                node = node.children.computeIfAbsent(segment, key -> new SelectorNode());
+            }
+            node.positionList.add(i);
+        }
+        root.freeze();
+    }
+
+    /**
+     * Get all the selectors of the trie.
+     *
+     * @return the selectors
+     */
+    public List<SelectorData> getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Find the selectors which may match the path.
+     *
+     * @param path the request path
+     * @return the candidate selectors, in the order of the selector list
+     */
+    public List<SelectorData> match(final String path) {
+        final int[] positions = matchPositions(path);
+        if (Objects.isNull(positions)) {
+            return selectors;
+        }
+        List<SelectorData> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(selectors.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Find the positions of the selectors which may match the path.
+     *
+     * @param path the request path
+     * @return the ascending positions in the selector list, null means every selector may match
+     */
+    public int[] matchPositions(final String path) {
+        // the path pattern matcher decodes the path once more, the literal segments can not be compared directly
+        if (Objects.isNull(path) || root.children.isEmpty() || path.indexOf('%') >= 0) {
+            return null;
+        }
+        List<int[]> hits = new ArrayList<>();
+        int total = collect(root, hits, 0);
+        SelectorNode node = root;
+        int index = 0;
+        final int length = path.length();
+        while (index < length && !node.children.isEmpty()) {
+            if (path.charAt(index) == PATH_SEPARATOR) {
+                index++;
+                continue;
+            }
+            int end = path.indexOf(PATH_SEPARATOR, index);
+            end = end < 0 ? length : end;
+            node = node.children.get(path.substring(index, segmentEnd(path, index, end)));
+            if (Objects.isNull(node)) {
+                break;
+            }
+            total = collect(node, hits, total);
+            index = end;
+        }
+        if (total == selectors.size()) {
+            return null;
+        }
+        int[] positions = new int[total];
+        int offset = 0;
+        for (int[] hit : hits) {
+            System.arraycopy(hit, 0, positions, offset, hit.length);
+            offset += hit.length;
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    private static int collect(final SelectorNode node, final List<int[]> hits, final int total) {
+        if (node.positions.length == 0) {
+            return total;
+        }
+        hits.add(node.positions);
+        return total + node.positions.length;
+    }
+
+    /**
+     * the segments used to index the selector, empty means the selector is kept on the root node.
+     *
+     * @param selector the selector
+     * @return the literal leading segments of the most selective uri condition
+     */
+    private static List<String> indexSegments(final SelectorData selector) {
+        if (!Boolean.TRUE.equals(selector.getEnabled())
+                || !Objects.equals(SelectorTypeEnum.CUSTOM_FLOW.getCode(), selector.getType())
+                || Objects.isNull(selector.getMatchMode()) || MatchModeEnum.match(selector.getMatchMode(), MatchModeEnum.OR)
+                || CollectionUtils.isEmpty(selector.getConditionList())) {
+            return Collections.emptyList();
+        }
+        List<String> best = Collections.emptyList();
+        for (ConditionData condition : selector.getConditionList()) {
+            List<String> segments = literalSegments(condition);
+            if (segments.size() > best.size()) {
+                best = segments;
+            }
+        }
+        return best;
+    }
+
+    private static List<String> literalSegments(final ConditionData condition) {
+        if (Objects.isNull(condition) || !ParamTypeEnum.URI.getName().equals(condition.getParamType())
+                || Objects.isNull(condition.getParamValue())) {
+            return Collections.emptyList();
+        }
+        final String value = condition.getParamValue().trim();
+        final String operator = condition.getOperator();
+        if (OperatorEnum.STARTS_WITH.getAlias().equals(operator)) {
+            // the last segment of a prefix may be only a part of the real segment
+            return splitSegments(value.substring(0, value.lastIndexOf(PATH_SEPARATOR) + 1), false);
+        }
+        if (OperatorEnum.EQ.getAlias().equals(operator) || EQUALS_OPERATOR.equals(operator)) {
+            return splitSegments(value, false);
+        }
+        if (OperatorEnum.MATCH.getAlias().equals(operator) || OperatorEnum.PATH_PATTERN.getAlias().equals(operator)) {
+            return splitSegments(value, true);
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<String> splitSegments(final String value, final boolean stopAtPattern) {
+        List<String> segments = new ArrayList<>();
+        int index = 0;
+        final int length = value.length();
+        while (index < length) {
+            if (value.charAt(index) == PATH_SEPARATOR) {
+                index++;
+                continue;
+            }
+            int end = value.indexOf(PATH_SEPARATOR, index);
+            end = end < 0 ? length : end;
+            String segment = value.substring(index, segmentEnd(value, index, end));
+            if (stopAtPattern && isPatternSegment(segment)) {
+                break;
+            }
+            segments.add(segment);
+            index = end;
+        }
+        return segments;
+    }
+
+    /**
+     * the end of the segment without path parameters, path pattern ignores them when matching.
+     *
+     * @param path  the path
+     * @param start the start of the segment
+     * @param end   the end of the segment
+     * @return the end index
+     */
+    private static int segmentEnd(final String path, final int start, final int end) {
+        int paramIndex = path.indexOf(PATH_PARAM_SEPARATOR, start);
+        return paramIndex >= 0 && paramIndex < end ? paramIndex : end;
+    }
+
+    private static boolean isPatternSegment(final String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static final class SelectorNode {
+
+        private final Map<String, SelectorNode> children = new HashMap<>();
+
+        private List<Integer> positionList = new ArrayList<>();
+
+        private int[] positions;
+
+        private void freeze() {
+            positions = positionList.stream().mapToInt(Integer::intValue).toArray();
+            positionList = null;
+            children.values().forEach(SelectorNode::freeze);
+        }
+    }
+}
@@ -31,7 +31,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
-public class ShenyuTrie {
+public class ShenyuTrie implements ShenyuRuleTrie {
 
     private static final String WILDCARD = "*";
 
@@ -64,6 +64,7 @@ public class ShenyuTrie {
     /**
      * clear the trie.
      */
+    @Override
     public void clear() {
         cleanup(this.root.getChildren());
         cleanup(this.root.getPathRuleCache());
@@ -76,6 +77,7 @@ public class ShenyuTrie {
      *
      * @return status
      */
+    @Override
     public boolean isEmpty() {
         return this.root.getChildren().estimatedSize() == 0
                 && this.root.getPathVariablesSet().estimatedSize() == 0
@@ -89,6 +91,7 @@ public class ShenyuTrie {
      * @param ruleData rule data
      * @param bizInfo biz info
      */
+    @Override
     public void putNode(final String uriPath, final RuleData ruleData, final Object bizInfo) {
         if (StringUtils.isNotBlank(uriPath)) {
             String strippedPath = StringUtils.strip(uriPath, "/");
@@ -242,6 +245,22 @@ public class ShenyuTrie {
         return null;
     }
     
+    /**
+     * match the rules of the selector, trie exist and match the path will return the rules of current node.
+     *
+     * @param uriPath uri path
+     * @param selectorId selectorId
+     * @return the rules sorted by sort, null if not matched
+     */
+    @Override
+    public List<RuleData> matchRules(final String uriPath, final String selectorId) {
+        ShenyuTrieNode currentNode = match(uriPath, selectorId);
+        if (Objects.isNull(currentNode)) {
+            return null;
+        }
+        return getVal(currentNode.getPathRuleCache(), selectorId);
+    }
+    
     /**
      * match node.
      * <p> priority: path > * > ** > pathVariableNode </p>
@@ -281,6 +300,7 @@ public class ShenyuTrie {
      * @param selectorId selectorId
      * @param ruleId ruleId
      */
+    @Override
     public void remove(final String path, final String selectorId, final String ruleId) {
         if (StringUtils.isNotBlank(path)) {
             String strippedPath = StringUtils.strip(path, "/");
@@ -46,10 +46,10 @@ public class ShenyuTrieRuleListener implements ApplicationListener<RuleTrieEvent
             List<String> uriPaths = filterConditions.stream().map(ConditionData::getParamValue).collect(Collectors.toList());
             switch (eventEnum) {
                 case INSERT:
-                    uriPaths.forEach(path -> SpringBeanUtils.getInstance().getBean(ShenyuTrie.class).putNode(path, ruleData, null));
+                    uriPaths.forEach(path -> SpringBeanUtils.getInstance().getBean(ShenyuRuleTrie.class).putNode(path, ruleData, null));
                     break;
                 case REMOVE:
-                    uriPaths.forEach(path -> SpringBeanUtils.getInstance().getBean(ShenyuTrie.class).remove(path, ruleData.getSelectorId(), ruleData.getId()));
+                    uriPaths.forEach(path -> SpringBeanUtils.getInstance().getBean(ShenyuRuleTrie.class).remove(path, ruleData.getSelectorId(), ruleData.getId()));
                     break;
                 default:
                     throw new IllegalStateException("Unexpected value: " + event.getRuleTrieEvent());
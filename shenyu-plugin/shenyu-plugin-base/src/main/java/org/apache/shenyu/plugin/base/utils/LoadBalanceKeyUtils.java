@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.config.LoadBalanceConfig;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.utils.Singleton;
+import org.springframework.http.HttpCookie;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The load balance key utils.
+ */
+public final class LoadBalanceKeyUtils {
+
+    private static final String HEADER = "header";
+
+    private static final String COOKIE = "cookie";
+
+    private LoadBalanceKeyUtils() {
+    }
+
+    /**
+     * Acquire the key the hash load balancer selects the upstream by, it is the ip unless a header or a cookie is configured.
+     * if the configured header or cookie is absent on the request, the ip is used.
+     *
+     * @param exchange the exchange
+     * @return the hash key
+     */
+    public static String acquireHashKey(final ServerWebExchange exchange) {
+        final LoadBalanceConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class))
+                .map(ShenyuConfig::getLoadBalance).orElse(null);
+        if (Objects.nonNull(config) && StringUtils.isNotBlank(config.getHashKeyName())) {
+            String hashKey = null;
+            if (HEADER.equalsIgnoreCase(config.getHashKey())) {
+                hashKey = exchange.getRequest().getHeaders().getFirst(config.getHashKeyName());
+            } else if (COOKIE.equalsIgnoreCase(config.getHashKey())) {
+                hashKey = Optional.ofNullable(exchange.getRequest().getCookies().getFirst(config.getHashKeyName()))
+                        .map(HttpCookie::getValue).orElse(null);
+            }
+            if (StringUtils.isNotEmpty(hashKey)) {
+                return hashKey;
+            }
+        }
+        return Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
+    }
+}
@@ -63,7 +63,27 @@ public class PathMatchUtils {
      * @return the boolean
      */
     public static boolean pathPattern(final String pathPattern, final String realPath) {
-        PathPattern pattern = PathPatternParser.defaultInstance.parse(pathPattern);
-        return pattern.matches(PathContainer.parsePath(realPath));
+        return pathPattern(parsePathPattern(pathPattern), realPath);
+    }
+
+    /**
+     * Path pattern boolean.
+     *
+     * @param pathPattern the parsed path pattern
+     * @param realPath the real path
+     * @return the boolean
+     */
+    public static boolean pathPattern(final PathPattern pathPattern, final String realPath) {
+        return pathPattern.matches(PathContainer.parsePath(realPath));
+    }
+
+    /**
+     * Parse path pattern.
+     *
+     * @param pathPattern the path pattern
+     * @return the parsed path pattern
+     */
+    public static PathPattern parsePathPattern(final String pathPattern) {
+        return PathPatternParser.defaultInstance.parse(pathPattern);
     }
 }
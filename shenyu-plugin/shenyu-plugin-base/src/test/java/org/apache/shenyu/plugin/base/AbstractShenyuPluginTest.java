@@ -27,6 +27,7 @@ import org.apache.shenyu.common.enums.TrieMatchModeEvent;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.trie.ShenyuRuleTrie;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +65,8 @@ public final class AbstractShenyuPluginTest {
 
     private ShenyuPluginChain shenyuPluginChain;
 
+    private ShenyuTrie shenyuTrie;
+
     @BeforeEach
     public void setUp() {
         mockShenyuConfig();
@@ -168,10 +171,32 @@ public final class AbstractShenyuPluginTest {
         verify(testShenyuPlugin).doExecute(exchange, shenyuPluginChain, selectorData, ruleData);
     }
 
+    /**
+     * The rule trie is ahead of the route snapshot test.
+     */
+    @Test
+    public void executeRuleTrieAheadOfSnapshotTest() {
+        List<ConditionData> conditionDataList = Collections.singletonList(conditionData);
+        this.ruleData.setConditionDataList(conditionDataList);
+        this.ruleData.setMatchMode(0);
+        this.selectorData.setMatchMode(0);
+        this.selectorData.setLogged(true);
+        this.selectorData.setConditionList(conditionDataList);
+        BaseDataCache.getInstance().cachePluginData(pluginData);
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
+        BaseDataCache.getInstance().cacheRuleData(ruleData);
+        RuleData removedRuleData = RuleData.builder().id("2").selectorId("1").enabled(true)
+                .matchMode(0).sort(2).conditionDataList(conditionDataList).build();
+        shenyuTrie.putNode("/http/**", removedRuleData, null);
+        StepVerifier.create(testShenyuPlugin.execute(exchange, shenyuPluginChain)).expectSubscription().verifyComplete();
+        verify(testShenyuPlugin).doExecute(exchange, shenyuPluginChain, selectorData, ruleData);
+    }
+
     private void mockShenyuConfig() {
         ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
         when(context.getBean(ShenyuConfig.class)).thenReturn(new ShenyuConfig());
-        when(context.getBean(ShenyuTrie.class)).thenReturn(new ShenyuTrie(100L, 100L, 100L, TrieMatchModeEvent.ANT_PATH_MATCH.getMatchMode()));
+        this.shenyuTrie = new ShenyuTrie(100L, 100L, 100L, TrieMatchModeEvent.ANT_PATH_MATCH.getMatchMode());
+        when(context.getBean(ShenyuRuleTrie.class)).thenReturn(shenyuTrie);
         SpringBeanUtils.getInstance().setApplicationContext(context);
     }
 
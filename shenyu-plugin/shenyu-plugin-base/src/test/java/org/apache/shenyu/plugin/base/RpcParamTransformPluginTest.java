@@ -22,19 +22,31 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -89,6 +101,49 @@ public final class RpcParamTransformPluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
     
+    /**
+     * Test json body read from several buffers.
+     */
+    @Test
+    public void testJsonBodyBuffers() {
+        final String body = "{\"name\":\"中文\",\"id\":1}";
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        // split inside a multi-byte character
+        final Flux<DataBuffer> buffers = Flux.just(bufferFactory.wrap(Arrays.copyOfRange(bytes, 0, 11)),
+                bufferFactory.wrap(Arrays.copyOfRange(bytes, 11, bytes.length)));
+        ServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("localhost").contentType(MediaType.APPLICATION_JSON).body(buffers));
+        Mockito.when(chain.execute(exchange)).thenReturn(Mono.empty());
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType(RpcTypeEnum.DUBBO.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        Mono<Void> result = rpcParamTransformPlugin.execute(exchange, chain);
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        assertEquals(body, exchange.getAttribute(Constants.PARAM_TRANSFORM));
+    }
+    
+    /**
+     * Test json body over the max size.
+     */
+    @Test
+    public void testJsonBodyTooLarge() {
+        ConfigurableApplicationContext applicationContext = mock(ConfigurableApplicationContext.class);
+        Mockito.when(applicationContext.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(applicationContext);
+        final char[] body = new char[1024 * 1024 + 1];
+        Arrays.fill(body, 'a');
+        ServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("localhost").contentType(MediaType.APPLICATION_JSON).body(new String(body)));
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType(RpcTypeEnum.DUBBO.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        Mono<Void> result = new RpcParamTransformPlugin(1).execute(exchange, chain);
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+        assertNull(exchange.getAttribute(Constants.PARAM_TRANSFORM));
+    }
+    
     /**
      * Test format body.
      */
@@ -29,7 +29,10 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test cases for BaseDataCache.
@@ -239,6 +242,68 @@ public final class BaseDataCacheTest {
         assertEquals(Lists.newArrayList(ruleData), ruleDataList);
     }
 
+    @Test
+    public void testObtainRouteTable() {
+        BaseDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanRuleData();
+        SelectorData selectorData = SelectorData.builder().id(mockSelectorId1).pluginName(mockPluginName1).enabled(true).sort(1).build();
+        SelectorData disabledSelectorData = SelectorData.builder().id(mockSelectorId2).pluginName(mockPluginName1).enabled(false).sort(2).build();
+        RuleData firstRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).enabled(true).sort(2).build();
+        final RuleData secondRuleData = RuleData.builder().id("2").selectorId(mockSelectorId1).enabled(false).sort(1).build();
+        BaseDataCache.getInstance().cacheRuleData(firstRuleData);
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
+        BaseDataCache.getInstance().cacheSelectData(disabledSelectorData);
+        RouteTable routeTable = BaseDataCache.getInstance().obtainRouteTable();
+        RouteTable.SelectorRoute selectorRoute = routeTable.obtainPluginRoute(mockPluginName1).obtainSelectorRoute(mockSelectorId1);
+        assertEquals(Lists.newArrayList(firstRuleData), selectorRoute.getRules());
+        assertNull(routeTable.obtainPluginRoute(mockPluginName1).obtainSelectorRoute(mockSelectorId2));
+        assertNotNull(routeTable.obtainPluginRoute(mockPluginName1).getSelectorTrie());
+
+        BaseDataCache.getInstance().cacheRuleData(secondRuleData);
+        RouteTable newRouteTable = BaseDataCache.getInstance().obtainRouteTable();
+        RouteTable.SelectorRoute newSelectorRoute = newRouteTable.obtainPluginRoute(mockPluginName1).obtainSelectorRoute(mockSelectorId1);
+        assertTrue(newRouteTable.getVersion() > routeTable.getVersion());
+        assertEquals(Lists.newArrayList(firstRuleData), selectorRoute.getRules());
+        assertEquals(Lists.newArrayList(secondRuleData, firstRuleData), newSelectorRoute.getRules());
+        assertEquals(1, newSelectorRoute.getRuleRoutes().length);
+
+        BaseDataCache.getInstance().removeSelectData(selectorData);
+        assertNull(BaseDataCache.getInstance().obtainRouteTable().obtainPluginRoute(mockPluginName1));
+        BaseDataCache.getInstance().cleanRuleData();
+    }
+
+    @Test
+    public void testRefreshPluginRouteKeepsUnchangedSelectors() {
+        BaseDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanRuleData();
+        SelectorData selectorData = SelectorData.builder().id(mockSelectorId1).pluginName(mockPluginName1).enabled(true).sort(1).build();
+        RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).enabled(true).sort(1).build();
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
+        BaseDataCache.getInstance().cacheRuleData(ruleData);
+        RouteTable.SelectorRoute selectorRoute = BaseDataCache.getInstance().obtainRouteTable().obtainPluginRoute(mockPluginName1).obtainSelectorRoute(mockSelectorId1);
+
+        SelectorData otherSelectorData = SelectorData.builder().id(mockSelectorId2).pluginName(mockPluginName1).enabled(true).sort(2).build();
+        BaseDataCache.getInstance().cacheSelectData(otherSelectorData);
+        RouteTable.PluginRoute pluginRoute = BaseDataCache.getInstance().obtainRouteTable().obtainPluginRoute(mockPluginName1);
+        assertSame(selectorRoute, pluginRoute.obtainSelectorRoute(mockSelectorId1));
+        assertNotNull(pluginRoute.obtainSelectorRoute(mockSelectorId2));
+
+        BaseDataCache.getInstance().removeSelectData(otherSelectorData);
+        pluginRoute = BaseDataCache.getInstance().obtainRouteTable().obtainPluginRoute(mockPluginName1);
+        assertSame(selectorRoute, pluginRoute.obtainSelectorRoute(mockSelectorId1));
+        assertNull(pluginRoute.obtainSelectorRoute(mockSelectorId2));
+
+        SelectorData updatedSelectorData = SelectorData.builder().id(mockSelectorId1).pluginName(mockPluginName1).enabled(true).sort(1).build();
+        BaseDataCache.getInstance().cacheSelectData(updatedSelectorData);
+        RouteTable.SelectorRoute updatedSelectorRoute = BaseDataCache.getInstance().obtainRouteTable().obtainPluginRoute(mockPluginName1).obtainSelectorRoute(mockSelectorId1);
+        assertNotSame(selectorRoute, updatedSelectorRoute);
+        assertSame(updatedSelectorData, updatedSelectorRoute.getSelectorData());
+        assertEquals(Lists.newArrayList(ruleData), updatedSelectorRoute.getRules());
+
+        BaseDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanRuleData();
+    }
+
     @SuppressWarnings("rawtypes")
     private ConcurrentHashMap getFieldByName(final String name) throws NoSuchFieldException, IllegalAccessException {
         BaseDataCache baseDataCache = BaseDataCache.getInstance();
@@ -18,22 +18,24 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import org.apache.shenyu.common.cache.MemorySafeWindowTinyLFUMap;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SuppressWarnings("unchecked")
 public final class MatchDataCacheTest {
 
     private final String selectorMapStr = "SELECTOR_DATA_MAP";
 
-    private final String ruleMapStr = "RULE_DATA_MAP";
-
     private final String mockPluginName1 = "MOCK_PLUGIN_NAME_1";
 
     private final String path1 = "/http/abc";
@@ -68,6 +70,69 @@ public final class MatchDataCacheTest {
         selectorMap.clear();
     }
 
+    @Test
+    public void testCacheRuleData() throws NoSuchFieldException, IllegalAccessException {
+        RuleData ruleData = RuleData.builder().id("1").selectorId("1").pluginName(mockPluginName1).sort(1).build();
+        MatchDataCache matchDataCache = MatchDataCache.getInstance();
+        final long missCount = matchDataCache.getRuleMissCount();
+        final long hitCount = matchDataCache.getRuleHitCount();
+        assertNull(matchDataCache.obtainRuleData("1", path1));
+        matchDataCache.cacheRuleData(path1, ruleData, 5 * 1024, matchDataCache.obtainRuleVersion());
+        assertEquals(ruleData, matchDataCache.obtainRuleData("1", path1));
+        assertEquals(missCount + 1, matchDataCache.getRuleMissCount());
+        assertEquals(hitCount + 1, matchDataCache.getRuleHitCount());
+        matchDataCache.cleanRuleData();
+    }
+
+    @Test
+    public void testCacheRuleDataWithStaleVersion() throws NoSuchFieldException, IllegalAccessException {
+        RuleData ruleData = RuleData.builder().id("1").selectorId("1").pluginName(mockPluginName1).sort(1).build();
+        MatchDataCache matchDataCache = MatchDataCache.getInstance();
+        long ruleVersion = matchDataCache.obtainRuleVersion();
+        matchDataCache.removeRuleData("1");
+        matchDataCache.cacheRuleData(path1, ruleData, 5 * 1024, ruleVersion);
+        assertNull(matchDataCache.obtainRuleData("1", path1));
+        matchDataCache.cleanRuleData();
+    }
+
+    @Test
+    public void testRemoveSelectorRuleData() throws NoSuchFieldException, IllegalAccessException {
+        RuleData ruleData = RuleData.builder().id("1").selectorId("1").pluginName(mockPluginName1).sort(1).build();
+        RuleData otherRuleData = RuleData.builder().id("2").selectorId("2").pluginName(mockPluginName1).sort(1).build();
+        MatchDataCache matchDataCache = MatchDataCache.getInstance();
+        matchDataCache.cacheRuleData(path1, ruleData, 5 * 1024, matchDataCache.obtainRuleVersion());
+        matchDataCache.cacheRuleData(path1, otherRuleData, 5 * 1024, matchDataCache.obtainRuleVersion());
+        matchDataCache.removeRuleData("1");
+        ConcurrentHashMap<String, Long> invalidatedVersion = getFieldByName("SELECTOR_INVALIDATED_VERSION");
+        assertTrue(invalidatedVersion.containsKey("1"));
+        matchDataCache.removeSelectorRuleData("1");
+        assertFalse(invalidatedVersion.containsKey("1"));
+        assertNull(matchDataCache.obtainRuleData("1", path1));
+        assertEquals(otherRuleData, matchDataCache.obtainRuleData("2", path1));
+        matchDataCache.cleanRuleData();
+    }
+
+    @Test
+    public void testRemoveRuleData() throws NoSuchFieldException, IllegalAccessException {
+        RuleData ruleData = RuleData.builder().id("1").selectorId("1").pluginName(mockPluginName1).sort(1).build();
+        RuleData otherRuleData = RuleData.builder().id("2").selectorId("2").pluginName(mockPluginName1).sort(1).build();
+        MatchDataCache matchDataCache = MatchDataCache.getInstance();
+        matchDataCache.cacheRuleData(path1, ruleData, 5 * 1024, matchDataCache.obtainRuleVersion());
+        matchDataCache.cacheRuleData(path1, otherRuleData, 5 * 1024, matchDataCache.obtainRuleVersion());
+        matchDataCache.removeRuleData("1");
+        assertNull(matchDataCache.obtainRuleData("1", path1));
+        assertEquals(otherRuleData, matchDataCache.obtainRuleData("2", path1));
+        matchDataCache.cleanRuleData();
+        assertNull(matchDataCache.obtainRuleData("2", path1));
+        assertTrue(getRuleDataMap().isEmpty());
+    }
+
+    private Map<?, ?> getRuleDataMap() throws NoSuchFieldException, IllegalAccessException {
+        Field ruleMapField = MatchDataCache.class.getDeclaredField("ruleDataMap");
+        ruleMapField.setAccessible(true);
+        return (Map<?, ?>) ruleMapField.get(MatchDataCache.getInstance());
+    }
+
     @SuppressWarnings("rawtypes")
     private ConcurrentHashMap getFieldByName(final String name) throws NoSuchFieldException, IllegalAccessException {
         MatchDataCache matchDataCache = MatchDataCache.getInstance();
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link CompiledCondition}.
+ */
+public final class CompiledConditionTest {
+
+    private ConditionData conditionData;
+
+    @BeforeEach
+    public void setUp() {
+        conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setParamName("/");
+    }
+
+    @Test
+    public void testBuildRealData() {
+        conditionData.setOperator(OperatorEnum.MATCH.getAlias());
+        conditionData.setParamValue("/http/**");
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test").build());
+        CompiledCondition condition = CompiledCondition.compile(conditionData);
+        assertEquals("/http/test", condition.buildRealData(exchange));
+        assertTrue(condition.test(condition.buildRealData(exchange)));
+    }
+
+    @Test
+    public void testNullCondition() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test").build());
+        CompiledCondition condition = CompiledCondition.compile(null);
+        assertFalse(condition.test(condition.buildRealData(exchange)));
+    }
+
+    @Test
+    public void testRealDataIsBlank() {
+        conditionData.setOperator(OperatorEnum.CONTAINS.getAlias());
+        conditionData.setParamValue("/http/");
+        CompiledCondition condition = CompiledCondition.compile(conditionData);
+        assertFalse(condition.test(null));
+        assertFalse(condition.test(""));
+    }
+
+    @Test
+    public void testRegexCompiled() {
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue(" [/a-zA-Z0-9]+ ");
+        CompiledCondition condition = CompiledCondition.compile(conditionData);
+        assertTrue(condition.test("/http/test"));
+        assertFalse(condition.test("/http?/test"));
+    }
+
+    @Test
+    public void testPathPatternCompiled() {
+        conditionData.setOperator(OperatorEnum.PATH_PATTERN.getAlias());
+        conditionData.setParamValue("/http/{id}/**");
+        CompiledCondition condition = CompiledCondition.compile(conditionData);
+        assertTrue(condition.test("/http/1/test"));
+        assertFalse(condition.test("/http1/1"));
+    }
+
+    @Test
+    public void testInvalidConditionJudgedOnRequest() {
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue("[");
+        CompiledCondition condition = CompiledCondition.compile(conditionData);
+        assertThrows(PatternSyntaxException.class, () -> condition.test("/http/test"));
+    }
+}
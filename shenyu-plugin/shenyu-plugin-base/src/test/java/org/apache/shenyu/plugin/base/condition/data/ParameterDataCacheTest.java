@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link ParameterDataCache}.
+ */
+public final class ParameterDataCacheTest {
+
+    private ServerWebExchange exchange;
+
+    @BeforeEach
+    public void setUp() {
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/uri/path")
+                .header("shenyu", "shenyuHeader")
+                .build());
+    }
+
+    @Test
+    public void testBuilderData() {
+        assertEquals("shenyuHeader", ParameterDataCache.builderData(ParamTypeEnum.HEADER.getName(), "shenyu", exchange));
+        ParameterDataCache cache = exchange.getAttribute(Constants.PARAMETER_DATA_CACHE);
+        assertEquals("shenyuHeader", cache.get(ParameterDataCache.cacheKey(ParamTypeEnum.HEADER.getName(), "shenyu")));
+        assertSame(cache, ParameterDataCache.obtain(exchange));
+    }
+
+    @Test
+    public void testRequestMutated() {
+        assertEquals("shenyuHeader", ParameterDataCache.builderData(ParamTypeEnum.HEADER.getName(), "shenyu", exchange));
+        ParameterDataCache cache = ParameterDataCache.obtain(exchange);
+        ServerWebExchange mutated = exchange.mutate().request(builder -> builder.header("shenyu", "mutated")).build();
+        assertNotSame(cache, ParameterDataCache.obtain(mutated));
+    }
+
+    @Test
+    public void testPostIsNotCached() {
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType("http");
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        assertEquals("http", ParameterDataCache.builderData(ParamTypeEnum.POST.getName(), "rpcType", exchange));
+        context.setRpcType("dubbo");
+        assertEquals("dubbo", ParameterDataCache.builderData(ParamTypeEnum.POST.getName(), "rpcType", exchange));
+        assertFalse(ParameterDataCache.isCacheable(ParamTypeEnum.POST.getName()));
+        assertTrue(ParameterDataCache.isCacheable(ParamTypeEnum.URI.getName()));
+    }
+}
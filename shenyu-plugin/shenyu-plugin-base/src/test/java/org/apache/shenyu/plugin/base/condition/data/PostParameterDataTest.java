@@ -30,6 +30,7 @@ import org.springframework.web.server.ServerWebExchange;
 import java.net.InetSocketAddress;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Test cases for {@link PostParameterData}.
@@ -56,5 +57,7 @@ public final class PostParameterDataTest {
     public void testBuilder() {
         assertEquals("post", this.postParameterData.builder("httpMethod", this.exchange));
         assertEquals("http", this.postParameterData.builder("rpcType", this.exchange));
+        assertNull(this.postParameterData.builder("sign", this.exchange));
+        assertNull(this.postParameterData.builder("unknown", this.exchange));
     }
 }
@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.base.condition.strategy;
 
 import com.google.common.collect.Lists;
 import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.CompiledCondition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -67,4 +68,10 @@ public final class AndMatchStrategyTest {
     public void testMatch() {
         assertTrue(matchStrategy.match(conditionDataList, exchange));
     }
+
+    @Test
+    public void testCompiledMatch() {
+        CompiledCondition[] conditions = conditionDataList.stream().map(CompiledCondition::compile).toArray(CompiledCondition[]::new);
+        assertTrue(matchStrategy.match(conditions, exchange));
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.enums.TrieMatchModeEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class CompactShenyuTrieTest {
+
+    private static final String[] PATTERNS = {"/a/b/c/**", "/a/*/b/c", "/path1/{name}/{age}", "path1/name/age", "/http/order/*", "/http/**", "/x/**/y"};
+
+    private static final String[] PATHS = {"/a/b/c/d/e/f", "/a/m/b/c", "/a/b/c", "/path1/111/222", "/path1/111/222/333", "path1/name/age",
+        "/http/order/save", "/http/order", "/http/test/findAll", "//http//order//save", "/x/z/y", "/x/y", "/none", "/"};
+
+    @Test
+    public void matchRulesAsShenyuTrie() {
+        for (TrieMatchModeEvent matchMode : TrieMatchModeEvent.values()) {
+            ShenyuTrie shenyuTrie = new ShenyuTrie(100L, 100L, 100L, matchMode.getMatchMode());
+            CompactShenyuTrie compactTrie = new CompactShenyuTrie(matchMode.getMatchMode());
+            for (int i = 0; i < PATTERNS.length; i++) {
+                RuleData ruleData = buildRuleData(String.valueOf(i), "1", i);
+                shenyuTrie.putNode(PATTERNS[i], ruleData, null);
+                compactTrie.putNode(PATTERNS[i], ruleData, null);
+            }
+            for (String path : PATHS) {
+                Assertions.assertEquals(shenyuTrie.matchRules(path, "1"), compactTrie.matchRules(path, "1"), matchMode.getMatchMode() + " " + path);
+                Assertions.assertNull(compactTrie.matchRules(path, "2"));
+            }
+        }
+    }
+
+    @Test
+    public void putNodeSortedByRuleSort() {
+        CompactShenyuTrie compactTrie = new CompactShenyuTrie(TrieMatchModeEvent.ANT_PATH_MATCH.getMatchMode());
+        compactTrie.putNode("/a/b", buildRuleData("1", "1", 2), null);
+        compactTrie.putNode("/a/b", buildRuleData("2", "1", 1), null);
+        compactTrie.putNode("/a/b", buildRuleData("1", "1", 3), null);
+        List<RuleData> ruleDataList = compactTrie.matchRules("/a/b", "1");
+        Assertions.assertEquals(2, ruleDataList.size());
+        Assertions.assertEquals("2", ruleDataList.get(0).getId());
+        Assertions.assertEquals(3, ruleDataList.get(1).getSort());
+    }
+
+    @Test
+    public void remove() {
+        CompactShenyuTrie compactTrie = new CompactShenyuTrie(TrieMatchModeEvent.ANT_PATH_MATCH.getMatchMode());
+        compactTrie.putNode("/a/b/c/**", buildRuleData("1", "1", 1), null);
+        compactTrie.putNode("/a/b/c/**", buildRuleData("2", "2", 1), null);
+        compactTrie.putNode("/path/{name}", buildRuleData("3", "1", 1), null);
+        compactTrie.remove("/a/b/c/**", "1", "1");
+        Assertions.assertNull(compactTrie.matchRules("/a/b/c/d", "1"));
+        Assertions.assertNotNull(compactTrie.matchRules("/a/b/c/d", "2"));
+        compactTrie.remove("/a/b/c/**", "2", "2");
+        compactTrie.remove("/path/{name}", "1", "3");
+        Assertions.assertNull(compactTrie.matchRules("/path/test", "1"));
+        Assertions.assertTrue(compactTrie.isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        CompactShenyuTrie compactTrie = new CompactShenyuTrie(TrieMatchModeEvent.PATH_PATTERN.getMatchMode());
+        compactTrie.putNode("/a/**", buildRuleData("1", "1", 1), null);
+        Assertions.assertFalse(compactTrie.isEmpty());
+        compactTrie.clear();
+        Assertions.assertTrue(compactTrie.isEmpty());
+        Assertions.assertNull(compactTrie.matchRules("/a/b", "1"));
+    }
+
+    private static RuleData buildRuleData(final String id, final String selectorId, final int sort) {
+        return RuleData.builder()
+                .id(id)
+                .pluginName("test")
+                .selectorId(selectorId)
+                .name("test-plugin-rule")
+                .enabled(true)
+                .sort(sort)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test cases for {@link ShenyuSelectorTrie}.
+ */
+public final class ShenyuSelectorTrieTest {
+
+    @Test
+    public void matchLiteralPrefix() {
+        SelectorData order = buildSelector("1", 1, MatchModeEnum.AND, OperatorEnum.MATCH, "/http/order/**");
+        SelectorData user = buildSelector("2", 2, MatchModeEnum.AND, OperatorEnum.PATH_PATTERN, "/http/user/{id}");
+        SelectorData prefix = buildSelector("3", 3, MatchModeEnum.AND, OperatorEnum.STARTS_WITH, "/http/us");
+        SelectorData any = buildSelector("4", 4, MatchModeEnum.OR, OperatorEnum.MATCH, "/dubbo/**");
+        ShenyuSelectorTrie trie = new ShenyuSelectorTrie(Arrays.asList(order, user, prefix, any));
+        Assertions.assertEquals(Arrays.asList(order, prefix, any), trie.match("/http/order/save"));
+        Assertions.assertEquals(Arrays.asList(user, prefix, any), trie.match("/http/user/1"));
+        Assertions.assertEquals(Collections.singletonList(any), trie.match("/dubbo/findAll"));
+        Assertions.assertEquals(Arrays.asList(order, prefix, any), trie.match("/http;v=1/order;v=2/save"));
+    }
+
+    @Test
+    public void matchAllSelectors() {
+        SelectorData order = buildSelector("1", 1, MatchModeEnum.AND, OperatorEnum.MATCH, "/http/order/**");
+        SelectorData contains = buildSelector("2", 2, MatchModeEnum.AND, OperatorEnum.CONTAINS, "/http");
+        SelectorData full = SelectorData.builder().id("3").sort(3).enabled(true).type(SelectorTypeEnum.FULL_FLOW.getCode()).build();
+        List<SelectorData> selectors = Arrays.asList(order, contains, full);
+        ShenyuSelectorTrie trie = new ShenyuSelectorTrie(selectors);
+        Assertions.assertEquals(selectors, trie.match("/http/order/save"));
+        Assertions.assertEquals(selectors, trie.match("/http/%6Frder/save"));
+        Assertions.assertEquals(Arrays.asList(contains, full), trie.match("/"));
+    }
+
+    @Test
+    public void matchDisabledSelector() {
+        SelectorData order = buildSelector("1", 1, MatchModeEnum.AND, OperatorEnum.MATCH, "/http/order/**");
+        order.setEnabled(false);
+        SelectorData user = buildSelector("2", 2, MatchModeEnum.AND, OperatorEnum.MATCH, "/http/user/**");
+        ShenyuSelectorTrie trie = new ShenyuSelectorTrie(Arrays.asList(order, user));
+        Assertions.assertTrue(trie.match("/http/order/save").isEmpty());
+        Assertions.assertEquals(2, trie.getSelectors().size());
+    }
+
+    private SelectorData buildSelector(final String id, final int sort, final MatchModeEnum matchMode,
+                                       final OperatorEnum operator, final String uri) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(operator.getAlias());
+        conditionData.setParamName("/");
+        conditionData.setParamValue(uri);
+        return SelectorData.builder().id(id).pluginName("divide").sort(sort).enabled(true)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(matchMode.getCode())
+                .conditionList(Collections.singletonList(conditionData)).build();
+    }
+}
@@ -37,13 +37,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * The type brpc plugin.
  */
 public class BrpcPlugin extends AbstractShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.BRPC));
+
     private static final Logger LOG = LoggerFactory.getLogger(BrpcPlugin.class);
 
     private final BrpcProxyService brpcProxyService;
@@ -90,8 +95,8 @@ public class BrpcPlugin extends AbstractShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.BRPC);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 
     @Override
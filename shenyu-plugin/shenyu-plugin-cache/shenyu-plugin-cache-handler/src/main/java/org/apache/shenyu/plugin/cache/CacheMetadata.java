@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache;
+
+import org.apache.shenyu.common.utils.GsonUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The metadata of a cached response, when it is stored and the validators to revalidate it.
+ */
+public final class CacheMetadata {
+
+    private long storedAt;
+
+    private String etag;
+
+    private String lastModified;
+
+    public CacheMetadata() {
+    }
+
+    public CacheMetadata(final long storedAt, final String etag, final String lastModified) {
+        this.storedAt = storedAt;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * From the cached bytes.
+     *
+     * @param bytes the cached bytes
+     * @return the metadata
+     */
+    public static CacheMetadata fromBytes(final byte[] bytes) {
+        return GsonUtils.getInstance().fromJson(new String(bytes, StandardCharsets.UTF_8), CacheMetadata.class);
+    }
+
+    /**
+     * To the bytes to cache.
+     *
+     * @return the bytes
+     */
+    public byte[] toBytes() {
+        return GsonUtils.getInstance().toJson(this).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the millis the response is stored at.
+     *
+     * @return the stored at millis
+     */
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    /**
+     * Get the etag.
+     *
+     * @return the etag
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Get the last modified.
+     *
+     * @return the last modified
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+}
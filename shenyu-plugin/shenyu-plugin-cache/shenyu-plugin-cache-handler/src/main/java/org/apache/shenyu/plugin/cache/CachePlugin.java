@@ -28,22 +28,36 @@ import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.cache.handler.CachePluginDataHandler;
 import org.apache.shenyu.plugin.cache.utils.CacheUtils;
 import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.NonNull;
+import reactor.util.function.Tuple2;
 
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * CacheWritePlugin.
  */
 public class CachePlugin extends AbstractShenyuPlugin {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachePlugin.class);
     
     private final CacheRuleHandle defaultRuleHandle = new CacheRuleHandle();
 
@@ -52,20 +66,23 @@ public class CachePlugin extends AbstractShenyuPlugin {
                                 final SelectorData selector, final RuleData rule) {
         ICache cache = CacheUtils.getCache();
         if (Objects.nonNull(cache)) {
+            final CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
             return cache.getData(CacheUtils.dataKey(exchange))
                     .zipWith(cache.getData(CacheUtils.contentTypeKey(exchange)))
                     .flatMap(data -> Mono.just(Optional.of(data)))
                     .defaultIfEmpty(Optional.empty())
                     .flatMap(dataFlg -> {
-                        if (dataFlg.isPresent()) {
-                            byte[] bytes = dataFlg.get().getT1();
-                            byte[] contentTypeBytes = dataFlg.get().getT2();
-                            cache.setContentType(exchange, contentTypeBytes);
-                            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes))
-                                    .doOnNext(data -> exchange.getResponse().getHeaders().setContentLength(data.readableByteCount())));
+                        if (!dataFlg.isPresent()) {
+                            return fetch(exchange, chain, cache, cacheRuleHandle);
+                        }
+                        if (staleSeconds(cacheRuleHandle) <= 0) {
+                            return writeCached(exchange, cache, dataFlg.get());
                         }
-                        CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
-                        return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
+                        return cache.getData(CacheUtils.metadataKey(exchange))
+                                .map(CacheMetadata::fromBytes)
+                                .map(Optional::of)
+                                .defaultIfEmpty(Optional.empty())
+                                .flatMap(metadata -> serve(exchange, chain, cache, cacheRuleHandle, dataFlg.get(), metadata.orElse(null)));
                     });
         }
         CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
@@ -81,7 +98,115 @@ public class CachePlugin extends AbstractShenyuPlugin {
     public String named() {
         return PluginEnum.CACHE.getName();
     }
+
+    /**
+     * Store the whole response, it is kept for the stale windows after the timeout too.
+     *
+     * @param cache the cache
+     * @param exchange the exchange
+     * @param cacheRuleHandle the cache rule handle
+     * @param body the response body
+     * @param contentTypeBytes the content type bytes
+     * @param headers the response headers
+     */
+    static void store(final ICache cache, final ServerWebExchange exchange, final CacheRuleHandle cacheRuleHandle,
+                      final byte[] body, final byte[] contentTypeBytes, final HttpHeaders headers) {
+        final long staleSeconds = staleSeconds(cacheRuleHandle);
+        final long timeoutSeconds = cacheRuleHandle.getTimeoutSeconds() + staleSeconds;
+        cache.cacheData(CacheUtils.dataKey(exchange), body, timeoutSeconds).subscribeOn(Schedulers.boundedElastic()).subscribe();
+        cache.cacheData(CacheUtils.contentTypeKey(exchange), contentTypeBytes, timeoutSeconds).subscribeOn(Schedulers.boundedElastic()).subscribe();
+        if (staleSeconds > 0) {
+            final CacheMetadata metadata = new CacheMetadata(System.currentTimeMillis(), headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED));
+            cache.cacheData(CacheUtils.metadataKey(exchange), metadata.toBytes(), timeoutSeconds).subscribeOn(Schedulers.boundedElastic()).subscribe();
+        }
+    }
+
+    private static long staleSeconds(final CacheRuleHandle cacheRuleHandle) {
+        if (Objects.isNull(cacheRuleHandle)) {
+            return 0L;
+        }
+        return Math.max(Optional.ofNullable(cacheRuleHandle.getStaleWhileRevalidateSeconds()).orElse(0L),
+                Optional.ofNullable(cacheRuleHandle.getStaleIfErrorSeconds()).orElse(0L));
+    }
+
+    private Mono<Void> serve(final ServerWebExchange exchange, final ShenyuPluginChain chain, final ICache cache,
+                             final CacheRuleHandle cacheRuleHandle, final Tuple2<byte[], byte[]> data, final CacheMetadata metadata) {
+        if (Objects.isNull(metadata)) {
+            return writeCached(exchange, cache, data);
+        }
+        final long age = System.currentTimeMillis() - metadata.getStoredAt();
+        final long timeoutMillis = TimeUnit.SECONDS.toMillis(cacheRuleHandle.getTimeoutSeconds());
+        if (age < timeoutMillis) {
+            return writeCached(exchange, cache, data);
+        }
+        final long staleWhileRevalidateSeconds = Optional.ofNullable(cacheRuleHandle.getStaleWhileRevalidateSeconds()).orElse(0L);
+        if (age < timeoutMillis + TimeUnit.SECONDS.toMillis(staleWhileRevalidateSeconds)) {
+            revalidate(exchange, chain, cache, cacheRuleHandle, data, metadata);
+            return writeCached(exchange, cache, data);
+        }
+        final long staleIfErrorSeconds = Optional.ofNullable(cacheRuleHandle.getStaleIfErrorSeconds()).orElse(0L);
+        if (age < timeoutMillis + TimeUnit.SECONDS.toMillis(staleIfErrorSeconds)) {
+            // go to the upstream, and fall back to the stale response if it fails.
+            return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle, data)).build())
+                    .onErrorResume(error -> exchange.getResponse().isCommitted() ? Mono.error(error) : writeCached(exchange, cache, data));
+        }
+        return fetch(exchange, chain, cache, cacheRuleHandle);
+    }
+
+    private void revalidate(final ServerWebExchange exchange, final ShenyuPluginChain chain, final ICache cache,
+                            final CacheRuleHandle cacheRuleHandle, final Tuple2<byte[], byte[]> data, final CacheMetadata metadata) {
+        final String key = CacheUtils.dataKey(exchange);
+        final CacheSingleFlight singleFlight = CacheSingleFlight.getInstance();
+        final Sinks.One<Tuple2<byte[], byte[]>> flight = singleFlight.lead(key);
+        if (Objects.isNull(flight)) {
+            // the key is already revalidated or fetched by another request.
+            return;
+        }
+        final ServerWebExchange revalidateExchange = exchange.mutate()
+                .request(builder -> builder.headers(headers -> {
+                    if (StringUtils.isNotBlank(metadata.getEtag())) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, metadata.getEtag());
+                    }
+                    if (StringUtils.isNotBlank(metadata.getLastModified())) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, metadata.getLastModified());
+                    }
+                }))
+                .response(new RevalidateHttpResponse(exchange, cache, cacheRuleHandle, data, metadata, flight))
+                .build();
+        chain.execute(revalidateExchange)
+                .doFinally(signal -> singleFlight.finish(key, flight))
+                .subscribe(null, error -> LOG.warn("revalidate the cached response of {} failed", exchange.getRequest().getURI(), error));
+    }
     
+    private Mono<Void> fetch(final ServerWebExchange exchange, final ShenyuPluginChain chain,
+                             final ICache cache, final CacheRuleHandle cacheRuleHandle) {
+        final long coalesceTimeoutMillis = Optional.ofNullable(cacheRuleHandle).map(CacheRuleHandle::getCoalesceTimeoutMillis).orElse(0L);
+        if (coalesceTimeoutMillis <= 0) {
+            return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
+        }
+        final String key = CacheUtils.dataKey(exchange);
+        final CacheSingleFlight singleFlight = CacheSingleFlight.getInstance();
+        final Sinks.One<Tuple2<byte[], byte[]>> flight = singleFlight.lead(key);
+        if (Objects.isNull(flight)) {
+            // another request of the key is in flight, wait for its response before going to the upstream.
+            return singleFlight.follow(key, Duration.ofMillis(coalesceTimeoutMillis))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> response.isPresent() ? writeCached(exchange, cache, response.get())
+                            : chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build()));
+        }
+        return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle, key, flight)).build())
+                .doFinally(signal -> singleFlight.finish(key, flight));
+    }
+
+    private Mono<Void> writeCached(final ServerWebExchange exchange, final ICache cache, final Tuple2<byte[], byte[]> data) {
+        byte[] bytes = data.getT1();
+        byte[] contentTypeBytes = data.getT2();
+        cache.setContentType(exchange, contentTypeBytes);
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes))
+                .doOnNext(buffer -> exchange.getResponse().getHeaders().setContentLength(buffer.readableByteCount())));
+    }
+
     private CacheRuleHandle buildRuleHandle(final RuleData rule) {
         if (StringUtils.isNotEmpty(rule.getId())) {
             return CachePluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
@@ -90,37 +215,204 @@ public class CachePlugin extends AbstractShenyuPlugin {
         }
     }
 
+    private static byte[] copy(final DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.asByteBuffer().get(bytes);
+        return bytes;
+    }
+
+    private static boolean isSuccessful(final HttpStatus status) {
+        return Objects.isNull(status) || status.is2xxSuccessful();
+    }
+
     static class CacheHttpResponse extends ServerHttpResponseDecorator {
 
         private final ServerWebExchange exchange;
 
         private final CacheRuleHandle cacheRuleHandle;
 
+        private final String flightKey;
+
+        private final Sinks.One<Tuple2<byte[], byte[]>> flight;
+
+        private final Tuple2<byte[], byte[]> stale;
+
         CacheHttpResponse(final ServerWebExchange exchange,
                           final CacheRuleHandle cacheRuleHandle) {
+            this(exchange, cacheRuleHandle, null, null, null);
+        }
+
+        CacheHttpResponse(final ServerWebExchange exchange,
+                          final CacheRuleHandle cacheRuleHandle,
+                          final String flightKey,
+                          final Sinks.One<Tuple2<byte[], byte[]>> flight) {
+            this(exchange, cacheRuleHandle, flightKey, flight, null);
+        }
+
+        CacheHttpResponse(final ServerWebExchange exchange,
+                          final CacheRuleHandle cacheRuleHandle,
+                          final Tuple2<byte[], byte[]> stale) {
+            this(exchange, cacheRuleHandle, null, null, stale);
+        }
+
+        private CacheHttpResponse(final ServerWebExchange exchange,
+                                  final CacheRuleHandle cacheRuleHandle,
+                                  final String flightKey,
+                                  final Sinks.One<Tuple2<byte[], byte[]>> flight,
+                                  final Tuple2<byte[], byte[]> stale) {
             super(exchange.getResponse());
             this.exchange = exchange;
             this.cacheRuleHandle = cacheRuleHandle;
+            this.flightKey = flightKey;
+            this.flight = flight;
+            this.stale = stale;
         }
 
         @Override
         @NonNull
         public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
+            final HttpStatus status = this.getStatusCode();
+            if (Objects.nonNull(this.stale) && Objects.nonNull(status) && status.is5xxServerError()) {
+                // serve the stale response instead of the upstream error.
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then(Mono.defer(() -> {
+                    this.setStatusCode(HttpStatus.OK);
+                    Optional.ofNullable(CacheUtils.getCache()).ifPresent(cache -> cache.setContentType(this.exchange, this.stale.getT2()));
+                    this.getHeaders().setContentLength(this.stale.getT1().length);
+                    return super.writeWith(Mono.just(this.bufferFactory().wrap(this.stale.getT1())));
+                }));
+            }
             return super.writeWith(cacheResponse(body));
         }
 
         @NonNull
         private Flux<? extends DataBuffer> cacheResponse(final Publisher<? extends DataBuffer> body) {
             final ICache cache = CacheUtils.getCache();
-            if (Objects.nonNull(cache)) {
-                final MediaType contentType = this.getHeaders().getContentType();
+            if (Objects.nonNull(cache) && Objects.nonNull(this.cacheRuleHandle)) {
+                final ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
                 return Flux.from(body).doOnNext(buffer -> {
-                    cache.cacheData(CacheUtils.dataKey(this.exchange), buffer.asByteBuffer().array(),
-                            this.cacheRuleHandle.getTimeoutSeconds()).subscribeOn(Schedulers.boundedElastic()).subscribe();
-                    cache.cacheContentType(CacheUtils.contentTypeKey(this.exchange), contentType, this.cacheRuleHandle.getTimeoutSeconds());
-                });
+                    byte[] bytes = copy(buffer);
+                    responseBody.write(bytes, 0, bytes.length);
+                }).doOnComplete(() -> cacheCompleted(cache, responseBody.toByteArray()));
             }
             return Flux.from(body);
         }
+
+        private void cacheCompleted(final ICache cache, final byte[] body) {
+            if (!isSuccessful(this.getStatusCode())) {
+                return;
+            }
+            final MediaType contentType = this.getHeaders().getContentType();
+            final byte[] contentTypeBytes = Objects.isNull(contentType) ? new byte[0] : cache.mediaTypeToBytes(contentType);
+            store(cache, this.exchange, this.cacheRuleHandle, body, contentTypeBytes, this.getHeaders());
+            if (Objects.nonNull(this.flight)) {
+                CacheSingleFlight.getInstance().complete(this.flightKey, this.flight, body, contentTypeBytes);
+            }
+        }
+    }
+
+    /**
+     * The response of a background revalidation, it is not written to the client but stored in the cache.
+     * a not modified response refreshes the stale response.
+     */
+    static class RevalidateHttpResponse extends AbstractServerHttpResponse {
+
+        private final ServerWebExchange exchange;
+
+        private final ICache cache;
+
+        private final CacheRuleHandle cacheRuleHandle;
+
+        private final Tuple2<byte[], byte[]> stale;
+
+        private final CacheMetadata metadata;
+
+        private final Sinks.One<Tuple2<byte[], byte[]>> flight;
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        RevalidateHttpResponse(final ServerWebExchange exchange,
+                               final ICache cache,
+                               final CacheRuleHandle cacheRuleHandle,
+                               final Tuple2<byte[], byte[]> stale,
+                               final CacheMetadata metadata,
+                               final Sinks.One<Tuple2<byte[], byte[]>> flight) {
+            super(exchange.getResponse().bufferFactory());
+            this.exchange = exchange;
+            this.cache = cache;
+            this.cacheRuleHandle = cacheRuleHandle;
+            this.stale = stale;
+            this.metadata = metadata;
+            this.flight = flight;
+        }
+
+        @Override
+        @NonNull
+        public <T> T getNativeResponse() {
+            throw new IllegalStateException("the revalidate response has no native response.");
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> setComplete() {
+            return super.setComplete().then(Mono.fromRunnable(() -> revalidated(new byte[0])));
+        }
+
+        @Override
+        @NonNull
+        protected Mono<Void> writeWithInternal(@NonNull final Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body))
+                    .map(buffer -> {
+                        byte[] bytes = copy(buffer);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .doOnNext(this::revalidated)
+                    .then();
+        }
+
+        @Override
+        @NonNull
+        protected Mono<Void> writeAndFlushWithInternal(@NonNull final Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWithInternal(Flux.from(body).concatMap(Flux::from));
+        }
+
+        @Override
+        protected void applyStatusCode() {
+        }
+
+        @Override
+        protected void applyHeaders() {
+        }
+
+        @Override
+        protected void applyCookies() {
+        }
+
+        private void revalidated(final byte[] body) {
+            if (!this.completed.compareAndSet(false, true)) {
+                return;
+            }
+            final HttpStatus status = this.getStatusCode();
+            final String key = CacheUtils.dataKey(this.exchange);
+            if (HttpStatus.NOT_MODIFIED == status) {
+                // a not modified response may leave out the validators, the stored ones are kept then.
+                final HttpHeaders headers = new HttpHeaders();
+                headers.addAll(this.getHeaders());
+                if (Objects.isNull(headers.getETag()) && StringUtils.isNotBlank(this.metadata.getEtag())) {
+                    headers.set(HttpHeaders.ETAG, this.metadata.getEtag());
+                }
+                if (Objects.isNull(headers.getFirst(HttpHeaders.LAST_MODIFIED)) && StringUtils.isNotBlank(this.metadata.getLastModified())) {
+                    headers.set(HttpHeaders.LAST_MODIFIED, this.metadata.getLastModified());
+                }
+                store(this.cache, this.exchange, this.cacheRuleHandle, this.stale.getT1(), this.stale.getT2(), headers);
+                CacheSingleFlight.getInstance().complete(key, this.flight, this.stale.getT1(), this.stale.getT2());
+            } else if (isSuccessful(status)) {
+                final MediaType contentType = this.getHeaders().getContentType();
+                final byte[] contentTypeBytes = Objects.isNull(contentType) ? new byte[0] : this.cache.mediaTypeToBytes(contentType);
+                store(this.cache, this.exchange, this.cacheRuleHandle, body, contentTypeBytes, this.getHeaders());
+                CacheSingleFlight.getInstance().complete(key, this.flight, body, contentTypeBytes);
+            }
+        }
     }
 }
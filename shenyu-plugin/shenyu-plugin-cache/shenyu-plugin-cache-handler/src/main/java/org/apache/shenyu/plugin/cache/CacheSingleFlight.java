@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The in flight cache misses, keyed by the cache data key.
+ * <p>The first request missing a key leads the flight and fetches the response from the upstream, the concurrent
+ * requests of the same key wait for the response of the leader rather than going to the upstream too.
+ * A follower falls through to the upstream if the leader fails, or does not respond within the wait.</p>
+ */
+public final class CacheSingleFlight {
+
+    private static final CacheSingleFlight INSTANCE = new CacheSingleFlight();
+
+    private final Map<String, Sinks.One<Tuple2<byte[], byte[]>>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder leadCount = new LongAdder();
+
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private final LongAdder fallThroughCount = new LongAdder();
+
+    private CacheSingleFlight() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static CacheSingleFlight getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Lead the flight of the key.
+     *
+     * @param key the cache data key
+     * @return the sink of the body and the content type, null if another request leads the flight
+     */
+    public Sinks.One<Tuple2<byte[], byte[]>> lead(final String key) {
+        final Sinks.One<Tuple2<byte[], byte[]>> flight = Sinks.one();
+        if (Objects.nonNull(flights.putIfAbsent(key, flight))) {
+            return null;
+        }
+        leadCount.increment();
+        return flight;
+    }
+
+    /**
+     * Follow the flight of the key.
+     *
+     * @param key the cache data key
+     * @param maxWait the max wait for the leader
+     * @return the body and the content type, empty if the flight has no response within the wait
+     */
+    public Mono<Tuple2<byte[], byte[]>> follow(final String key, final Duration maxWait) {
+        final Sinks.One<Tuple2<byte[], byte[]>> flight = flights.get(key);
+        final Mono<Tuple2<byte[], byte[]>> response = Objects.isNull(flight) ? Mono.empty() : flight.asMono().timeout(maxWait, Mono.empty());
+        return response.doOnNext(value -> coalescedCount.increment())
+                .switchIfEmpty(Mono.defer(() -> {
+                    fallThroughCount.increment();
+                    return Mono.empty();
+                }));
+    }
+
+    /**
+     * Complete the flight of the key with the response, the followers are served by it.
+     *
+     * @param key the cache data key
+     * @param flight the sink returned by {@link #lead(String)}
+     * @param body the response body
+     * @param contentType the content type bytes
+     */
+    public void complete(final String key, final Sinks.One<Tuple2<byte[], byte[]>> flight, final byte[] body, final byte[] contentType) {
+        flights.remove(key, flight);
+        flight.tryEmitValue(Tuples.of(body, contentType));
+    }
+
+    /**
+     * Finish the flight of the key, the followers not served yet fall through to the upstream.
+     *
+     * @param key the cache data key
+     * @param flight the sink returned by {@link #lead(String)}
+     */
+    public void finish(final String key, final Sinks.One<Tuple2<byte[], byte[]>> flight) {
+        flights.remove(key, flight);
+        flight.tryEmitEmpty();
+    }
+
+    /**
+     * Get the count of the flights led.
+     *
+     * @return the lead count
+     */
+    public long getLeadCount() {
+        return leadCount.sum();
+    }
+
+    /**
+     * Get the count of the requests served by the response of another request.
+     *
+     * @return the coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Get the count of the followers falling through to the upstream.
+     *
+     * @return the fall through count
+     */
+    public long getFallThroughCount() {
+        return fallThroughCount.sum();
+    }
+}
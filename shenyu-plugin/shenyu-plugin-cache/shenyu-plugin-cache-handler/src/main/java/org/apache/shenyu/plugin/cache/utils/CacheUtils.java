@@ -31,6 +31,8 @@ public final class CacheUtils {
 
     private static final String CONTENT_TYPEKEY_SUFFIX = "contentType";
 
+    private static final String METADATA_KEY_SUFFIX = "metadata";
+
     private static final String KEY_JOIN_RULE = "-";
 
     private CacheUtils() {
@@ -58,6 +60,16 @@ public final class CacheUtils {
         return String.join(KEY_JOIN_RULE, dataKey(exchange), CONTENT_TYPEKEY_SUFFIX);
     }
 
+    /**
+     * the cache metadata key.
+     *
+     * @param exchange the exchange
+     * @return the metadata key
+     */
+    public static String metadataKey(final ServerWebExchange exchange) {
+        return String.join(KEY_JOIN_RULE, dataKey(exchange), METADATA_KEY_SUFFIX);
+    }
+
     /**
      * get the cache.
      *
@@ -29,17 +29,23 @@ import org.apache.shenyu.plugin.cache.utils.CacheUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
+import reactor.util.function.Tuple2;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -104,4 +110,129 @@ public class CachePluginTest {
         StepVerifier.create(result3).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void coalesceTest() {
+        Singleton.INST.single(ICache.class, new MemoryCache());
+        final CachePlugin cachePlugin = new CachePlugin();
+        final ShenyuPluginChain shenyuPluginChain = mock(ShenyuPluginChain.class);
+        Mockito.when(shenyuPluginChain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange upstreamExchange = invocation.getArgument(0);
+            upstreamExchange.getResponse().getHeaders().setContentType(MediaType.TEXT_PLAIN);
+            return upstreamExchange.getResponse().writeWith(Mono.just(upstreamExchange.getResponse().bufferFactory()
+                    .wrap("upstream".getBytes(StandardCharsets.UTF_8)))).delaySubscription(Duration.ofMillis(100));
+        });
+        final MockServerWebExchange leader = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/coalesce?id=1").build());
+        final MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/coalesce?id=1").build());
+        final long coalescedCount = CacheSingleFlight.getInstance().getCoalescedCount();
+        StepVerifier.create(Mono.when(cachePlugin.doExecute(leader, shenyuPluginChain, null, new RuleData()),
+                cachePlugin.doExecute(follower, shenyuPluginChain, null, new RuleData()))).verifyComplete();
+        Mockito.verify(shenyuPluginChain, Mockito.times(1)).execute(any());
+        StepVerifier.create(follower.getResponse().getBodyAsString()).expectNext("upstream").verifyComplete();
+        Assertions.assertEquals(coalescedCount + 1, CacheSingleFlight.getInstance().getCoalescedCount());
+    }
+
+    @Test
+    public void singleFlightTest() {
+        final CacheSingleFlight singleFlight = CacheSingleFlight.getInstance();
+        final Sinks.One<Tuple2<byte[], byte[]>> flight = singleFlight.lead("flight");
+        Assertions.assertNotNull(flight);
+        Assertions.assertNull(singleFlight.lead("flight"));
+        final long fallThroughCount = singleFlight.getFallThroughCount();
+        StepVerifier.create(singleFlight.follow("flight", Duration.ofMillis(10))).verifyComplete();
+        Assertions.assertEquals(fallThroughCount + 1, singleFlight.getFallThroughCount());
+        final Mono<Tuple2<byte[], byte[]>> follow = singleFlight.follow("flight", Duration.ofSeconds(1));
+        singleFlight.complete("flight", flight, "body".getBytes(StandardCharsets.UTF_8), new byte[0]);
+        StepVerifier.create(follow.map(response -> new String(response.getT1(), StandardCharsets.UTF_8))).expectNext("body").verifyComplete();
+        final Sinks.One<Tuple2<byte[], byte[]>> next = singleFlight.lead("flight");
+        Assertions.assertNotNull(next);
+        singleFlight.finish("flight", next);
+    }
+
+    @Test
+    public void chunkedResponseTest() {
+        final MemoryCache memoryCache = new MemoryCache();
+        Singleton.INST.single(ICache.class, memoryCache);
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/chunked").build());
+        CachePlugin.CacheHttpResponse cacheHttpResponse = new CachePlugin.CacheHttpResponse(exchange, new CacheRuleHandle());
+        cacheHttpResponse.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+        StepVerifier.create(cacheHttpResponse.writeWith(Flux.just("chunk1", "chunk2")
+                .map(chunk -> cacheHttpResponse.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))))).verifyComplete();
+        StepVerifier.create(awaitData(memoryCache, CacheUtils.dataKey(exchange)).map(bytes -> new String(bytes, StandardCharsets.UTF_8)))
+                .expectNext("chunk1chunk2").verifyComplete();
+    }
+
+    @Test
+    public void staleWhileRevalidateTest() {
+        final MemoryCache memoryCache = new MemoryCache();
+        Singleton.INST.single(ICache.class, memoryCache);
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/stale-while-revalidate").build());
+        final CacheMetadata metadata = new CacheMetadata(System.currentTimeMillis() - 2000L, "\"v1\"", null);
+        seedStale(memoryCache, exchange, metadata);
+        final CacheRuleHandle cacheRuleHandle = new CacheRuleHandle();
+        cacheRuleHandle.setTimeoutSeconds(1L);
+        cacheRuleHandle.setStaleWhileRevalidateSeconds(60L);
+        final RuleData ruleData = buildRuleData("stale-while-revalidate", cacheRuleHandle);
+        final ShenyuPluginChain shenyuPluginChain = mock(ShenyuPluginChain.class);
+        final AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+        Mockito.when(shenyuPluginChain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange revalidateExchange = invocation.getArgument(0);
+            ifNoneMatch.set(revalidateExchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+            revalidateExchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+            return revalidateExchange.getResponse().setComplete();
+        });
+        StepVerifier.create(new CachePlugin().doExecute(exchange, shenyuPluginChain, null, ruleData)).verifyComplete();
+        StepVerifier.create(((MockServerWebExchange) exchange).getResponse().getBodyAsString()).expectNext("stale").verifyComplete();
+        Mockito.verify(shenyuPluginChain, Mockito.timeout(1000)).execute(any());
+        Assertions.assertEquals("\"v1\"", ifNoneMatch.get());
+        StepVerifier.create(Mono.defer(() -> memoryCache.getData(CacheUtils.metadataKey(exchange)))
+                .map(CacheMetadata::fromBytes)
+                .filter(refreshed -> refreshed.getStoredAt() > metadata.getStoredAt())
+                .repeatWhenEmpty(100, repeat -> repeat.delayElements(Duration.ofMillis(10)))
+                .map(CacheMetadata::getEtag))
+                .expectNext("\"v1\"").verifyComplete();
+    }
+
+    @Test
+    public void staleIfErrorTest() {
+        final MemoryCache memoryCache = new MemoryCache();
+        Singleton.INST.single(ICache.class, memoryCache);
+        final CacheRuleHandle cacheRuleHandle = new CacheRuleHandle();
+        cacheRuleHandle.setTimeoutSeconds(1L);
+        cacheRuleHandle.setStaleIfErrorSeconds(60L);
+        final RuleData ruleData = buildRuleData("stale-if-error", cacheRuleHandle);
+        final ShenyuPluginChain shenyuPluginChain = mock(ShenyuPluginChain.class);
+        Mockito.when(shenyuPluginChain.execute(any())).thenReturn(Mono.error(new IllegalStateException("upstream error")));
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/stale-if-error").build());
+        seedStale(memoryCache, exchange, new CacheMetadata(System.currentTimeMillis() - 2000L, null, null));
+        StepVerifier.create(new CachePlugin().doExecute(exchange, shenyuPluginChain, null, ruleData)).verifyComplete();
+        StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("stale").verifyComplete();
+
+        Mockito.when(shenyuPluginChain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange upstreamExchange = invocation.getArgument(0);
+            upstreamExchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+            return upstreamExchange.getResponse().writeWith(Mono.just(upstreamExchange.getResponse().bufferFactory()
+                    .wrap("error".getBytes(StandardCharsets.UTF_8))));
+        });
+        final MockServerWebExchange errorExchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/stale-if-error").build());
+        StepVerifier.create(new CachePlugin().doExecute(errorExchange, shenyuPluginChain, null, ruleData)).verifyComplete();
+        Assertions.assertEquals(HttpStatus.OK, errorExchange.getResponse().getStatusCode());
+        StepVerifier.create(errorExchange.getResponse().getBodyAsString()).expectNext("stale").verifyComplete();
+    }
+
+    private static void seedStale(final MemoryCache memoryCache, final ServerWebExchange exchange, final CacheMetadata metadata) {
+        memoryCache.cacheData(CacheUtils.dataKey(exchange), "stale".getBytes(StandardCharsets.UTF_8), 60L).block();
+        memoryCache.cacheData(CacheUtils.contentTypeKey(exchange), MediaType.TEXT_PLAIN_VALUE.getBytes(StandardCharsets.UTF_8), 60L).block();
+        memoryCache.cacheData(CacheUtils.metadataKey(exchange), metadata.toBytes(), 60L).block();
+    }
+
+    private static RuleData buildRuleData(final String id, final CacheRuleHandle cacheRuleHandle) {
+        final RuleData ruleData = new RuleData();
+        ruleData.setId(id);
+        CachePluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), cacheRuleHandle);
+        return ruleData;
+    }
+
+    private static Mono<byte[]> awaitData(final ICache cache, final String key) {
+        return Mono.defer(() -> cache.getData(key)).repeatWhenEmpty(100, repeat -> repeat.delayElements(Duration.ofMillis(10)));
+    }
 }
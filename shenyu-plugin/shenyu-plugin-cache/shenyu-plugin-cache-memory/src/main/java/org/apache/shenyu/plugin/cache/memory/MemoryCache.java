@@ -17,26 +17,61 @@
 
 package org.apache.shenyu.plugin.cache.memory;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.plugin.cache.ICache;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.util.Map;
+import java.nio.ByteBuffer;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
- * MemoryCache.
+ * MemoryCache, a single cache bounded by the bytes of the cached bodies.
+ * <p>Every entry expires after its own timeout, the expired entries are removed by a daemon thread shared
+ * by the memory caches rather than on the next read, and the entries are admitted and evicted by the window TinyLFU of caffeine.
+ * The bodies from the off heap threshold are kept in direct buffers, which are counted against the same bound.
+ * The cache is read and written in the calling thread.</p>
  */
 public final class MemoryCache implements ICache {
 
-    private final Map<String, Cache<String, byte[]>> mainCache;
+    private static final long MB = 1024L * 1024L;
+
+    /**
+     * the rough heap cost of an entry besides the body, the key, the entry and the caffeine node.
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /**
+     * the scheduler of the expirations, the system scheduler of caffeine is disabled on java 8.
+     */
+    private static final Scheduler EXPIRY_SCHEDULER = Scheduler.forScheduledExecutorService(
+            Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-memory-cache-expiry", true)));
+
+    private final Cache<String, CacheEntry> mainCache;
+
+    private final int offHeapThreshold;
 
     public MemoryCache() {
-        this.mainCache = new ConcurrentHashMap<>();
+        this(new MemoryCacheConfig());
+    }
+
+    public MemoryCache(final MemoryCacheConfig config) {
+        final long maxBytes = Optional.ofNullable(config.getMaxMemory()).filter(max -> max > 0)
+                .orElseGet(() -> new MemoryCacheConfig().getMaxMemory()) * MB;
+        this.offHeapThreshold = Optional.ofNullable(config.getOffHeapThreshold()).filter(threshold -> threshold > 0)
+                .map(threshold -> threshold * 1024).orElse(Integer.MAX_VALUE);
+        this.mainCache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CacheEntry entry) -> entry.size() + key.length() * 2 + ENTRY_OVERHEAD)
+                .expireAfter(new CacheEntryExpiry())
+                .scheduler(EXPIRY_SCHEDULER)
+                .build();
     }
 
     /**
@@ -49,10 +84,15 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<Boolean> cacheData(final String key, final byte[] bytes, final long timeoutSeconds) {
-        final Cache<String, byte[]> cache = CacheBuilder.newBuilder().expireAfterWrite(timeoutSeconds, TimeUnit.SECONDS).build();
-        cache.put(key, bytes);
-        this.mainCache.put(key, cache);
-        return Mono.fromCallable(() -> Boolean.TRUE).subscribeOn(Schedulers.boundedElastic());
+        final long ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(timeoutSeconds, 0L));
+        if (bytes.length >= offHeapThreshold) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            this.mainCache.put(key, new CacheEntry(null, buffer.asReadOnlyBuffer(), ttlNanos));
+        } else {
+            this.mainCache.put(key, new CacheEntry(bytes, null, ttlNanos));
+        }
+        return Mono.just(Boolean.TRUE);
     }
 
     /**
@@ -63,13 +103,7 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<Boolean> isExist(final String key) {
-        final Cache<String, byte[]> cache = this.mainCache.get(key);
-        if (Objects.isNull(cache) || !cache.asMap().containsKey(key)) {
-            // remove from main cache
-            this.mainCache.remove(key);
-            return Mono.fromCallable(() -> Boolean.FALSE).subscribeOn(Schedulers.boundedElastic());
-        }
-        return Mono.fromCallable(() -> Boolean.TRUE).subscribeOn(Schedulers.boundedElastic());
+        return Mono.just(this.mainCache.asMap().containsKey(key));
     }
 
     /**
@@ -80,12 +114,18 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<byte[]> getData(final String key) {
-        return isExist(key).mapNotNull(exist -> {
-            if (exist) {
-                return this.mainCache.get(key).asMap().get(key);
-            }
-            return null;
-        });
+        final CacheEntry entry = this.mainCache.getIfPresent(key);
+        return Objects.isNull(entry) ? Mono.empty() : Mono.just(entry.bytes());
+    }
+
+    /**
+     * Get the estimated bytes of the cached entries, once the pending evictions are done.
+     *
+     * @return the weighted size
+     */
+    public long weightedSize() {
+        this.mainCache.cleanUp();
+        return this.mainCache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
     }
 
     /**
@@ -93,6 +133,53 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public void close() {
-        this.mainCache.clear();
+        this.mainCache.invalidateAll();
+        this.mainCache.cleanUp();
+    }
+
+    private static final class CacheEntry {
+
+        private final byte[] heap;
+
+        private final ByteBuffer offHeap;
+
+        private final long ttlNanos;
+
+        CacheEntry(final byte[] heap, final ByteBuffer offHeap, final long ttlNanos) {
+            this.heap = heap;
+            this.offHeap = offHeap;
+            this.ttlNanos = ttlNanos;
+        }
+
+        int size() {
+            return Objects.nonNull(heap) ? heap.length : offHeap.capacity();
+        }
+
+        byte[] bytes() {
+            if (Objects.nonNull(heap)) {
+                return heap;
+            }
+            final byte[] bytes = new byte[offHeap.capacity()];
+            offHeap.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+
+    private static final class CacheEntryExpiry implements Expiry<String, CacheEntry> {
+
+        @Override
+        public long expireAfterCreate(final String key, final CacheEntry entry, final long currentTime) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final CacheEntry entry, final long currentTime, final long currentDuration) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final CacheEntry entry, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
     }
 }
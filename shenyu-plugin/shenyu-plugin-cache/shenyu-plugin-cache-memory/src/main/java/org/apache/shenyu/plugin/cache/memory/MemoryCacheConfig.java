@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache.memory;
+
+/**
+ * The configuration for memory cache.
+ */
+public class MemoryCacheConfig {
+
+    /**
+     * the max memory of the cached bodies in MB.
+     */
+    private Integer maxMemory = 256;
+
+    /**
+     * the body size in KB from which a body is stored off heap, a non-positive value keeps every body on heap.
+     */
+    private Integer offHeapThreshold = 0;
+
+    /**
+     * Gets max memory.
+     *
+     * @return the max memory
+     */
+    public Integer getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Sets max memory.
+     *
+     * @param maxMemory the max memory
+     */
+    public void setMaxMemory(final Integer maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Gets off heap threshold.
+     *
+     * @return the off heap threshold
+     */
+    public Integer getOffHeapThreshold() {
+        return offHeapThreshold;
+    }
+
+    /**
+     * Sets off heap threshold.
+     *
+     * @param offHeapThreshold the off heap threshold
+     */
+    public void setOffHeapThreshold(final Integer offHeapThreshold) {
+        this.offHeapThreshold = offHeapThreshold;
+    }
+}
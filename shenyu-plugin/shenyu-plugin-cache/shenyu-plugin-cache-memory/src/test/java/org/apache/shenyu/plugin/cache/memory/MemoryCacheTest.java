@@ -17,13 +17,17 @@
 
 package org.apache.shenyu.plugin.cache.memory;
 
-import org.junit.Test;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * MemoryCacheTest.
@@ -42,4 +46,41 @@ public class MemoryCacheTest {
         memoryCache.getData(key).subscribe(v -> assertEquals("data", new String(v, StandardCharsets.UTF_8)));
     }
 
+    @Test
+    public void testOffHeapData() {
+        final MemoryCacheConfig config = new MemoryCacheConfig();
+        config.setOffHeapThreshold(1);
+        final MemoryCache memoryCache = new MemoryCache(config);
+        final byte[] bytes = new byte[2048];
+        bytes[2047] = 1;
+        assertEquals(Boolean.TRUE, memoryCache.cacheData("large", bytes, 10).block());
+        assertArrayEquals(bytes, memoryCache.getData("large").block());
+        assertArrayEquals(bytes, memoryCache.getData("large").block());
+    }
+
+    @Test
+    public void testExpired() {
+        final MemoryCache memoryCache = new MemoryCache();
+        memoryCache.cacheData("expired", "data".getBytes(StandardCharsets.UTF_8), 0).block();
+        memoryCache.cacheData("alive", "data".getBytes(StandardCharsets.UTF_8), 10).block();
+        assertFalse(memoryCache.isExist("expired").block());
+        assertNull(memoryCache.getData("expired").block());
+        assertTrue(memoryCache.isExist("alive").block());
+    }
+
+    @Test
+    public void testBoundedByBytes() {
+        final MemoryCacheConfig config = new MemoryCacheConfig();
+        config.setMaxMemory(1);
+        final MemoryCache memoryCache = new MemoryCache(config);
+        for (int i = 0; i < 64; i++) {
+            memoryCache.cacheData("key" + i, new byte[64 * 1024], 10).block();
+        }
+        memoryCache.close();
+        assertEquals(0L, memoryCache.weightedSize());
+        for (int i = 0; i < 64; i++) {
+            memoryCache.cacheData("key" + i, new byte[64 * 1024], 10).block();
+        }
+        assertTrue(memoryCache.weightedSize() <= 1024L * 1024L);
+    }
 }
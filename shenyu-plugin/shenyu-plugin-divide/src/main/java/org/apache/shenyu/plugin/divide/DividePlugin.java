@@ -37,6 +37,7 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.utils.LoadBalanceKeyUtils;
 import org.apache.shenyu.plugin.divide.handler.DividePluginDataHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,14 +46,19 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Divide Plugin.
  */
 public class DividePlugin extends AbstractShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.HTTP));
+
     private static final Logger LOG = LoggerFactory.getLogger(DividePlugin.class);
     
     private final DivideRuleHandle defaultRuleHandle = new DivideRuleHandle();
@@ -87,7 +93,7 @@ public class DividePlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL);
             return WebFluxResultUtils.result(exchange, error);
         }
-        String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
+        String ip = LoadBalanceKeyUtils.acquireHashKey(exchange);
         Upstream upstream = LoadBalancerFactory.selector(upstreamList, ruleHandle.getLoadBalance(), ip);
         if (Objects.isNull(upstream)) {
             LOG.error("divide has no upstream");
@@ -106,6 +112,9 @@ public class DividePlugin extends AbstractShenyuPlugin {
         exchange.getAttributes().put(Constants.HTTP_RETRY, ruleHandle.getRetry());
         // set retry strategy stuff
         exchange.getAttributes().put(Constants.RETRY_STRATEGY, StringUtils.defaultString(ruleHandle.getRetryStrategy(), RetryEnum.CURRENT.getName()));
+        // set hedge stuff
+        exchange.getAttributes().put(Constants.HTTP_HEDGE_DELAY, ruleHandle.getHedgeDelay());
+        exchange.getAttributes().put(Constants.HTTP_HEDGE_PERCENTILE, ruleHandle.getHedgePercentile());
         exchange.getAttributes().put(Constants.LOAD_BALANCE, StringUtils.defaultString(ruleHandle.getLoadBalance(), LoadBalanceEnum.RANDOM.getName()));
         exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, selector.getId());
         return chain.execute(exchange);
@@ -117,8 +126,8 @@ public class DividePlugin extends AbstractShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.HTTP);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 
     @Override
@@ -36,15 +36,20 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * AbstractDubboPlugin.
  */
 public abstract class AbstractDubboPlugin extends AbstractShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.DUBBO));
+
     private static final Logger LOG = LoggerFactory.getLogger(AbstractDubboPlugin.class);
 
     /**
@@ -129,15 +134,13 @@ public abstract class AbstractDubboPlugin extends AbstractShenyuPlugin {
     }
 
     /**
-     * plugin is execute.
-     * if return true this plugin can not execute.
+     * the plugin is only executed for its own rpc type.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @return the rpc types the plugin is executed for.
      */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.DUBBO);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 
     private void rpcContext(final ServerWebExchange exchange) {
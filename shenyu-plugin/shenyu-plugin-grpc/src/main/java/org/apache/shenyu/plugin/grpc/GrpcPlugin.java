@@ -45,9 +45,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -58,6 +61,8 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
 
     public static final Context.Key<Map<String, String>> RPC_CONTEXT_KEY = Context.key("shenyuRpcContext");
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.GRPC));
+
     private static final Logger LOG = LoggerFactory.getLogger(GrpcPlugin.class);
 
     @Override
@@ -113,14 +118,13 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
     }
 
     /**
-     * plugin is execute.
+     * the plugin is only executed for its own rpc type.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @return the rpc types the plugin is executed for.
      */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.GRPC);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 
     @Override
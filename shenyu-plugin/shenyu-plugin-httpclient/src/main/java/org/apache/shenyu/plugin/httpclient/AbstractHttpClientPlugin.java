@@ -25,7 +25,9 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.RetryEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.cache.UpstreamStatsCache;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamStats;
 import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
@@ -34,26 +36,40 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.apache.shenyu.plugin.base.utils.LoadBalanceKeyUtils;
 import org.apache.shenyu.plugin.httpclient.exception.ShenyuTimeoutException;
+import org.apache.shenyu.plugin.httpclient.hedge.LatencyRecorder;
+import org.apache.shenyu.plugin.httpclient.retry.RetryBudget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
 import reactor.util.retry.Retry;
 import reactor.util.retry.RetryBackoffSpec;
 
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
 import java.net.URI;
+import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -80,17 +96,21 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
         final String retryStrategy = (String) Optional.ofNullable(exchange.getAttribute(Constants.RETRY_STRATEGY)).orElseGet(RetryEnum.CURRENT::getName);
         LOG.info("The request urlPath is {}, retryTimes is {}, retryStrategy is {}", uri.toASCIIString(), retryTimes, retryStrategy);
         final HttpHeaders httpHeaders = buildHttpHeaders(exchange);
-        final Mono<R> response = doRequest(exchange, exchange.getRequest().getMethodValue(), uri, httpHeaders, exchange.getRequest().getBody())
-                .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
-                .doOnError(e -> LOG.error(e.getMessage(), e));
+        final Set<URI> exclude = Sets.newHashSet(uri);
+        final RetryBudget retryBudget = RetryBudget.obtain(exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID)).orElse(null);
+        final Mono<R> response = hedge(exchange, uri, duration, httpHeaders, exclude, retryBudget)
+                .doOnSuccess(res -> Optional.ofNullable(retryBudget).ifPresent(RetryBudget::deposit));
         if (RetryEnum.CURRENT.getName().equals(retryStrategy)) {
             //old version of DividePlugin and SpringCloudPlugin will run on this
+            final AtomicInteger retries = new AtomicInteger();
             RetryBackoffSpec retryBackoffSpec = Retry.backoff(retryTimes, Duration.ofMillis(20L))
                     .maxBackoff(Duration.ofSeconds(20L))
                     .transientErrors(true)
                     .jitter(0.5d)
-                    .filter(t -> t instanceof TimeoutException || t instanceof ConnectTimeoutException
+                    // the budget is only asked for a retry that is left, a denied retry fails with the error itself
+                    .filter(t -> (t instanceof TimeoutException || t instanceof ConnectTimeoutException
                             || t instanceof ReadTimeoutException || t instanceof IllegalStateException)
+                            && (retries.getAndIncrement() >= retryTimes || tryRetry(retryBudget)))
                     .onRetryExhaustedThrow((retryBackoffSpecErr, retrySignal) -> {
                         throw new ShenyuTimeoutException("Request timeout, the maximum number of retry times has been exceeded");
                     });
@@ -99,8 +119,7 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                     .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
                     .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
         }
-        final Set<URI> exclude = Sets.newHashSet(uri);
-        return resend(response, exchange, duration, httpHeaders, exclude, retryTimes)
+        return resend(response, exchange, duration, httpHeaders, exclude, retryTimes, retryBudget)
                 .onErrorMap(ShenyuException.class, th -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
                         ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg(), th))
                 .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
@@ -112,10 +131,12 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                            final Duration duration,
                            final HttpHeaders httpHeaders,
                            final Set<URI> exclude,
-                           final int retryTimes) {
+                           final int retryTimes,
+                           final RetryBudget retryBudget) {
         Mono<R> result = clientResponse;
+        final AtomicBoolean denied = new AtomicBoolean();
         for (int i = 0; i < retryTimes; i++) {
-            result = resend(result, exchange, duration, httpHeaders, exclude);
+            result = resend(result, exchange, duration, httpHeaders, exclude, retryBudget, denied);
         }
         return result;
     }
@@ -124,39 +145,224 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                            final ServerWebExchange exchange,
                            final Duration duration,
                            final HttpHeaders httpHeaders,
-                           final Set<URI> exclude) {
+                           final Set<URI> exclude,
+                           final RetryBudget retryBudget,
+                           final AtomicBoolean denied) {
         // does it necessary to add backoff interval time ?
         return response.onErrorResume(th -> {
-            final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
-            final String loadBalance = exchange.getAttribute(Constants.LOAD_BALANCE);
-            //always query the latest available list
-            final List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selectorId)
-                    .stream().filter(data -> {
-                        final String trimUri = data.getUrl().trim();
-                        for (URI needToExclude : exclude) {
-                            // exclude already called
-                            if ((needToExclude.getHost() + ":" + needToExclude.getPort()).equals(trimUri)) {
-                                return false;
-                            }
-                        }
-                        return true;
-                    }).collect(Collectors.toList());
-            if (CollectionUtils.isEmpty(upstreamList)) {
-                // no need to retry anymore
-                return Mono.error(new ShenyuException(ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg()));
+            if (denied.get()) {
+                return Mono.error(th);
             }
-            final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
-            final Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalance, ip);
-            if (Objects.isNull(upstream)) {
+            final URI newUri = selectUri(exchange, exclude);
+            if (Objects.isNull(newUri)) {
                 // no need to retry anymore
                 return Mono.error(new ShenyuException(ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg()));
             }
-            final URI newUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
+            if (!tryRetry(retryBudget)) {
+                // the budget of the selector is spent, the rest of the retries fail with the error itself
+                denied.set(true);
+                return Mono.error(th);
+            }
             // in order not to affect the next retry call, newUri needs to be excluded
             exclude.add(newUri);
-            return doRequest(exchange, exchange.getRequest().getMethodValue(), newUri, httpHeaders, exchange.getRequest().getBody())
-                    .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
-                    .doOnError(e -> LOG.error(e.getMessage(), e));
+            return request(exchange, newUri, duration, httpHeaders);
+        });
+    }
+
+    private boolean tryRetry(final RetryBudget retryBudget) {
+        return Objects.isNull(retryBudget) || retryBudget.tryWithdraw();
+    }
+
+    /**
+     * Hedge a GET or HEAD request when the rule asks for it, if the request has no response after the hedge delay,
+     * the same request is sent to another upstream. the first response wins and the other request is cancelled.
+     * the hedge delay is the tracked latency percentile of the selector, or the fixed delay until it is tracked.
+     *
+     * @param exchange    the current server exchange
+     * @param uri         the request uri
+     * @param duration    the timeout of a request
+     * @param httpHeaders the request header
+     * @param exclude     the called uris, the uri of the hedged request is added
+     * @param retryBudget the retry budget of the selector, a hedged request spends it as a retry does
+     * @return the response
+     */
+    private Mono<R> hedge(final ServerWebExchange exchange, final URI uri, final Duration duration,
+                          final HttpHeaders httpHeaders, final Set<URI> exclude, final RetryBudget retryBudget) {
+        final Mono<R> primary = request(exchange, uri, duration, httpHeaders);
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        final HttpMethod method = exchange.getRequest().getMethod();
+        if (Objects.isNull(selectorId) || (HttpMethod.GET != method && HttpMethod.HEAD != method)) {
+            return primary;
+        }
+        final long hedgeDelay = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_HEDGE_DELAY)).orElse(0L);
+        final int hedgePercentile = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_HEDGE_PERCENTILE)).orElse(0);
+        if (hedgeDelay <= 0 && hedgePercentile <= 0) {
+            return primary;
+        }
+        final LatencyRecorder recorder = hedgePercentile > 0 ? LatencyRecorder.obtain(selectorId) : null;
+        return Mono.defer(() -> {
+            Mono<R> first = primary;
+            long delayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDelay);
+            if (Objects.nonNull(recorder)) {
+                final long tracked = recorder.percentile(hedgePercentile);
+                delayNanos = tracked > 0 ? tracked : delayNanos;
+                final long startNanos = System.nanoTime();
+                // a primary cancelled by the hedged request is recorded too, or the slow latencies would be missed
+                first = primary.doFinally(signal -> {
+                    if (SignalType.ON_ERROR != signal) {
+                        recorder.record(System.nanoTime() - startNanos);
+                    }
+                });
+            }
+            if (delayNanos <= 0) {
+                return first;
+            }
+            // only the winner writes its response to the exchange
+            exchange.getAttributes().put(Constants.HTTP_HEDGE_CLAIM, new AtomicBoolean());
+            final Sinks.One<Boolean> primaryFailed = Sinks.one();
+            final Mono<R> hedged = Mono.delay(Duration.ofNanos(delayNanos))
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        final URI hedgeUri = selectUri(exchange, Collections.singleton(uri));
+                        if (Objects.isNull(hedgeUri) || !tryRetry(retryBudget)) {
+                            return Mono.empty();
+                        }
+                        LOG.info("The request urlPath {} is hedged to {}", uri.toASCIIString(), hedgeUri.toASCIIString());
+                        exclude.add(hedgeUri);
+                        return request(exchange, hedgeUri, duration, httpHeaders);
+                    });
+            // an error of the primary before the hedge delay is not hedged, it is up to the retry
+            return Flux.mergeDelayError(2, first.doOnError(e -> primaryFailed.tryEmitValue(Boolean.TRUE)), hedged)
+                    .next()
+                    .onErrorMap(Exceptions::isMultiple, e -> Exceptions.unwrapMultiple(e).get(0));
+        });
+    }
+
+    /**
+     * Select another upstream of the selector by the load balance.
+     *
+     * @param exchange the current server exchange
+     * @param exclude  the called uris
+     * @return the uri of the upstream, null if there is none
+     */
+    private URI selectUri(final ServerWebExchange exchange, final Set<URI> exclude) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        final String loadBalance = exchange.getAttribute(Constants.LOAD_BALANCE);
+        //always query the latest available list
+        final List<Upstream> upstreamList = Optional.ofNullable(UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selectorId))
+                .orElse(Collections.emptyList()).stream().filter(data -> {
+                    final String trimUri = data.getUrl().trim();
+                    for (URI needToExclude : exclude) {
+                        // exclude already called
+                        if ((needToExclude.getHost() + ":" + needToExclude.getPort()).equals(trimUri)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }).collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(upstreamList)) {
+            return null;
+        }
+        final String ip = LoadBalanceKeyUtils.acquireHashKey(exchange);
+        final Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalance, ip);
+        if (Objects.isNull(upstream)) {
+            return null;
+        }
+        return RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
+    }
+
+    private Mono<R> request(final ServerWebExchange exchange, final URI uri, final Duration duration, final HttpHeaders httpHeaders) {
+        final Mono<R> response = Mono.defer(() -> {
+            final long startNanos = System.nanoTime();
+            // the round trip of the upstream, for the plugins before that should not count the write of the response to the client
+            return doRequestWithStats(exchange, uri, httpHeaders)
+                    .doOnNext(res -> exchange.getAttributes().put(Constants.HTTP_UPSTREAM_RTT, System.nanoTime() - startNanos));
+        }).timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)));
+        return detectOutlier(exchange, uri, response)
+                .doOnError(e -> LOG.error(e.getMessage(), e));
+    }
+
+    /**
+     * Whether the response is a server error, the upstream is counted as failed by the outlier detection.
+     *
+     * @param response the response
+     * @return true if the upstream responded a server error
+     */
+    protected boolean isServerError(final R response) {
+        return false;
+    }
+
+    /**
+     * Record the result of the request to the upstream for the outlier detection, a hedged request that lost is not recorded.
+     * Only the server errors and the connect failures count as failures.
+     *
+     * @param exchange the current server exchange
+     * @param uri      the request uri
+     * @param response the response
+     * @return the response
+     */
+    private Mono<R> detectOutlier(final ServerWebExchange exchange, final URI uri, final Mono<R> response) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        if (Objects.isNull(selectorId) || Objects.isNull(uri.getAuthority()) || !UpstreamCacheManager.getInstance().isOutlierDetectionEnabled()) {
+            return response;
+        }
+        return response
+                .doOnSuccess(res -> Optional.ofNullable(res)
+                        .ifPresent(r -> UpstreamCacheManager.getInstance().recordResult(selectorId, uri.getAuthority(), !isServerError(r))))
+                .doOnError(th -> {
+                    // a timeout or a cancel of the gateway itself says nothing of the upstream
+                    if (isConnectFailure(th)) {
+                        UpstreamCacheManager.getInstance().recordResult(selectorId, uri.getAuthority(), false);
+                    }
+                });
+    }
+
+    /**
+     * Whether the request failed to connect to the upstream, the cause chain is looked through since the http clients wrap it.
+     *
+     * @param throwable the error of the request
+     * @return true if the upstream could not be connected
+     */
+    private static boolean isConnectFailure(final Throwable throwable) {
+        Throwable cause = throwable;
+        for (int depth = 0; Objects.nonNull(cause) && depth < 10; depth++) {
+            if (cause instanceof ConnectException || cause instanceof NoRouteToHostException || cause instanceof UnknownHostException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Claim the response of the exchange, of the hedged requests only the first to claim writes its response to the exchange.
+     *
+     * @param exchange the current server exchange
+     * @return true if the response is claimed
+     */
+    protected boolean claimResponse(final ServerWebExchange exchange) {
+        final AtomicBoolean claim = exchange.getAttribute(Constants.HTTP_HEDGE_CLAIM);
+        return Objects.isNull(claim) || claim.compareAndSet(false, true);
+    }
+
+    /**
+     * Do the request, the in-flight requests and the latency of the upstream are recorded if the load balance needs them.
+     *
+     * @param exchange    the current server exchange
+     * @param uri         the request uri
+     * @param httpHeaders the request header
+     * @return the response
+     */
+    private Mono<R> doRequestWithStats(final ServerWebExchange exchange, final URI uri, final HttpHeaders httpHeaders) {
+        final Mono<R> request = doRequest(exchange, exchange.getRequest().getMethodValue(), uri, httpHeaders, exchange.getRequest().getBody());
+        if (!UpstreamStatsCache.isStatsAware(exchange.getAttribute(Constants.LOAD_BALANCE)) || Objects.isNull(uri.getAuthority())) {
+            return request;
+        }
+        return Mono.defer(() -> {
+            final UpstreamStats stats = UpstreamStatsCache.getInstance().obtain(uri.getAuthority());
+            final long startNanos = stats.begin();
+            // a cancel comes from the timeout as well, so its latency is observed too
+            return request.doFinally(signal -> stats.complete(startNanos));
         });
     }
 
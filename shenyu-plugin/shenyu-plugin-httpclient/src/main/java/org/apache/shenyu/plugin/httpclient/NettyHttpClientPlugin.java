@@ -21,6 +21,7 @@ import io.netty.handler.codec.http.HttpMethod;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.NettyDataBuffer;
 import org.springframework.http.HttpHeaders;
@@ -34,7 +35,10 @@ import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -42,6 +46,8 @@ import java.util.function.Consumer;
  */
 public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientResponse> {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.HTTP, RpcTypeEnum.SPRING_CLOUD));
+
     private final HttpClient httpClient;
 
     /**
@@ -60,6 +66,11 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
                 .request(HttpMethod.valueOf(httpMethod)).uri(uri.toASCIIString())
                 .send((req, nettyOutbound) -> nettyOutbound.send(body.map(dataBuffer -> ((NettyDataBuffer) dataBuffer).getNativeBuffer())))
                 .responseConnection((res, connection) -> {
+                    if (!claimResponse(exchange)) {
+                        // the hedged request lost, its connection is closed rather than drained
+                        connection.dispose();
+                        return Mono.empty();
+                    }
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
                     ServerHttpResponse response = exchange.getResponse();
@@ -85,14 +96,19 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
                 }));
     }
 
+    @Override
+    protected boolean isServerError(final HttpClientResponse response) {
+        return response.status().code() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.NETTY_HTTP_CLIENT.getCode();
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExceptHttpLike(exchange);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 
     @Override
@@ -19,11 +19,13 @@ package org.apache.shenyu.plugin.httpclient;
 
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.common.enums.ResultEnum;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -32,12 +34,17 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The type Web client plugin.
  */
 public class WebClientPlugin extends AbstractHttpClientPlugin<ClientResponse> {
+
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.HTTP, RpcTypeEnum.SPRING_CLOUD));
     
     private final WebClient webClient;
     
@@ -70,7 +77,9 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ClientResponse> {
                             }
                             return Mono.just(builder.build());
                         }))
-                .doOnSuccess(res -> {
+                // the hedged request lost, its response is dropped and it completes empty
+                .filter(res -> claimResponse(exchange))
+                .doOnNext(res -> {
                     if (res.statusCode().is2xxSuccessful()) {
                         exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
                     } else {
@@ -81,6 +90,11 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ClientResponse> {
                 });
     }
     
+    @Override
+    protected boolean isServerError(final ClientResponse response) {
+        return response.rawStatusCode() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+    
     @Override
     public int getOrder() {
         return PluginEnum.WEB_CLIENT.getCode();
@@ -92,7 +106,7 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ClientResponse> {
     }
     
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExceptHttpLike(exchange);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 }
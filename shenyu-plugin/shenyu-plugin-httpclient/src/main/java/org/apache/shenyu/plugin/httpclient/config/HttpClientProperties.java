@@ -121,6 +121,11 @@ public class HttpClientProperties {
      */
     private Integer maxInMemorySize = 1;
 
+    /**
+     * HTTP/2 configuration for Netty HttpClient.
+     */
+    private Http2 http2 = new Http2();
+
     /**
      * Gets strategy.
      *
@@ -390,6 +395,24 @@ public class HttpClientProperties {
         this.maxInMemorySize = maxInMemorySize;
     }
 
+    /**
+     * Gets http2.
+     *
+     * @return the http2
+     */
+    public Http2 getHttp2() {
+        return http2;
+    }
+
+    /**
+     * Sets http2.
+     *
+     * @param http2 the http2
+     */
+    public void setHttp2(final Http2 http2) {
+        this.http2 = http2;
+    }
+
     /**
      * The type Pool.
      */
@@ -422,6 +445,12 @@ public class HttpClientProperties {
          */
         private Long maxIdleTime;
 
+        /**
+         * Not for type DISABLED, the pools of the upstream hosts overriding the settings above.
+         * every upstream host always has a pool of its own.
+         */
+        private List<HostPool> hosts = new ArrayList<>();
+
         /**
          * Gets type.
          *
@@ -513,6 +542,24 @@ public class HttpClientProperties {
             this.maxIdleTime = maxIdleTime;
         }
 
+        /**
+         * Gets hosts.
+         *
+         * @return the hosts
+         */
+        public List<HostPool> getHosts() {
+            return hosts;
+        }
+
+        /**
+         * Sets hosts.
+         *
+         * @param hosts the hosts
+         */
+        public void setHosts(final List<HostPool> hosts) {
+            this.hosts = hosts;
+        }
+
         /**
          * The enum Pool type.
          */
@@ -533,6 +580,181 @@ public class HttpClientProperties {
              */
             DISABLED
         }
+
+        /**
+         * The pool of an upstream host, the settings not set are those of the {@link Pool}.
+         */
+        public static class HostPool {
+
+            /**
+             * The upstream host.
+             */
+            private String host;
+
+            /**
+             * The upstream port.
+             */
+            private Integer port;
+
+            /**
+             * The maximum number of connections to the host.
+             */
+            private Integer maxConnections;
+
+            /**
+             * The maximum time in millis to wait for acquiring a connection to the host.
+             */
+            private Long acquireTimeout;
+
+            /**
+             * Time in millis after which the channel to the host will be closed.
+             */
+            private Long maxIdleTime;
+
+            /**
+             * Gets host.
+             *
+             * @return the host
+             */
+            public String getHost() {
+                return host;
+            }
+
+            /**
+             * Sets host.
+             *
+             * @param host the host
+             */
+            public void setHost(final String host) {
+                this.host = host;
+            }
+
+            /**
+             * Gets port.
+             *
+             * @return the port
+             */
+            public Integer getPort() {
+                return port;
+            }
+
+            /**
+             * Sets port.
+             *
+             * @param port the port
+             */
+            public void setPort(final Integer port) {
+                this.port = port;
+            }
+
+            /**
+             * Gets max connections.
+             *
+             * @return the max connections
+             */
+            public Integer getMaxConnections() {
+                return maxConnections;
+            }
+
+            /**
+             * Sets max connections.
+             *
+             * @param maxConnections the max connections
+             */
+            public void setMaxConnections(final Integer maxConnections) {
+                this.maxConnections = maxConnections;
+            }
+
+            /**
+             * Gets acquire timeout.
+             *
+             * @return the acquire timeout
+             */
+            public Long getAcquireTimeout() {
+                return acquireTimeout;
+            }
+
+            /**
+             * Sets acquire timeout.
+             *
+             * @param acquireTimeout the acquire timeout
+             */
+            public void setAcquireTimeout(final Long acquireTimeout) {
+                this.acquireTimeout = acquireTimeout;
+            }
+
+            /**
+             * Gets max idle time.
+             *
+             * @return the max idle time
+             */
+            public Long getMaxIdleTime() {
+                return maxIdleTime;
+            }
+
+            /**
+             * Sets max idle time.
+             *
+             * @param maxIdleTime the max idle time
+             */
+            public void setMaxIdleTime(final Long maxIdleTime) {
+                this.maxIdleTime = maxIdleTime;
+            }
+        }
+    }
+
+    /**
+     * The type Http2.
+     */
+    public static class Http2 {
+
+        /**
+         * Whether the upstream connections speak HTTP/2, defaults to false.
+         * h2 is negotiated by ALPN when ssl is configured, otherwise h2c by the HTTP/1.1 upgrade,
+         * an upstream without HTTP/2 keeps HTTP/1.1.
+         */
+        private boolean enabled;
+
+        /**
+         * The initial flow control window size of the streams in bytes, if NULL it is 65535.
+         */
+        private Integer initialWindowSize;
+
+        /**
+         * Is enabled.
+         *
+         * @return the enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets initial window size.
+         *
+         * @return the initial window size
+         */
+        public Integer getInitialWindowSize() {
+            return initialWindowSize;
+        }
+
+        /**
+         * Sets initial window size.
+         *
+         * @param initialWindowSize the initial window size
+         */
+        public void setInitialWindowSize(final Integer initialWindowSize) {
+            this.initialWindowSize = initialWindowSize;
+        }
     }
 
     /**
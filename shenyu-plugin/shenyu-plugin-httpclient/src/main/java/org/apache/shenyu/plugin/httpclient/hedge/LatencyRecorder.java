@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.hedge;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The latency recorder of a selector, it keeps the latest latencies to track a percentile of them.
+ * the percentile is sorted again once every {@link #REFRESH_INTERVAL} records, not on every read.
+ */
+public final class LatencyRecorder {
+
+    private static final int SIZE = 256;
+
+    private static final int MIN_SAMPLES = 64;
+
+    private static final int REFRESH_INTERVAL = 32;
+
+    private static final Cache<String, LatencyRecorder> RECORDERS = Caffeine.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private volatile long[] sorted = new long[0];
+
+    private volatile long sortedAt;
+
+    /**
+     * Obtain the recorder of the key, created if absent.
+     *
+     * @param key the key, eg. the selector id
+     * @return the recorder
+     */
+    public static LatencyRecorder obtain(final String key) {
+        return RECORDERS.get(key, k -> new LatencyRecorder());
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        samples.set((int) (count.getAndIncrement() & (SIZE - 1)), Math.max(nanos, 0L));
+    }
+
+    /**
+     * Get the percentile of the latest latencies.
+     *
+     * @param percentile the percentile, in (0, 100]
+     * @return the latency in nanoseconds, -1 if there are not enough latencies yet
+     */
+    public long percentile(final int percentile) {
+        final long total = count.get();
+        if (total < MIN_SAMPLES) {
+            return -1L;
+        }
+        long[] current = sorted;
+        if (total - sortedAt >= REFRESH_INTERVAL || current.length == 0) {
+            final int size = (int) Math.min(total, SIZE);
+            current = new long[size];
+            for (int i = 0; i < size; i++) {
+                current[i] = samples.get(i);
+            }
+            Arrays.sort(current);
+            sorted = current;
+            sortedAt = total;
+        }
+        final int index = (int) Math.ceil(Math.min(Math.max(percentile, 1), 100) / 100d * current.length) - 1;
+        return current[Math.max(index, 0)];
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.retry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.config.RetryBudgetConfig;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.utils.Singleton;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The lock free retry budget of a selector.
+ * <p>Every successful request deposits a percentage of a retry, every retry withdraws a whole one. When the balance
+ * is spent, a minimum of retries per second is still allowed. The balance holds the retries of at most
+ * {@link #WINDOW_SUCCESSES} successful requests, so a long healthy period does not fund a retry storm.</p>
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000L;
+
+    private static final long WINDOW_SUCCESSES = 1000L;
+
+    private static final Cache<String, RetryBudget> BUDGETS = Caffeine.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final long depositPerSuccess;
+
+    private final long maxBalance;
+
+    private final int minRetriesPerSecond;
+
+    private final AtomicLong balance = new AtomicLong();
+
+    private final AtomicLong floorSecond = new AtomicLong();
+
+    private final AtomicInteger floorRetries = new AtomicInteger();
+
+    private final LongAdder permitted = new LongAdder();
+
+    private final LongAdder denied = new LongAdder();
+
+    /**
+     * Instantiates a new retry budget.
+     *
+     * @param percent             the retries allowed as a percentage of the successful requests
+     * @param minRetriesPerSecond the retries per second always allowed
+     */
+    public RetryBudget(final int percent, final int minRetriesPerSecond) {
+        this.depositPerSuccess = Math.max(percent, 0) * SCALE / 100;
+        this.maxBalance = depositPerSuccess * WINDOW_SUCCESSES;
+        this.minRetriesPerSecond = Math.max(minRetriesPerSecond, 0);
+    }
+
+    /**
+     * Obtain the budget of the selector if the retry budget is enabled.
+     *
+     * @param selectorId the selector id
+     * @return the budget, empty if the retry budget is disabled
+     */
+    public static Optional<RetryBudget> obtain(final String selectorId) {
+        final RetryBudgetConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class))
+                .map(ShenyuConfig::getRetryBudget).orElse(null);
+        if (Objects.isNull(selectorId) || Objects.isNull(config) || !Boolean.TRUE.equals(config.getEnabled())) {
+            return Optional.empty();
+        }
+        return Optional.of(BUDGETS.get(selectorId, key -> new RetryBudget(config.getPercent(), config.getMinRetriesPerSecond())));
+    }
+
+    /**
+     * Get the budgets of the selectors.
+     *
+     * @return the budgets keyed by the selector id
+     */
+    public static Map<String, RetryBudget> getBudgets() {
+        return Collections.unmodifiableMap(BUDGETS.asMap());
+    }
+
+    /**
+     * Deposit the retries of a successful request.
+     */
+    public void deposit() {
+        if (depositPerSuccess > 0 && balance.get() < maxBalance) {
+            balance.accumulateAndGet(depositPerSuccess, (current, deposit) -> Math.min(current + deposit, maxBalance));
+        }
+    }
+
+    /**
+     * Try to withdraw a retry.
+     *
+     * @return true if the retry is permitted
+     */
+    public boolean tryWithdraw() {
+        long current;
+        while ((current = balance.get()) >= SCALE) {
+            if (balance.compareAndSet(current, current - SCALE)) {
+                permitted.increment();
+                return true;
+            }
+        }
+        if (tryFloor()) {
+            permitted.increment();
+            return true;
+        }
+        denied.increment();
+        return false;
+    }
+
+    /**
+     * Get the permitted retries.
+     *
+     * @return the permitted retries
+     */
+    public long getPermitted() {
+        return permitted.sum();
+    }
+
+    /**
+     * Get the denied retries.
+     *
+     * @return the denied retries
+     */
+    public long getDenied() {
+        return denied.sum();
+    }
+
+    private boolean tryFloor() {
+        if (minRetriesPerSecond == 0) {
+            return false;
+        }
+        final long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        final long last = floorSecond.get();
+        // the retries of the last second are reset by the first retry of a new second
+        if (second != last && floorSecond.compareAndSet(last, second)) {
+            floorRetries.set(0);
+        }
+        return floorRetries.incrementAndGet() <= minRetriesPerSecond;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.LoadBalanceEnum;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The test case for the request hedging of {@link AbstractHttpClientPlugin}.
+ */
+public final class AbstractHttpClientPluginTest {
+
+    private static final String SELECTOR_ID = "hedge";
+
+    private static final String SLOW = "http://127.0.0.1:18081";
+
+    private static final String FAST = "http://127.0.0.1:18082";
+
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+
+    private final List<String> cancelled = new CopyOnWriteArrayList<>();
+
+    private TestHttpClientPlugin plugin;
+
+    @BeforeEach
+    public void setUp() {
+        UpstreamCacheManager.getInstance().submit(SELECTOR_ID, Arrays.asList(
+                Upstream.builder().url("127.0.0.1:18081").status(true).build(),
+                Upstream.builder().url("127.0.0.1:18082").status(true).build()));
+        plugin = new TestHttpClientPlugin();
+    }
+
+    @Test
+    public void testHedgeWins() {
+        ServerWebExchange exchange = buildExchange(MockServerHttpRequest.get(SLOW + "/test"));
+        StepVerifier.create(plugin.execute(exchange, mock(ShenyuPluginChain.class, invocation -> Mono.empty())))
+                .expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList(SLOW, FAST), requested);
+        assertEquals(FAST, exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR));
+        assertEquals(Arrays.asList(SLOW), cancelled);
+    }
+
+    @Test
+    public void testNotHedged() {
+        ServerWebExchange exchange = buildExchange(MockServerHttpRequest.get(FAST + "/test"));
+        StepVerifier.create(plugin.execute(exchange, mock(ShenyuPluginChain.class, invocation -> Mono.empty())))
+                .expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList(FAST), requested);
+
+        requested.clear();
+        exchange = buildExchange(MockServerHttpRequest.post(SLOW + "/test"));
+        StepVerifier.create(plugin.execute(exchange, mock(ShenyuPluginChain.class, invocation -> Mono.empty())))
+                .expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList(SLOW), requested);
+        assertEquals(SLOW, exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR));
+        assertNotNull(exchange.getAttribute(Constants.HTTP_UPSTREAM_RTT));
+    }
+
+    private ServerWebExchange buildExchange(final MockServerHttpRequest.BaseBuilder<?> builder) {
+        ServerWebExchange exchange = MockServerWebExchange.from(builder.remoteAddress(new InetSocketAddress("127.0.0.1", 8080)).build());
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URI, exchange.getRequest().getURI());
+        exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, SELECTOR_ID);
+        exchange.getAttributes().put(Constants.LOAD_BALANCE, LoadBalanceEnum.RANDOM.getName());
+        exchange.getAttributes().put(Constants.HTTP_HEDGE_DELAY, 50L);
+        return exchange;
+    }
+
+    private final class TestHttpClientPlugin extends AbstractHttpClientPlugin<String> {
+
+        @Override
+        protected Mono<String> doRequest(final ServerWebExchange exchange, final String httpMethod, final URI uri,
+                                         final HttpHeaders httpHeaders, final Flux<DataBuffer> body) {
+            final String upstream = uri.getScheme() + "://" + uri.getAuthority();
+            requested.add(upstream);
+            return Mono.delay(Duration.ofMillis(SLOW.equals(upstream) ? 1000 : 10))
+                    .thenReturn(upstream)
+                    .filter(res -> claimResponse(exchange))
+                    .doOnNext(res -> exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res))
+                    // the winner is cancelled by next() once it has emitted, only a request that lost counts
+                    .doOnCancel(() -> {
+                        if (!upstream.equals(exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR))) {
+                            cancelled.add(upstream);
+                        }
+                    });
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "test";
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -43,13 +44,17 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -117,6 +122,26 @@ public final class WebClientPluginTest {
         StepVerifier.create(monoErrorTest).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for WebClientPlugin {@link WebClientPlugin#doRequest}, the hedged request completes after the other one claimed the response.
+     */
+    @Test
+    public void testDoRequestLostHedge() {
+        ServerWebExchange exchange = generateServerWebExchange();
+        exchange.getAttributes().put(Constants.HTTP_HEDGE_CLAIM, new AtomicBoolean(true));
+        StepVerifier.create(webClientPlugin.doRequest(exchange, HttpMethod.GET.name(), URI.create("/test"), new HttpHeaders(), Flux.empty()))
+                .expectSubscription().verifyComplete();
+        assertNull(exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR));
+        assertNull(exchange.getAttribute(Constants.CLIENT_RESPONSE_RESULT_TYPE));
+
+        ServerWebExchange claimExchange = generateServerWebExchange();
+        claimExchange.getAttributes().put(Constants.HTTP_HEDGE_CLAIM, new AtomicBoolean(false));
+        StepVerifier.create(webClientPlugin.doRequest(claimExchange, HttpMethod.GET.name(), URI.create("/test"), new HttpHeaders(), Flux.empty()))
+                .expectNextCount(1).verifyComplete();
+        assertNotNull(claimExchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR));
+        assertEquals(HttpStatus.OK, claimExchange.getResponse().getStatusCode());
+    }
+
     /**
      * test case for WebClientPlugin {@link WebClientPlugin#skip(ServerWebExchange)}.
      */
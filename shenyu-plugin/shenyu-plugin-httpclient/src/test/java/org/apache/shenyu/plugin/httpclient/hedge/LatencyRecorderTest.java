@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The test case for {@link LatencyRecorder}.
+ */
+public final class LatencyRecorderTest {
+
+    @Test
+    public void testPercentile() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1; i < 64; i++) {
+            recorder.record(i);
+        }
+        assertEquals(-1L, recorder.percentile(95));
+        for (int i = 64; i <= 100; i++) {
+            recorder.record(i);
+        }
+        assertEquals(95L, recorder.percentile(95));
+        assertEquals(50L, recorder.percentile(50));
+        assertEquals(100L, recorder.percentile(100));
+    }
+
+    @Test
+    public void testLatestLatencies() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < 256; i++) {
+            recorder.record(1000L);
+        }
+        assertEquals(1000L, recorder.percentile(99));
+        for (int i = 0; i < 256; i++) {
+            recorder.record(10L);
+        }
+        assertEquals(10L, recorder.percentile(99));
+    }
+
+    @Test
+    public void testObtain() {
+        assertSame(LatencyRecorder.obtain("selector"), LatencyRecorder.obtain("selector"));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.retry;
+
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.utils.Singleton;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link RetryBudget}.
+ */
+public class RetryBudgetTest {
+
+    @AfterEach
+    public void tearDown() {
+        Singleton.INST.single(ShenyuConfig.class, new ShenyuConfig());
+    }
+
+    @Test
+    public void testWithdrawByPercent() {
+        final RetryBudget retryBudget = new RetryBudget(20, 0);
+        assertFalse(retryBudget.tryWithdraw());
+        for (int i = 0; i < 10; i++) {
+            retryBudget.deposit();
+        }
+        assertTrue(retryBudget.tryWithdraw());
+        assertTrue(retryBudget.tryWithdraw());
+        assertFalse(retryBudget.tryWithdraw());
+        assertEquals(2, retryBudget.getPermitted());
+        assertEquals(2, retryBudget.getDenied());
+    }
+
+    @Test
+    public void testBalanceIsCapped() {
+        final RetryBudget retryBudget = new RetryBudget(100, 0);
+        for (int i = 0; i < 2000; i++) {
+            retryBudget.deposit();
+        }
+        int permitted = 0;
+        while (retryBudget.tryWithdraw()) {
+            permitted++;
+        }
+        assertEquals(1000, permitted);
+    }
+
+    @Test
+    public void testMinRetriesPerSecond() {
+        final RetryBudget retryBudget = new RetryBudget(0, 3);
+        int permitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (retryBudget.tryWithdraw()) {
+                permitted++;
+            }
+        }
+        // the withdrawals may span a second boundary
+        assertTrue(permitted >= 3 && permitted <= 6);
+    }
+
+    @Test
+    public void testObtain() {
+        final ShenyuConfig shenyuConfig = new ShenyuConfig();
+        Singleton.INST.single(ShenyuConfig.class, shenyuConfig);
+        assertFalse(RetryBudget.obtain("1").isPresent());
+        shenyuConfig.getRetryBudget().setEnabled(true);
+        assertFalse(RetryBudget.obtain(null).isPresent());
+        assertTrue(RetryBudget.obtain("1").isPresent());
+        assertTrue(RetryBudget.obtain("1").get() == RetryBudget.obtain("1").get());
+        assertTrue(RetryBudget.getBudgets().containsKey("1"));
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.shenyu.plugin.hystrix.builder.HystrixBuilder;
 import org.apache.shenyu.plugin.hystrix.command.Command;
 import org.apache.shenyu.plugin.hystrix.command.HystrixCommand;
 import org.apache.shenyu.plugin.hystrix.command.HystrixCommandOnThread;
+import org.apache.shenyu.plugin.hystrix.command.ReactorCommand;
 import org.apache.shenyu.plugin.hystrix.handler.HystrixPluginDataHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,15 +63,25 @@ public class HystrixPlugin extends AbstractShenyuPlugin {
         if (StringUtils.isBlank(hystrixHandle.getCommandKey())) {
             commandKey = Objects.requireNonNull(shenyuContext).getMethod();
         }
-        Command command = fetchCommand(hystrixHandle, exchange, chain, commandKey, groupKey);
-        return Mono.create(s -> {
-            Subscription sub = command.fetchObservable().subscribe(s::success,
-                    s::error, s::success);
-            s.onCancel(sub::unsubscribe);
+        final Mono<Void> execution;
+        if (hystrixHandle.getExecutionIsolationStrategy() == HystrixIsolationModeEnum.REACTOR.getCode()) {
+            final ReactorCommand command = new ReactorCommand(hystrixHandle, commandKey, exchange, chain);
             if (command.isCircuitBreakerOpen()) {
                 LOG.error("hystrix execute have circuitBreaker is Open! groupKey:{},commandKey:{}", hystrixHandle.getGroupKey(), hystrixHandle.getCommandKey());
             }
-        }).doOnError(throwable -> {
+            execution = command.execute();
+        } else {
+            Command command = fetchCommand(hystrixHandle, exchange, chain, commandKey, groupKey);
+            execution = Mono.create(s -> {
+                Subscription sub = command.fetchObservable().subscribe(s::success,
+                        s::error, s::success);
+                s.onCancel(sub::unsubscribe);
+                if (command.isCircuitBreakerOpen()) {
+                    LOG.error("hystrix execute have circuitBreaker is Open! groupKey:{},commandKey:{}", hystrixHandle.getGroupKey(), hystrixHandle.getCommandKey());
+                }
+            }).then();
+        }
+        return execution.doOnError(throwable -> {
             LOG.error("hystrix execute exception:", throwable);
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.ERROR.getName());
             chain.execute(exchange);
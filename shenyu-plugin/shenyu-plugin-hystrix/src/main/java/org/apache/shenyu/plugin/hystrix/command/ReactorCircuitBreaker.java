@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.hystrix.command;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The lock free circuit breaker and semaphore bulkhead of a command key in the reactor isolation mode.
+ * <p>The rolling window has 10 buckets of a second like hystrix, each bucket is a single long of its epoch second,
+ * the failed and the total requests, updated by compare and set. The circuit opens once the window has the request
+ * volume and the error percentage, and after the sleep window a single trial request closes it again or keeps it open
+ * for another sleep window. Only the outcome of the trial moves the half open circuit, the outcomes of the requests
+ * admitted before the circuit opened are just recorded.</p>
+ */
+public final class ReactorCircuitBreaker {
+
+    private static final Cache<String, ReactorCircuitBreaker> CIRCUIT_BREAKERS = Caffeine.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private static final int BUCKETS = 10;
+
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int COUNT_BITS = 20;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private static final long EPOCH_MASK = (1L << (Long.SIZE - 2 * COUNT_BITS)) - 1;
+
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private static final long HALF_OPEN = Long.MIN_VALUE + 1;
+
+    /**
+     * the nano time base, the bucket epochs from it are non-negative.
+     */
+    private static final long START_NANOS = System.nanoTime();
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    /**
+     * the nano time the circuit opened at, {@link #CLOSED} or {@link #HALF_OPEN} while the trial is in flight.
+     */
+    private final AtomicLong circuit = new AtomicLong(CLOSED);
+
+    /**
+     * Obtain the circuit breaker of the command key, created if absent.
+     *
+     * @param commandKey the command key
+     * @return the circuit breaker
+     */
+    public static ReactorCircuitBreaker obtain(final String commandKey) {
+        return CIRCUIT_BREAKERS.get(commandKey, key -> new ReactorCircuitBreaker());
+    }
+
+    /**
+     * Remove the circuit breaker of the command key.
+     *
+     * @param commandKey the command key
+     */
+    public static void remove(final String commandKey) {
+        CIRCUIT_BREAKERS.invalidate(commandKey);
+    }
+
+    /**
+     * Remove all the circuit breakers.
+     */
+    public static void clear() {
+        CIRCUIT_BREAKERS.invalidateAll();
+    }
+
+    /**
+     * Whether the circuit lets the request through, after the sleep window the first request claims the half open
+     * circuit as the trial, and the others are rejected until the trial completes.
+     *
+     * @param sleepWindowMillis the sleep window in milliseconds
+     * @return the admission of the request
+     */
+    public Admission allowRequest(final long sleepWindowMillis) {
+        final long state = circuit.get();
+        if (state == CLOSED) {
+            return Admission.CLOSED;
+        }
+        if (state == HALF_OPEN) {
+            return Admission.REJECTED;
+        }
+        if (System.nanoTime() - state >= TimeUnit.MILLISECONDS.toNanos(sleepWindowMillis) && circuit.compareAndSet(state, HALF_OPEN)) {
+            return Admission.TRIAL;
+        }
+        return Admission.REJECTED;
+    }
+
+    /**
+     * Acquire a permit of the bulkhead.
+     *
+     * @param maxConcurrentRequests the max concurrent requests
+     * @return true if acquired
+     */
+    public boolean tryAcquire(final int maxConcurrentRequests) {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= maxConcurrentRequests) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Release a permit of the bulkhead.
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * Record a successful request, a successful trial closes the circuit with a new window.
+     *
+     * @param admission the admission of the request
+     */
+    public void onSuccess(final Admission admission) {
+        if (Admission.TRIAL == admission) {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0L);
+            }
+            circuit.compareAndSet(HALF_OPEN, CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    /**
+     * Record a failed request, a failed trial opens the circuit for another sleep window, and the other failures
+     * open the closed circuit at the error threshold.
+     *
+     * @param admission the admission of the request
+     * @param errorThresholdPercentage the error threshold percentage
+     * @param requestVolumeThreshold the request volume threshold
+     */
+    public void onFailure(final Admission admission, final int errorThresholdPercentage, final int requestVolumeThreshold) {
+        if (Admission.TRIAL == admission) {
+            circuit.compareAndSet(HALF_OPEN, System.nanoTime());
+            return;
+        }
+        record(true);
+        if (circuit.get() != CLOSED) {
+            return;
+        }
+        long total = 0L;
+        long failures = 0L;
+        final long epoch = epoch();
+        for (int i = 0; i < BUCKETS; i++) {
+            final long bucket = buckets.get(i);
+            if (((epoch - (bucket >>> (2 * COUNT_BITS))) & EPOCH_MASK) < BUCKETS) {
+                total += bucket & COUNT_MASK;
+                failures += (bucket >>> COUNT_BITS) & COUNT_MASK;
+            }
+        }
+        if (total >= requestVolumeThreshold && failures * 100 >= (long) errorThresholdPercentage * total) {
+            circuit.compareAndSet(CLOSED, System.nanoTime());
+        }
+    }
+
+    /**
+     * Give up a request without an outcome, a trial given up opens the circuit again so another trial follows.
+     *
+     * @param admission the admission of the request
+     */
+    public void onCancel(final Admission admission) {
+        if (Admission.TRIAL == admission) {
+            circuit.compareAndSet(HALF_OPEN, System.nanoTime());
+        }
+    }
+
+    /**
+     * Whether the circuit is open.
+     *
+     * @return true if open
+     */
+    public boolean isOpen() {
+        return circuit.get() != CLOSED;
+    }
+
+    /**
+     * Get the requests in flight.
+     *
+     * @return the inflight
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void record(final boolean failed) {
+        final long epoch = epoch();
+        final int index = (int) (epoch % BUCKETS);
+        long prev;
+        long next;
+        do {
+            prev = buckets.get(index);
+            long total = prev & COUNT_MASK;
+            long failures = (prev >>> COUNT_BITS) & COUNT_MASK;
+            if (prev >>> (2 * COUNT_BITS) != epoch) {
+                total = 0L;
+                failures = 0L;
+            }
+            total = Math.min(total + 1, COUNT_MASK);
+            failures = failed ? Math.min(failures + 1, COUNT_MASK) : failures;
+            next = (epoch << (2 * COUNT_BITS)) | (failures << COUNT_BITS) | total;
+        } while (!buckets.compareAndSet(index, prev, next));
+    }
+
+    private static long epoch() {
+        return ((System.nanoTime() - START_NANOS) / BUCKET_NANOS) & EPOCH_MASK;
+    }
+
+    /**
+     * The admission of a request by the circuit.
+     */
+    public enum Admission {
+
+        /**
+         * the circuit is closed.
+         */
+        CLOSED,
+
+        /**
+         * the request is the trial of the half open circuit.
+         */
+        TRIAL,
+
+        /**
+         * the circuit is open.
+         */
+        REJECTED
+    }
+}
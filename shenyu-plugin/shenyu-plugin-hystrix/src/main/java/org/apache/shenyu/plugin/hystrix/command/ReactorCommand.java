@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.hystrix.command;
+
+import com.netflix.hystrix.exception.HystrixRuntimeException;
+import com.netflix.hystrix.exception.HystrixTimeoutException;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.rule.HystrixHandle;
+import org.apache.shenyu.common.utils.UriUtils;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.hystrix.command.ReactorCircuitBreaker.Admission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import rx.Observable;
+import rx.RxReactiveStreams;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * hystrix command in reactor isolation mode, the circuit breaker and the semaphore work on the mono of the chain,
+ * without a hystrix command and a thread switch per request.
+ */
+public class ReactorCommand implements Command {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReactorCommand.class);
+
+    private final HystrixHandle hystrixHandle;
+
+    private final ReactorCircuitBreaker circuitBreaker;
+
+    private final ServerWebExchange exchange;
+
+    private final ShenyuPluginChain chain;
+
+    private final URI callBackUri;
+
+    /**
+     * Instantiates a new reactor command.
+     *
+     * @param hystrixHandle the hystrix handle
+     * @param commandKey    the command key
+     * @param exchange      the exchange
+     * @param chain         the chain
+     */
+    public ReactorCommand(final HystrixHandle hystrixHandle,
+                          final String commandKey,
+                          final ServerWebExchange exchange,
+                          final ShenyuPluginChain chain) {
+        this.hystrixHandle = hystrixHandle;
+        this.circuitBreaker = ReactorCircuitBreaker.obtain(commandKey);
+        this.exchange = exchange;
+        this.chain = chain;
+        this.callBackUri = UriUtils.createUri(hystrixHandle.getCallBackUri());
+    }
+
+    /**
+     * Execute the chain through the circuit breaker and the semaphore, or the fallback.
+     *
+     * @return {@code Mono<Void>} to indicate when request processing is complete
+     */
+    public Mono<Void> execute() {
+        // the circuit and the semaphore are taken on subscription, so a mono never subscribed holds no permit.
+        return Mono.defer(() -> {
+            final Admission admission = circuitBreaker.allowRequest(orDefault(hystrixHandle.getSleepWindowInMilliseconds(), Constants.SLEEP_WINDOW_INMILLISECONDS));
+            if (Admission.REJECTED == admission) {
+                return doFallback(exchange, new HystrixRuntimeException(HystrixRuntimeException.FailureType.SHORTCIRCUIT,
+                        null, "short-circuited", null, null));
+            }
+            if (!circuitBreaker.tryAcquire(orDefault(hystrixHandle.getMaxConcurrentRequests(), Constants.MAX_CONCURRENT_REQUESTS))) {
+                circuitBreaker.onCancel(admission);
+                return doFallback(exchange, new HystrixRuntimeException(HystrixRuntimeException.FailureType.REJECTED_SEMAPHORE_EXECUTION,
+                        null, "could not acquire a semaphore for execution", null, null));
+            }
+            final long timeout = hystrixHandle.getTimeout() > 0 ? hystrixHandle.getTimeout() : Constants.TIME_OUT;
+            return chain.execute(exchange)
+                    .timeout(Duration.ofMillis(timeout))
+                    .doOnSuccess(v -> circuitBreaker.onSuccess(admission))
+                    .doOnCancel(() -> circuitBreaker.onCancel(admission))
+                    .doFinally(signalType -> circuitBreaker.release())
+                    .onErrorResume(throwable -> {
+                        circuitBreaker.onFailure(admission, orDefault(hystrixHandle.getErrorThresholdPercentage(), Constants.ERROR_THRESHOLD_PERCENTAGE),
+                                orDefault(hystrixHandle.getRequestVolumeThreshold(), Constants.REQUEST_VOLUME_THRESHOLD));
+                        if (throwable instanceof TimeoutException) {
+                            return doFallback(exchange, new HystrixTimeoutException());
+                        }
+                        LOG.error("hystrix execute have error: ", throwable);
+                        return doFallback(exchange, throwable);
+                    });
+        });
+    }
+
+    @Override
+    public Observable<Void> fetchObservable() {
+        return RxReactiveStreams.toObservable(execute());
+    }
+
+    @Override
+    public boolean isCircuitBreakerOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    @Override
+    public URI getCallBackUri() {
+        return callBackUri;
+    }
+
+    @Override
+    public void removeCommandKey(final String commandKey) {
+        ReactorCircuitBreaker.remove(commandKey);
+    }
+
+    @Override
+    public void cleanCommand() {
+        ReactorCircuitBreaker.clear();
+    }
+
+    private static int orDefault(final int value, final int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.hystrix.builder.HystrixBuilder;
 import org.apache.shenyu.plugin.hystrix.command.Command;
 import org.apache.shenyu.plugin.hystrix.command.HystrixCommand;
+import org.apache.shenyu.plugin.hystrix.command.ReactorCircuitBreaker;
 import org.springframework.util.StringUtils;
 
 import java.util.Optional;
@@ -58,9 +59,11 @@ public class HystrixPluginDataHandler implements PluginDataHandler {
                     Command command = new HystrixCommand(HystrixBuilder.build(hystrixHandleCache), null, null, null);
                     if (StringUtils.hasText(hystrixHandle.getCommandKey())) {
                         command.removeCommandKey(hystrixHandle.getCommandKey());
+                        ReactorCircuitBreaker.remove(hystrixHandle.getCommandKey());
                     } else {
                         // delete all old Commands of the specified group
                         command.cleanCommand();
+                        ReactorCircuitBreaker.clear();
                     }
                 }
             });
@@ -100,6 +100,9 @@ public final class HystrixPluginTest {
         rule.setHandle(GsonUtils.getInstance().toJson(hystrixHandle));
         Mono<Void> threadMono = hystrixPlugin.doExecute(exchange, chain, selectorData, rule);
         StepVerifier.create(threadMono).expectSubscription().verifyComplete();
+        hystrixHandle.setExecutionIsolationStrategy(HystrixIsolationModeEnum.REACTOR.getCode());
+        Mono<Void> reactorMono = hystrixPlugin.doExecute(exchange, chain, selectorData, rule);
+        StepVerifier.create(reactorMono).expectSubscription().verifyComplete();
     }
 
     @Test
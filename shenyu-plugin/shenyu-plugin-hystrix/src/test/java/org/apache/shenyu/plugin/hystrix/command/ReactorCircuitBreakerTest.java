@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.hystrix.command;
+
+import org.apache.shenyu.plugin.hystrix.command.ReactorCircuitBreaker.Admission;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Test Case For ReactorCircuitBreaker.
+ */
+public final class ReactorCircuitBreakerTest {
+
+    private ReactorCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        ReactorCircuitBreaker.clear();
+        circuitBreaker = ReactorCircuitBreaker.obtain("commandKey");
+    }
+
+    @Test
+    public void testObtain() {
+        assertSame(circuitBreaker, ReactorCircuitBreaker.obtain("commandKey"));
+        ReactorCircuitBreaker.remove("commandKey");
+        assertNotSame(circuitBreaker, ReactorCircuitBreaker.obtain("commandKey"));
+    }
+
+    @Test
+    public void testOpenAtErrorThreshold() {
+        circuitBreaker.onSuccess(Admission.CLOSED);
+        circuitBreaker.onFailure(Admission.CLOSED, 50, 4);
+        circuitBreaker.onFailure(Admission.CLOSED, 50, 4);
+        assertFalse(circuitBreaker.isOpen());
+        circuitBreaker.onSuccess(Admission.CLOSED);
+        circuitBreaker.onFailure(Admission.CLOSED, 50, 4);
+        assertTrue(circuitBreaker.isOpen());
+        assertEquals(Admission.REJECTED, circuitBreaker.allowRequest(5000));
+    }
+
+    @Test
+    public void testInflightOutcomesAfterOpen() {
+        circuitBreaker.onFailure(Admission.CLOSED, 50, 1);
+        assertTrue(circuitBreaker.isOpen());
+        circuitBreaker.onSuccess(Admission.CLOSED);
+        circuitBreaker.onSuccess(Admission.CLOSED);
+        assertTrue(circuitBreaker.isOpen());
+        assertEquals(Admission.REJECTED, circuitBreaker.allowRequest(5000));
+    }
+
+    @Test
+    public void testTrialAfterSleepWindow() throws InterruptedException {
+        circuitBreaker.onFailure(Admission.CLOSED, 50, 1);
+        assertTrue(circuitBreaker.isOpen());
+        TimeUnit.MILLISECONDS.sleep(20);
+        assertEquals(Admission.TRIAL, circuitBreaker.allowRequest(10));
+        TimeUnit.MILLISECONDS.sleep(20);
+        assertEquals(Admission.REJECTED, circuitBreaker.allowRequest(10));
+        circuitBreaker.onSuccess(Admission.CLOSED);
+        assertTrue(circuitBreaker.isOpen());
+        circuitBreaker.onFailure(Admission.TRIAL, 50, 1);
+        assertEquals(Admission.REJECTED, circuitBreaker.allowRequest(10));
+        TimeUnit.MILLISECONDS.sleep(20);
+        assertEquals(Admission.TRIAL, circuitBreaker.allowRequest(10));
+        circuitBreaker.onSuccess(Admission.TRIAL);
+        assertFalse(circuitBreaker.isOpen());
+        assertEquals(Admission.CLOSED, circuitBreaker.allowRequest(10));
+    }
+
+    @Test
+    public void testTrialCancelled() throws InterruptedException {
+        circuitBreaker.onFailure(Admission.CLOSED, 50, 1);
+        TimeUnit.MILLISECONDS.sleep(20);
+        assertEquals(Admission.TRIAL, circuitBreaker.allowRequest(10));
+        circuitBreaker.onCancel(Admission.TRIAL);
+        TimeUnit.MILLISECONDS.sleep(20);
+        assertEquals(Admission.TRIAL, circuitBreaker.allowRequest(10));
+    }
+
+    @Test
+    public void testBulkhead() {
+        assertTrue(circuitBreaker.tryAcquire(2));
+        assertTrue(circuitBreaker.tryAcquire(2));
+        assertFalse(circuitBreaker.tryAcquire(2));
+        circuitBreaker.release();
+        assertEquals(1, circuitBreaker.getInflight());
+        assertTrue(circuitBreaker.tryAcquire(2));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.hystrix.command;
+
+import org.apache.shenyu.common.dto.convert.rule.HystrixHandle;
+import org.apache.shenyu.common.enums.HystrixIsolationModeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The Test Case For ReactorCommand.
+ */
+public final class ReactorCommandTest {
+
+    private HystrixHandle hystrixHandle;
+
+    private ShenyuPluginChain chain;
+
+    @BeforeEach
+    public void setUp() {
+        ReactorCircuitBreaker.clear();
+        hystrixHandle = new HystrixHandle();
+        hystrixHandle.setCommandKey("commandKey");
+        hystrixHandle.setExecutionIsolationStrategy(HystrixIsolationModeEnum.REACTOR.getCode());
+        chain = mock(ShenyuPluginChain.class);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+    }
+
+    @Test
+    public void testExecute() {
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        ServerWebExchange exchange = exchange();
+        StepVerifier.create(command(exchange).execute()).verifyComplete();
+        assertNull(exchange.getResponse().getStatusCode());
+        assertEquals(0, ReactorCircuitBreaker.obtain("commandKey").getInflight());
+    }
+
+    @Test
+    public void testFallbackAndOpen() {
+        hystrixHandle.setRequestVolumeThreshold(2);
+        when(chain.execute(any())).thenReturn(Mono.error(new IllegalStateException()));
+        for (int i = 0; i < 3; i++) {
+            ServerWebExchange exchange = exchange();
+            StepVerifier.create(command(exchange).execute()).verifyComplete();
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange.getResponse().getStatusCode());
+        }
+        verify(chain, times(2)).execute(any());
+        assertTrue(command(exchange()).isCircuitBreakerOpen());
+    }
+
+    @Test
+    public void testTimeout() {
+        hystrixHandle.setTimeout(10);
+        when(chain.execute(any())).thenReturn(Mono.never());
+        ServerWebExchange exchange = exchange();
+        StepVerifier.create(command(exchange).execute()).verifyComplete();
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void testSemaphoreRejected() {
+        hystrixHandle.setMaxConcurrentRequests(1);
+        when(chain.execute(any())).thenReturn(Mono.never());
+        Disposable inflight = command(exchange()).execute().subscribe();
+        ServerWebExchange exchange = exchange();
+        StepVerifier.create(command(exchange).execute()).verifyComplete();
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange.getResponse().getStatusCode());
+        inflight.dispose();
+        assertEquals(0, ReactorCircuitBreaker.obtain("commandKey").getInflight());
+    }
+
+    @Test
+    public void testInflightSuccessAfterOpen() {
+        hystrixHandle.setRequestVolumeThreshold(1);
+        Sinks.Empty<Void> inflight = Sinks.empty();
+        when(chain.execute(any())).thenReturn(inflight.asMono(), Mono.error(new IllegalStateException()));
+        final Disposable admitted = command(exchange()).execute().subscribe();
+        StepVerifier.create(command(exchange()).execute()).verifyComplete();
+        assertTrue(command(exchange()).isCircuitBreakerOpen());
+        inflight.tryEmitEmpty();
+        assertTrue(admitted.isDisposed());
+        assertTrue(command(exchange()).isCircuitBreakerOpen());
+        verify(chain, times(2)).execute(any());
+    }
+
+    @Test
+    public void testNotSubscribedHoldsNoPermit() {
+        hystrixHandle.setMaxConcurrentRequests(1);
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        command(exchange()).execute();
+        ServerWebExchange exchange = exchange();
+        StepVerifier.create(command(exchange).execute()).verifyComplete();
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    private ReactorCommand command(final ServerWebExchange exchange) {
+        return new ReactorCommand(hystrixHandle, hystrixHandle.getCommandKey(), exchange, chain);
+    }
+
+    private static ServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:8080/http").build());
+    }
+}
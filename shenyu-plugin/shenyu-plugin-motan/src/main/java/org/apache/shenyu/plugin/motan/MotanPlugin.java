@@ -37,13 +37,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Motan plugin.
  */
 public class MotanPlugin extends AbstractShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.MOTAN));
+
     private static final Logger LOG = LoggerFactory.getLogger(MotanPlugin.class);
 
     private final MotanProxyService motanProxyService;
@@ -92,14 +97,13 @@ public class MotanPlugin extends AbstractShenyuPlugin {
     }
 
     /**
-     * plugin is execute.
+     * the plugin is only executed for its own rpc type.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @return the rpc types the plugin is executed for.
      */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.MOTAN);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
     
     @Override
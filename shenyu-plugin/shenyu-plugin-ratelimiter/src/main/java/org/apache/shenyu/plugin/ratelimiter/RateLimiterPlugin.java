@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.ratelimiter;
 
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
@@ -29,13 +30,19 @@ import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.executor.AdaptiveConcurrencyLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.LeasedRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.apache.shenyu.plugin.ratelimiter.resolver.RateLimiterKeyResolverFactory;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -45,13 +52,35 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
 
     private final RedisRateLimiter redisRateLimiter;
 
+    private final LocalRateLimiter localRateLimiter;
+
+    private final LeasedRateLimiter leasedRateLimiter;
+
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
     /**
      * Instantiates a new Rate limiter plugin.
      *
      * @param redisRateLimiter  the redis rate limiter
      */
     public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, new LocalRateLimiter(), new LeasedRateLimiter(), new AdaptiveConcurrencyLimiter());
+    }
+
+    /**
+     * Instantiates a new Rate limiter plugin.
+     *
+     * @param redisRateLimiter  the redis rate limiter
+     * @param localRateLimiter  the local rate limiter
+     * @param leasedRateLimiter  the leased rate limiter
+     * @param adaptiveConcurrencyLimiter  the adaptive concurrency limiter
+     */
+    public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final LocalRateLimiter localRateLimiter,
+                             final LeasedRateLimiter leasedRateLimiter, final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
         this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
+        this.leasedRateLimiter = leasedRateLimiter;
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
     }
 
     @Override
@@ -71,17 +100,63 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
         String resolverKey = Optional.ofNullable(limiterHandle.getKeyResolverName())
                 .flatMap(name -> Optional.of("-" + RateLimiterKeyResolverFactory.newInstance(name).resolve(exchange)))
                 .orElse("");
-        return redisRateLimiter.isAllowed(rule.getId() + resolverKey, limiterHandle)
-                .flatMap(response -> {
-                    if (!response.isAllowed()) {
-                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS);
-                        return WebFluxResultUtils.result(exchange, error);
-                    }
-                    return chain.execute(exchange).doFinally(signalType -> {
-                        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
-                        rateLimiterAlgorithm.callback(rateLimiterAlgorithm.getScript(), response.getKeys(), null);
-                    });
-                });
+        if (AdaptiveConcurrencyLimiter.ENGINE.equals(limiterHandle.getLimiterEngine())) {
+            return adaptive(exchange, chain, selector.getId() + resolverKey, limiterHandle);
+        }
+        final String id = rule.getId() + resolverKey;
+        final boolean local = LocalRateLimiter.ENGINE.equals(limiterHandle.getLimiterEngine());
+        final boolean leased = LeasedRateLimiter.ENGINE.equals(limiterHandle.getLimiterEngine());
+        final Mono<RateLimiterResponse> allowed;
+        if (local) {
+            allowed = localRateLimiter.isAllowed(id, limiterHandle);
+        } else if (leased) {
+            allowed = leasedRateLimiter.isAllowed(id, limiterHandle);
+        } else {
+            allowed = redisRateLimiter.isAllowed(id, limiterHandle);
+        }
+        return allowed.flatMap(response -> {
+            if (!response.isAllowed()) {
+                return tooManyRequests(exchange);
+            }
+            return chain.execute(exchange).doFinally(signalType -> {
+                if (local) {
+                    localRateLimiter.release(limiterHandle, response);
+                    return;
+                }
+                if (leased) {
+                    return;
+                }
+                RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+                rateLimiterAlgorithm.callback(rateLimiterAlgorithm.getScript(), response.getKeys(), null);
+            });
+        });
+    }
+
+    /**
+     * The adaptive concurrency limit is shared by the rules of the selector, as they share its upstreams.
+     * The round trip time is the one of the upstream if an http client plugin recorded it, or the one of the chain.
+     */
+    private Mono<Void> adaptive(final ServerWebExchange exchange, final ShenyuPluginChain chain, final String id, final RateLimiterHandle limiterHandle) {
+        return adaptiveConcurrencyLimiter.isAllowed(id, limiterHandle).flatMap(response -> {
+            if (!response.isAllowed()) {
+                return tooManyRequests(exchange);
+            }
+            final long startNanos = System.nanoTime();
+            return chain.execute(exchange).doFinally(signalType -> {
+                // the http client plugins record the upstream round trip, without the write of the response to the client
+                final Long upstreamRtt = exchange.getAttribute(Constants.HTTP_UPSTREAM_RTT);
+                final long rttNanos = SignalType.CANCEL == signalType ? -1L
+                        : Optional.ofNullable(upstreamRtt).orElseGet(() -> System.nanoTime() - startNanos);
+                final HttpStatus status = exchange.getResponse().getStatusCode();
+                final boolean dropped = SignalType.ON_ERROR == signalType || (Objects.nonNull(status) && status.is5xxServerError());
+                adaptiveConcurrencyLimiter.release(response, rttNanos, dropped);
+            });
+        });
+    }
+
+    private Mono<Void> tooManyRequests(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS);
+        return WebFluxResultUtils.result(exchange, error);
     }
 }
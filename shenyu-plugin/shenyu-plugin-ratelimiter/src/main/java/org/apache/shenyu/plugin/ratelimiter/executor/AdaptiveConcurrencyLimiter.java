@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The adaptive concurrency limiter, it limits the in-flight requests of a key on the gateway node to a limit
+ * following the round trip time of the requests, the burst capacity of the handle is the ceiling of the limit.
+ * <p>Every window of samples, the limit is moved by the gradient of the long term average to the window average
+ * of the round trip time, plus a queue allowance of its square root, and smoothed. A slower upstream so shrinks the
+ * limit down to the half per window, and a window with upstream errors backs it off multiplicatively. The limit only
+ * grows while the requests in flight use at least the half of it.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * the engine name selecting the adaptive concurrency limiter in the rate limiter handle.
+     */
+    public static final String ENGINE = "adaptive";
+
+    private static final long MAXIMUM_KEYS = 100_000L;
+
+    private static final long IDLE_MINUTES = 10L;
+
+    private static final double INITIAL_LIMIT = 20d;
+
+    private static final double MIN_LIMIT = 1d;
+
+    private static final int WINDOW_SAMPLES = 10;
+
+    private static final int LONG_WINDOW_SAMPLES = 600;
+
+    /**
+     * the tolerance of the window average over the long term one before the limit shrinks.
+     */
+    private static final double RTT_TOLERANCE = 1.5d;
+
+    private static final double SMOOTHING = 0.2d;
+
+    private static final double BACKOFF_RATIO = 0.9d;
+
+    private final Cache<String, Limit> limits = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfterAccess(IDLE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Whether the request of the key is allowed, the request allowed is in flight until released.
+     *
+     * @param id the selector id and the resolved key
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} the decision, emitted at once
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        final double maxLimit = limiterHandle.getBurstCapacity();
+        if (maxLimit < MIN_LIMIT) {
+            return Mono.just(new RateLimiterResponse(false, 0, Collections.singletonList(id)));
+        }
+        final Limit limit = limits.get(id, key -> new Limit(Math.min(INITIAL_LIMIT, maxLimit)));
+        limit.raiseMaxLimit(maxLimit);
+        final int current = (int) limit.limit;
+        int inflight;
+        do {
+            inflight = limit.inflight.get();
+            if (inflight >= current) {
+                return Mono.just(new RateLimiterResponse(false, 0, Collections.singletonList(id)));
+            }
+        } while (!limit.inflight.compareAndSet(inflight, inflight + 1));
+        return Mono.just(new RateLimiterResponse(true, current - inflight - 1, Collections.singletonList(id)));
+    }
+
+    /**
+     * Release the request allowed, and sample its round trip time.
+     *
+     * @param response the response of {@link #isAllowed(String, RateLimiterHandle)}
+     * @param rttNanos the round trip time of the request, negative if the request was cancelled and not sampled
+     * @param dropped whether the request failed on the upstream
+     */
+    public void release(final RateLimiterResponse response, final long rttNanos, final boolean dropped) {
+        if (!response.isAllowed()) {
+            return;
+        }
+        final Limit limit = limits.getIfPresent(response.getKeys().get(0));
+        if (Objects.isNull(limit)) {
+            return;
+        }
+        if (rttNanos >= 0) {
+            limit.sample(rttNanos, dropped);
+        }
+        limit.inflight.decrementAndGet();
+    }
+
+    /**
+     * Get the current limit of the key.
+     *
+     * @param id the selector id and the resolved key
+     * @return the limit, 0 if the key has no limit yet
+     */
+    public int getLimit(final String id) {
+        final Limit limit = limits.getIfPresent(id);
+        return Objects.isNull(limit) ? 0 : (int) limit.limit;
+    }
+
+    /**
+     * The limit of a key.
+     */
+    private static final class Limit {
+
+        private final AtomicInteger inflight = new AtomicInteger();
+
+        private volatile double limit;
+
+        /**
+         * the ceiling of the limit, the largest burst capacity of the rules sharing the key in the last window.
+         */
+        private volatile double maxLimit;
+
+        private volatile double windowMaxLimit;
+
+        private double longRtt;
+
+        private long windowRtt;
+
+        private int windowSamples;
+
+        private boolean windowDropped;
+
+        private int maxInflight;
+
+        Limit(final double initialLimit) {
+            this.limit = initialLimit;
+            this.maxLimit = initialLimit;
+        }
+
+        void raiseMaxLimit(final double capacity) {
+            // racy on purpose, a lost raise is taken by the next request of the rule
+            if (capacity > windowMaxLimit) {
+                windowMaxLimit = capacity;
+            }
+            if (capacity > maxLimit) {
+                maxLimit = capacity;
+            }
+        }
+
+        synchronized void sample(final long rttNanos, final boolean dropped) {
+            windowRtt += rttNanos;
+            windowDropped |= dropped;
+            maxInflight = Math.max(maxInflight, inflight.get());
+            if (++windowSamples < WINDOW_SAMPLES) {
+                return;
+            }
+            final double shortRtt = Math.max((double) windowRtt / windowSamples, 1d);
+            final boolean backoff = windowDropped;
+            final boolean appLimited = maxInflight < limit / 2;
+            windowRtt = 0L;
+            windowSamples = 0;
+            windowDropped = false;
+            maxInflight = 0;
+            // a lowered capacity takes effect once no rule with a higher one was seen for a window,
+            // a window of the releases only keeps the ceiling
+            if (windowMaxLimit >= MIN_LIMIT) {
+                maxLimit = windowMaxLimit;
+                windowMaxLimit = 0d;
+            }
+            if (longRtt == 0d) {
+                longRtt = shortRtt;
+            } else {
+                longRtt += (shortRtt - longRtt) * WINDOW_SAMPLES / LONG_WINDOW_SAMPLES;
+                if (longRtt / shortRtt > 2) {
+                    // the latency dropped for good, let the long term average catch up rather than overshoot.
+                    longRtt *= 0.95d;
+                }
+            }
+            final double next;
+            if (backoff) {
+                next = limit * BACKOFF_RATIO;
+            } else {
+                final double gradient = Math.max(0.5d, Math.min(1d, RTT_TOLERANCE * longRtt / shortRtt));
+                final double estimate = limit * gradient + Math.sqrt(limit);
+                next = appLimited && estimate > limit ? limit : limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+            }
+            limit = Math.max(MIN_LIMIT, Math.min(maxLimit, next));
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The leased rate limiter, a global token bucket on redis whose tokens are leased by the gateway nodes in blocks.
+ * <p>A node serves the requests of a key from its lease, and renews the lease in the background once it runs low,
+ * so there is one redis call per lease rather than per request. The lease is sized to the traffic of the key on the
+ * node in the lease interval, bounded by the replenish rate and the burst capacity. The tokens not used within the
+ * lease ttl are dropped, so a node admits at most a lease of tokens later than the bucket granted them.</p>
+ */
+public class LeasedRateLimiter {
+
+    /**
+     * the engine name selecting the leased rate limiter in the rate limiter handle.
+     */
+    public static final String ENGINE = "lease";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeasedRateLimiter.class);
+
+    private static final long MAXIMUM_KEYS = 100_000L;
+
+    private static final long IDLE_MINUTES = 10L;
+
+    /**
+     * the target interval between two leases of a key.
+     */
+    private static final double LEASE_SECONDS = 0.1d;
+
+    private static final long LEASE_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RedisScript<List<Long>> script;
+
+    private final Cache<String, Lease> leases = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfterAccess(IDLE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private final LongAdder leaseRefreshCount = new LongAdder();
+
+    private final LongAdder localRejectCount = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LeasedRateLimiter() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(Constants.SCRIPT_PATH + RateLimitEnum.TOKEN_LEASE.getScriptName())));
+        redisScript.setResultType(List.class);
+        this.script = redisScript;
+    }
+
+    /**
+     * Whether the request of the key is allowed, served from the lease of the key if it has the tokens.
+     *
+     * @param id the rule id and the resolved key
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} the decision
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        final String prefix = RateLimitEnum.TOKEN_LEASE.getKeyName() + ".{" + id;
+        final List<String> keys = Arrays.asList(prefix + "}.tokens", prefix + "}.timestamp");
+        if (limiterHandle.getReplenishRate() <= 0 || limiterHandle.getBurstCapacity() <= 0) {
+            // the bucket never has a token, and redis can not keep it, so it is denied here rather than failing open on the error.
+            localRejectCount.increment();
+            return Mono.just(new RateLimiterResponse(false, 0, keys));
+        }
+        final Lease lease = leases.get(keys.get(0), key -> new Lease());
+        final long requested = Math.max((long) Math.ceil(limiterHandle.getRequestCount()), 1L);
+        final long now = System.nanoTime();
+        if (lease.tryAcquire(requested, now)) {
+            if (lease.isLow()) {
+                renew(lease, keys, limiterHandle, requested).subscribe();
+            }
+            return Mono.just(new RateLimiterResponse(true, lease.tokens.get(), keys));
+        }
+        if (now - lease.emptyUntil < 0) {
+            // the bucket was empty at the last lease, reject without asking redis again until a token is replenished.
+            localRejectCount.increment();
+            return Mono.just(new RateLimiterResponse(false, 0, keys));
+        }
+        return renew(lease, keys, limiterHandle, requested).map(granted -> {
+            if (lease.tryAcquire(requested, System.nanoTime())) {
+                return new RateLimiterResponse(true, lease.tokens.get(), keys);
+            }
+            localRejectCount.increment();
+            return new RateLimiterResponse(false, 0, keys);
+        });
+    }
+
+    /**
+     * Get the count of the leases from redis.
+     *
+     * @return the lease refresh count
+     */
+    public long getLeaseRefreshCount() {
+        return leaseRefreshCount.sum();
+    }
+
+    /**
+     * Get the count of the requests rejected for the lease without tokens.
+     *
+     * @return the local reject count
+     */
+    public long getLocalRejectCount() {
+        return localRejectCount.sum();
+    }
+
+    /**
+     * Renew the lease, the concurrent renewals of a lease share the one in flight.
+     */
+    private Mono<Long> renew(final Lease lease, final List<String> keys, final RateLimiterHandle limiterHandle, final long requested) {
+        final Mono<Long> inflight = lease.renewing.get();
+        if (Objects.nonNull(inflight)) {
+            return inflight;
+        }
+        final long size = lease.nextSize(limiterHandle, requested);
+        final Mono<Long> renewal = lease(keys, limiterHandle, size)
+                .onErrorResume(throwable -> {
+                    // fail open like the redis rate limiter, but bounded to the lease.
+                    LOG.error("Error occurred while leasing the tokens by LeasedRateLimiter:{}", throwable.getMessage());
+                    return Mono.just(size);
+                })
+                .doOnNext(granted -> lease.grant(granted, limiterHandle.getReplenishRate()))
+                .doFinally(signal -> lease.renewing.set(null))
+                .cache();
+        if (lease.renewing.compareAndSet(null, renewal)) {
+            leaseRefreshCount.increment();
+            return renewal;
+        }
+        return Optional.ofNullable(lease.renewing.get()).orElseGet(() -> Mono.just(0L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> lease(final List<String> keys, final RateLimiterHandle limiterHandle, final long size) {
+        final List<String> scriptArgs = Arrays.asList(String.valueOf(limiterHandle.getReplenishRate()), String.valueOf(limiterHandle.getBurstCapacity()),
+                String.valueOf(System.currentTimeMillis() / 1000d), String.valueOf(size));
+        final Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        return resultFlux.next().map(results -> results.get(0)).defaultIfEmpty(0L);
+    }
+
+    /**
+     * The lease of a key on the node.
+     */
+    private static final class Lease {
+
+        private final AtomicLong tokens = new AtomicLong();
+
+        private final AtomicLong served = new AtomicLong();
+
+        private final AtomicReference<Mono<Long>> renewing = new AtomicReference<>();
+
+        private volatile long expiresAt = System.nanoTime();
+
+        private volatile long emptyUntil = System.nanoTime();
+
+        private volatile long sizedAt = System.nanoTime();
+
+        private volatile long size = 1L;
+
+        boolean tryAcquire(final long requested, final long now) {
+            final long expires = expiresAt;
+            if (now - expires > 0) {
+                // the unused tokens of an expired lease are dropped, they are not admitted long after they were granted.
+                // a grant moves expiresAt before it adds its tokens, so the tokens of a concurrent grant are never dropped.
+                final long stale = tokens.get();
+                if (expires == expiresAt) {
+                    tokens.compareAndSet(stale, 0L);
+                }
+                return false;
+            }
+            long available;
+            do {
+                available = tokens.get();
+                if (available < requested) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(available, available - requested));
+            served.addAndGet(requested);
+            return true;
+        }
+
+        boolean isLow() {
+            return Objects.isNull(renewing.get()) && tokens.get() <= size / 2;
+        }
+
+        long nextSize(final RateLimiterHandle limiterHandle, final long requested) {
+            final long now = System.nanoTime();
+            final double elapsed = Math.max(now - sizedAt, TimeUnit.MILLISECONDS.toNanos(1));
+            final double observed = served.getAndSet(0L) * NANOS_PER_SECOND / elapsed;
+            sizedAt = now;
+            // a rate below one token per lease interval still leases one token at a time
+            final long max = Math.max((long) Math.min(limiterHandle.getBurstCapacity(), Math.floor(limiterHandle.getReplenishRate() * LEASE_SECONDS)), 1L);
+            final long next = Math.min((long) Math.ceil(observed * LEASE_SECONDS), max);
+            size = Math.max(next, requested);
+            return size;
+        }
+
+        void grant(final long granted, final double replenishRate) {
+            final long now = System.nanoTime();
+            expiresAt = now + LEASE_TTL_NANOS;
+            tokens.addAndGet(granted);
+            if (granted <= 0) {
+                final long replenishNanos = replenishRate > 0 ? (long) Math.min(NANOS_PER_SECOND / replenishRate, LEASE_TTL_NANOS) : LEASE_TTL_NANOS;
+                emptyUntil = now + replenishNanos;
+            }
+        }
+    }
+}
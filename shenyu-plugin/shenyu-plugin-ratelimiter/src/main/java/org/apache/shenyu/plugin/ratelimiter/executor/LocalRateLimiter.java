@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The local rate limiter, it limits the requests of the gateway node in memory rather than on redis.
+ * <p>The state of a key is a single long updated by compare and set, the theoretical arrival time of the token and
+ * the leaky bucket, the packed window counters of the sliding window, and the in-flight requests of the concurrent one.
+ * The keys are bounded, and evicted once idle.</p>
+ */
+public class LocalRateLimiter {
+
+    /**
+     * the engine name selecting the local rate limiter in the rate limiter handle.
+     */
+    public static final String ENGINE = "local";
+
+    private static final long MAXIMUM_KEYS = 100_000L;
+
+    private static final long IDLE_MINUTES = 10L;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int COUNT_BITS = 21;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private static final long EPOCH_MASK = (1L << (Long.SIZE - 2 * COUNT_BITS)) - 1;
+
+    /**
+     * the nano time base, the nano times from it are non-negative, so a new state of zero is a full bucket.
+     */
+    private static final long START_NANOS = System.nanoTime();
+
+    private final Cache<String, AtomicLong> states = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfterAccess(IDLE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Whether the request of the key is allowed.
+     *
+     * @param id the rule id and the resolved key
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} the decision, emitted at once
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        final RateLimitEnum algorithm = algorithm(limiterHandle.getAlgorithmName());
+        final String key = algorithm.getKeyName() + "." + id;
+        final AtomicLong state = states.get(key, k -> new AtomicLong());
+        final double rate = limiterHandle.getReplenishRate();
+        final double capacity = limiterHandle.getBurstCapacity();
+        if (rate <= 0 || capacity <= 0) {
+            return Mono.just(new RateLimiterResponse(false, 0, Collections.singletonList(key)));
+        }
+        final RateLimiterResponse response;
+        switch (algorithm) {
+            case CONCURRENT:
+                response = concurrent(state, capacity, key);
+                break;
+            case SLIDING_WINDOW:
+                response = slidingWindow(state, rate, capacity, key);
+                break;
+            case LEAKY_BUCKET:
+                response = bucket(state, rate, capacity, limiterHandle.getRequestCount(), true, key);
+                break;
+            default:
+                response = bucket(state, rate, capacity, limiterHandle.getRequestCount(), false, key);
+                break;
+        }
+        return Mono.just(response);
+    }
+
+    /**
+     * Release the request allowed, the concurrent rate limiter counts the in-flight requests.
+     *
+     * @param limiterHandle the limiter handle
+     * @param response the response of {@link #isAllowed(String, RateLimiterHandle)}
+     */
+    public void release(final RateLimiterHandle limiterHandle, final RateLimiterResponse response) {
+        if (RateLimitEnum.CONCURRENT != algorithm(limiterHandle.getAlgorithmName()) || !response.isAllowed()) {
+            return;
+        }
+        final AtomicLong state = states.getIfPresent(response.getKeys().get(0));
+        if (Objects.nonNull(state)) {
+            state.getAndUpdate(inflight -> Math.max(inflight - 1, 0));
+        }
+    }
+
+    private static RateLimitEnum algorithm(final String algorithmName) {
+        if ("concurrent".equals(algorithmName)) {
+            return RateLimitEnum.CONCURRENT;
+        }
+        if ("leakyBucket".equals(algorithmName)) {
+            return RateLimitEnum.LEAKY_BUCKET;
+        }
+        if ("slidingWindow".equals(algorithmName)) {
+            return RateLimitEnum.SLIDING_WINDOW;
+        }
+        return RateLimitEnum.TOKEN_BUCKET;
+    }
+
+    private static long nanos() {
+        return System.nanoTime() - START_NANOS;
+    }
+
+    /**
+     * The token and the leaky bucket by the generic cell rate algorithm, the state is the time the bucket is full
+     * of tokens again, or empty of water, and a request pushes it forward by its requested count.
+     */
+    private static RateLimiterResponse bucket(final AtomicLong state, final double rate, final double capacity,
+                                              final double requested, final boolean leaky, final String key) {
+        final double interval = NANOS_PER_SECOND / rate;
+        final double tolerance = interval * capacity;
+        while (true) {
+            final long now = nanos();
+            final long prev = state.get();
+            final double base = Math.max(prev, now);
+            final double next = base + requested * interval;
+            final boolean allowed = next - now <= tolerance;
+            final double tokens = (tolerance - ((allowed ? next : base) - now)) / interval;
+            if (!allowed || state.compareAndSet(prev, (long) next)) {
+                final long remaining = leaky ? (long) Math.ceil(capacity - tokens + (allowed ? 0 : requested)) : (long) Math.floor(tokens);
+                return new RateLimiterResponse(allowed, remaining, Collections.singletonList(key));
+            }
+        }
+    }
+
+    /**
+     * The sliding window by the counts of the current and the previous window, the previous one weighted by its part
+     * still in the sliding window. the state packs the window epoch and the two counts.
+     */
+    private static RateLimiterResponse slidingWindow(final AtomicLong state, final double rate, final double capacity, final String key) {
+        final long window = Math.max((long) (capacity / rate * NANOS_PER_SECOND), 1L);
+        while (true) {
+            final long now = nanos();
+            final long epoch = (now / window) & EPOCH_MASK;
+            final long prev = state.get();
+            final long prevEpoch = prev >>> (2 * COUNT_BITS);
+            long previous = (prev >>> COUNT_BITS) & COUNT_MASK;
+            long current = prev & COUNT_MASK;
+            if (prevEpoch != epoch) {
+                previous = prevEpoch == ((epoch - 1) & EPOCH_MASK) ? current : 0;
+                current = 0;
+            }
+            final double estimated = previous * (1d - (double) (now % window) / window) + current;
+            if (estimated >= capacity) {
+                return new RateLimiterResponse(false, 0, Collections.singletonList(key));
+            }
+            final long next = epoch << (2 * COUNT_BITS) | previous << COUNT_BITS | Math.min(current + 1, COUNT_MASK);
+            if (state.compareAndSet(prev, next)) {
+                return new RateLimiterResponse(true, (long) Math.floor(capacity - estimated), Collections.singletonList(key));
+            }
+        }
+    }
+
+    private static RateLimiterResponse concurrent(final AtomicLong state, final double capacity, final String key) {
+        final long inflight = state.incrementAndGet();
+        if (inflight > capacity) {
+            state.decrementAndGet();
+            return new RateLimiterResponse(false, inflight - 1, Collections.singletonList(key));
+        }
+        return new RateLimiterResponse(true, inflight, Collections.singletonList(key));
+    }
+}
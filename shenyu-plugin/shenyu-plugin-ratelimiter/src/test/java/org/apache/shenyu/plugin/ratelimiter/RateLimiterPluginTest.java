@@ -40,13 +40,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -106,6 +110,54 @@ public final class RateLimiterPluginTest {
         assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
     }
 
+    /**
+     * rateLimiterPlugin doExecute , local engine case.
+     */
+    @Test
+    public void doExecuteLocalTest() {
+        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        rateLimiterHandle.setLimiterEngine("local");
+        rateLimiterHandle.setBurstCapacity(1);
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        when(ruleData.getId()).thenReturn("local");
+        RateLimiterPluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        assertNull(exchange.getResponse().getStatusCode());
+        StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        verify(redisRateLimiter, never()).isAllowed(anyString(), any(RateLimiterHandle.class));
+    }
+
+    /**
+     * rateLimiterPlugin doExecute , adaptive engine case.
+     */
+    @Test
+    public void doExecuteAdaptiveTest() {
+        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        rateLimiterHandle.setLimiterEngine("adaptive");
+        rateLimiterHandle.setBurstCapacity(1);
+        when(chain.execute(any())).thenReturn(Mono.never());
+        when(ruleData.getId()).thenReturn("adaptive");
+        when(selectorData.getId()).thenReturn("adaptive");
+        RateLimiterPluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        final Disposable inflight = rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData).subscribe();
+        assertNull(exchange.getResponse().getStatusCode());
+        StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        inflight.dispose();
+        ServerWebExchange next = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        StepVerifier.create(rateLimiterPlugin.doExecute(next, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        assertNull(next.getResponse().getStatusCode());
+        verify(redisRateLimiter, never()).isAllowed(anyString(), any(RateLimiterHandle.class));
+    }
+
     /**
      * named default value test case.
      */
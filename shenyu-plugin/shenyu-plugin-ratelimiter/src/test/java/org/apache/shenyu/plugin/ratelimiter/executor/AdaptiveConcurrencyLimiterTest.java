@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for AdaptiveConcurrencyLimiter.
+ */
+public final class AdaptiveConcurrencyLimiterTest {
+
+    private static final String DEFAULT_TEST_ID = "testId";
+
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    private RateLimiterHandle rateLimiterHandle;
+
+    @BeforeEach
+    public void setUp() {
+        adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter();
+        rateLimiterHandle = new RateLimiterHandle();
+        rateLimiterHandle.setLimiterEngine(AdaptiveConcurrencyLimiter.ENGINE);
+        rateLimiterHandle.setBurstCapacity(100);
+    }
+
+    @Test
+    public void limitInflightTest() {
+        rateLimiterHandle.setBurstCapacity(2);
+        RateLimiterResponse first = isAllowed();
+        assertTrue(first.isAllowed());
+        assertTrue(isAllowed().isAllowed());
+        assertFalse(isAllowed().isAllowed());
+        adaptiveConcurrencyLimiter.release(first, -1L, false);
+        assertTrue(isAllowed().isAllowed());
+    }
+
+    @Test
+    public void notPositiveCapacityTest() {
+        rateLimiterHandle.setBurstCapacity(0);
+        assertFalse(isAllowed().isAllowed());
+    }
+
+    @Test
+    public void limitFollowsLatencyTest() {
+        round(TimeUnit.MILLISECONDS.toNanos(10), false);
+        round(TimeUnit.MILLISECONDS.toNanos(10), false);
+        final int grown = adaptiveConcurrencyLimiter.getLimit(DEFAULT_TEST_ID);
+        assertTrue(grown > 20);
+        round(TimeUnit.MILLISECONDS.toNanos(100), false);
+        final int shrunk = adaptiveConcurrencyLimiter.getLimit(DEFAULT_TEST_ID);
+        assertTrue(shrunk < grown);
+        round(TimeUnit.MILLISECONDS.toNanos(100), true);
+        assertTrue(adaptiveConcurrencyLimiter.getLimit(DEFAULT_TEST_ID) < shrunk);
+    }
+
+    @Test
+    public void appLimitedNotGrowTest() {
+        for (int i = 0; i < 10; i++) {
+            adaptiveConcurrencyLimiter.release(isAllowed(), TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+        assertEquals(20, adaptiveConcurrencyLimiter.getLimit(DEFAULT_TEST_ID));
+    }
+
+    @Test
+    public void maxLimitOfRulesTest() {
+        round(TimeUnit.MILLISECONDS.toNanos(10), false);
+        round(TimeUnit.MILLISECONDS.toNanos(10), false);
+        assertTrue(adaptiveConcurrencyLimiter.getLimit(DEFAULT_TEST_ID) > 20);
+        RateLimiterHandle lowHandle = new RateLimiterHandle();
+        lowHandle.setLimiterEngine(AdaptiveConcurrencyLimiter.ENGINE);
+        lowHandle.setBurstCapacity(5);
+        List<RateLimiterResponse> responses = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            responses.add(isAllowed());
+        }
+        // the rule with the lower capacity runs last, it does not clamp the limit shared with the other rule
+        responses.add(adaptiveConcurrencyLimiter.isAllowed(DEFAULT_TEST_ID, lowHandle).block());
+        responses.forEach(allowed -> adaptiveConcurrencyLimiter.release(allowed, TimeUnit.MILLISECONDS.toNanos(10), false));
+        assertTrue(adaptiveConcurrencyLimiter.getLimit(DEFAULT_TEST_ID) > 5);
+    }
+
+    /**
+     * fill the limit with requests in flight, then release them all.
+     */
+    private void round(final long rttNanos, final boolean dropped) {
+        List<RateLimiterResponse> responses = new ArrayList<>();
+        RateLimiterResponse response = isAllowed();
+        while (response.isAllowed()) {
+            responses.add(response);
+            response = isAllowed();
+        }
+        responses.forEach(allowed -> adaptiveConcurrencyLimiter.release(allowed, rttNanos, dropped));
+    }
+
+    private RateLimiterResponse isAllowed() {
+        return adaptiveConcurrencyLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).block();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.utils.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LeasedRateLimiter test.
+ */
+public final class LeasedRateLimiterTest {
+
+    private static final String DEFAULT_TEST_ID = "testId";
+
+    private LeasedRateLimiter leasedRateLimiter;
+
+    private RateLimiterHandle rateLimiterHandle;
+
+    @BeforeEach
+    public void setUp() {
+        leasedRateLimiter = new LeasedRateLimiter();
+        rateLimiterHandle = new RateLimiterHandle();
+        rateLimiterHandle.setLimiterEngine(LeasedRateLimiter.ENGINE);
+        rateLimiterHandle.setReplenishRate(100);
+        rateLimiterHandle.setBurstCapacity(300);
+    }
+
+    /**
+     * the requests are served from one lease with one redis call.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void leaseServesRequestsTest() {
+        ReactiveRedisTemplate<?, ?> template = leasePreInit(Flux.just(Lists.newArrayList(10L, 290L)));
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                    .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+        }
+        verify(template, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+        assertEquals(1L, leasedRateLimiter.getLeaseRefreshCount());
+        assertEquals(0L, leasedRateLimiter.getLocalRejectCount());
+    }
+
+    /**
+     * an empty bucket rejects the following requests locally.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void emptyBucketRejectsLocallyTest() {
+        ReactiveRedisTemplate<?, ?> template = leasePreInit(Flux.just(Lists.newArrayList(0L, 0L)));
+        StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        verify(template, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+        assertEquals(2L, leasedRateLimiter.getLocalRejectCount());
+    }
+
+    /**
+     * each key has its own lease.
+     */
+    @Test
+    public void leasePerKeyTest() {
+        leasePreInit(Flux.just(Lists.newArrayList(1L, 0L)));
+        StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+        StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID + "-other", rateLimiterHandle))
+                .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+        assertTrue(leasedRateLimiter.getLeaseRefreshCount() >= 2L);
+    }
+
+    /**
+     * the lease is granted locally when redis fails.
+     */
+    @Test
+    public void redisErrorFailOpenTest() {
+        leasePreInit(Flux.error(Throwable::new));
+        StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+    }
+
+    /**
+     * a bucket without rate is denied without asking redis.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void zeroRateDeniedTest() {
+        ReactiveRedisTemplate<?, ?> template = leasePreInit(Flux.error(Throwable::new));
+        rateLimiterHandle.setReplenishRate(0);
+        StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        verify(template, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * a rate below one token per lease interval still leases one token.
+     */
+    @Test
+    public void lowRateLeasesOneTokenTest() {
+        leasePreInit(Flux.just(Lists.newArrayList(1L, 0L)));
+        rateLimiterHandle.setReplenishRate(1);
+        StepVerifier.create(leasedRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ReactiveRedisTemplate<?, ?> leasePreInit(final Flux<?> result) {
+        ReactiveRedisTemplate reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(result);
+        return reactiveRedisTemplate;
+    }
+}
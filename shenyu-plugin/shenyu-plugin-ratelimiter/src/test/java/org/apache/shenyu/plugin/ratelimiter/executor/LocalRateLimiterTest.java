@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for LocalRateLimiter.
+ */
+public final class LocalRateLimiterTest {
+
+    private LocalRateLimiter localRateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        localRateLimiter = new LocalRateLimiter();
+    }
+
+    @Test
+    public void tokenBucketTest() {
+        RateLimiterHandle handle = buildHandle("tokenBucket", 0.001, 3);
+        for (int i = 2; i >= 0; i--) {
+            RateLimiterResponse response = isAllowed("token", handle);
+            assertTrue(response.isAllowed());
+            assertEquals(i, response.getTokensRemaining());
+        }
+        assertFalse(isAllowed("token", handle).isAllowed());
+        assertTrue(isAllowed("other", handle).isAllowed());
+    }
+
+    @Test
+    public void tokenBucketRefillTest() throws InterruptedException {
+        RateLimiterHandle handle = buildHandle("tokenBucket", 100, 1);
+        assertTrue(isAllowed("refill", handle).isAllowed());
+        assertFalse(isAllowed("refill", handle).isAllowed());
+        TimeUnit.MILLISECONDS.sleep(20);
+        assertTrue(isAllowed("refill", handle).isAllowed());
+    }
+
+    @Test
+    public void leakyBucketTest() {
+        RateLimiterHandle handle = buildHandle("leakyBucket", 0.001, 2);
+        RateLimiterResponse response = isAllowed("leaky", handle);
+        assertTrue(response.isAllowed());
+        assertEquals(1, response.getTokensRemaining());
+        assertTrue(isAllowed("leaky", handle).isAllowed());
+        response = isAllowed("leaky", handle);
+        assertFalse(response.isAllowed());
+        assertEquals(3, response.getTokensRemaining());
+    }
+
+    @Test
+    public void slidingWindowTest() {
+        RateLimiterHandle handle = buildHandle("slidingWindow", 0.001, 2);
+        assertTrue(isAllowed("window", handle).isAllowed());
+        assertTrue(isAllowed("window", handle).isAllowed());
+        assertFalse(isAllowed("window", handle).isAllowed());
+    }
+
+    @Test
+    public void concurrentTest() {
+        RateLimiterHandle handle = buildHandle("concurrent", 1, 2);
+        RateLimiterResponse first = isAllowed("concurrent", handle);
+        assertTrue(first.isAllowed());
+        assertTrue(isAllowed("concurrent", handle).isAllowed());
+        RateLimiterResponse denied = isAllowed("concurrent", handle);
+        assertFalse(denied.isAllowed());
+        localRateLimiter.release(handle, denied);
+        assertFalse(isAllowed("concurrent", handle).isAllowed());
+        localRateLimiter.release(handle, first);
+        assertTrue(isAllowed("concurrent", handle).isAllowed());
+    }
+
+    @Test
+    public void invalidHandleTest() {
+        assertFalse(isAllowed("invalid", buildHandle("tokenBucket", 0, 10)).isAllowed());
+        assertFalse(isAllowed("invalid", buildHandle("tokenBucket", 10, 0)).isAllowed());
+    }
+
+    @Test
+    public void parallelTest() throws InterruptedException {
+        RateLimiterHandle handle = buildHandle("tokenBucket", 0.001, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(2000);
+        for (int i = 0; i < 2000; i++) {
+            executor.execute(() -> {
+                if (isAllowed("parallel", handle).isAllowed()) {
+                    allowed.incrementAndGet();
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(1000, allowed.get());
+    }
+
+    private RateLimiterResponse isAllowed(final String id, final RateLimiterHandle handle) {
+        return localRateLimiter.isAllowed(id, handle).block();
+    }
+
+    private static RateLimiterHandle buildHandle(final String algorithmName, final double replenishRate, final double burstCapacity) {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setAlgorithmName(algorithmName);
+        handle.setReplenishRate(replenishRate);
+        handle.setBurstCapacity(burstCapacity);
+        handle.setLimiterEngine(LocalRateLimiter.ENGINE);
+        return handle;
+    }
+}
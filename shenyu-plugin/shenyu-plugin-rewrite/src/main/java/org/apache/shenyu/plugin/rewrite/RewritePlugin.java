@@ -34,13 +34,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Rewrite Plugin.
  */
 public class RewritePlugin extends AbstractShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> SKIP_RPC_TYPES = Collections.unmodifiableSet(
+            EnumSet.of(RpcTypeEnum.DUBBO, RpcTypeEnum.GRPC, RpcTypeEnum.TARS, RpcTypeEnum.MOTAN, RpcTypeEnum.SOFA, RpcTypeEnum.BRPC));
+
     private static final Logger LOG = LoggerFactory.getLogger(RewritePlugin.class);
 
     @Override
@@ -63,14 +69,8 @@ public class RewritePlugin extends AbstractShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skip(exchange,
-                RpcTypeEnum.DUBBO,
-                RpcTypeEnum.GRPC,
-                RpcTypeEnum.TARS,
-                RpcTypeEnum.MOTAN,
-                RpcTypeEnum.SOFA,
-                RpcTypeEnum.BRPC);
+    public Set<RpcTypeEnum> skipRpcTypes() {
+        return SKIP_RPC_TYPES;
     }
 
     @Override
@@ -38,14 +38,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The sofa plugin.
  */
 public class SofaPlugin extends AbstractShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.SOFA));
+
     private static final Logger LOG = LoggerFactory.getLogger(SofaPlugin.class);
 
     private final SofaProxyService sofaProxyService;
@@ -94,14 +99,13 @@ public class SofaPlugin extends AbstractShenyuPlugin {
     }
 
     /**
-     * plugin is execute.
+     * the plugin is only executed for its own rpc type.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @return the rpc types the plugin is executed for.
      */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.SOFA);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
     
     @Override
@@ -39,13 +39,18 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * this is springCloud proxy impl.
  */
 public class SpringCloudPlugin extends AbstractShenyuPlugin {
 
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.SPRING_CLOUD));
+
     private final ShenyuSpringCloudServiceChooser serviceChooser;
     
     private final SpringCloudRuleHandle defaultRuleHandle = new SpringCloudRuleHandle();
@@ -98,14 +103,13 @@ public class SpringCloudPlugin extends AbstractShenyuPlugin {
     }
 
     /**
-     * plugin is execute.
+     * the plugin is only executed for its own rpc type.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @return the rpc types the plugin is executed for.
      */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.SPRING_CLOUD);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
 
     @Override
@@ -36,6 +36,7 @@ import org.apache.shenyu.plugin.api.utils.RequestQueryCodecUtil;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.utils.LoadBalanceKeyUtils;
 import org.apache.shenyu.plugin.websocket.handler.WebSocketPluginDataHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,14 +55,18 @@ import reactor.core.publisher.Mono;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * The type Web socket plugin.
  */
 public class WebSocketPlugin extends AbstractShenyuPlugin {
+
+    private static final Set<RpcTypeEnum> EXCEPT_RPC_TYPES = Collections.unmodifiableSet(EnumSet.of(RpcTypeEnum.WEB_SOCKET));
     
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketPlugin.class);
     
@@ -94,7 +99,7 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
             return chain.execute(exchange);
         }
         final WebSocketRuleHandle ruleHandle = buildRuleHandle(rule);
-        final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
+        final String ip = LoadBalanceKeyUtils.acquireHashKey(exchange);
         Upstream upstream = LoadBalancerFactory.selector(upstreamList, ruleHandle.getLoadBalance(), ip);
         if (Objects.isNull(upstream)) {
             LOG.error("websocket has no upstream");
@@ -155,13 +160,13 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
     }
     
     /**
-     * plugin is execute.
+     * the plugin is only executed for its own rpc type.
      *
-     * @return default false.
+     * @return the rpc types the plugin is executed for.
      */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.WEB_SOCKET);
+    public Set<RpcTypeEnum> skipExceptRpcTypes() {
+        return EXCEPT_RPC_TYPES;
     }
     
     @Override
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.springboot.starter.gateway;
 
+import io.netty.channel.EventLoopGroup;
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
@@ -25,6 +26,7 @@ import org.apache.shenyu.plugin.base.cache.CommonMetaDataSubscriber;
 import org.apache.shenyu.plugin.base.cache.CommonPluginDataSubscriber;
 import org.apache.shenyu.plugin.base.handler.MetaDataHandler;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.plugin.base.trie.CompactShenyuTrie;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrieRuleListener;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
@@ -83,15 +85,17 @@ public class ShenyuConfiguration {
      *
      * @param plugins this plugins is All impl ShenyuPlugin.
      * @param config the config
+     * @param eventLoops the event loops of the server
      * @return {@linkplain ShenyuWebHandler}
      */
     @Bean("webHandler")
-    public ShenyuWebHandler shenyuWebHandler(final ObjectProvider<List<ShenyuPlugin>> plugins, final ShenyuConfig config) {
+    public ShenyuWebHandler shenyuWebHandler(final ObjectProvider<List<ShenyuPlugin>> plugins, final ShenyuConfig config,
+                                             final ObjectProvider<EventLoopGroup> eventLoops) {
         List<ShenyuPlugin> pluginList = plugins.getIfAvailable(Collections::emptyList);
         List<ShenyuPlugin> shenyuPlugins = pluginList.stream()
                 .sorted(Comparator.comparingInt(ShenyuPlugin::getOrder)).collect(Collectors.toList());
         shenyuPlugins.forEach(shenyuPlugin -> LOG.info("load plugin:[{}] [{}]", shenyuPlugin.named(), shenyuPlugin.getClass().getName()));
-        return new ShenyuWebHandler(shenyuPlugins, config);
+        return new ShenyuWebHandler(shenyuPlugins, config, eventLoops.getIfUnique());
     }
     
     /**
@@ -107,11 +111,12 @@ public class ShenyuConfiguration {
     /**
      * Param transform plugin.
      *
+     * @param shenyuConfig the shenyu config
      * @return the shenyu plugin
      */
     @Bean
-    public ShenyuPlugin paramTransformPlugin() {
-        return new RpcParamTransformPlugin();
+    public ShenyuPlugin paramTransformPlugin(final ShenyuConfig shenyuConfig) {
+        return new RpcParamTransformPlugin(shenyuConfig.getParamTransform().getMaxBodySize());
     }
     
     /**
@@ -260,17 +265,30 @@ public class ShenyuConfiguration {
     }
 
     /**
-     * shenyu trie config.
+     * shenyu trie config, it is still exposed as a ShenyuTrie for the existing callers.
      *
      * @param shenyuConfig shenyu trie config
      * @return ShenyuTrie
      */
     @Bean
+    @ConditionalOnProperty(name = "shenyu.trie.compact-enabled", havingValue = "false", matchIfMissing = true)
     public ShenyuTrie shenyuTrie(final ShenyuConfig shenyuConfig) {
         return new ShenyuTrie(shenyuConfig.getTrie().getChildrenSize(), shenyuConfig.getTrie().getPathRuleCacheSize(),
                 shenyuConfig.getTrie().getPathVariableSize(), shenyuConfig.getTrie().getMatchMode());
     }
 
+    /**
+     * compact shenyu trie config.
+     *
+     * @param shenyuConfig shenyu trie config
+     * @return CompactShenyuTrie
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shenyu.trie.compact-enabled", havingValue = "true")
+    public CompactShenyuTrie compactShenyuTrie(final ShenyuConfig shenyuConfig) {
+        return new CompactShenyuTrie(shenyuConfig.getTrie().getMatchMode());
+    }
+
     /**
      * shenyu trie listener.
      *
@@ -17,6 +17,9 @@
 
 package org.apache.shenyu.springboot.starter.netty;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * The netty tcp properties.
  */
@@ -34,6 +37,8 @@ public class NettyHttpProperties {
 
     private SocketChannelProperties socketChannel = new SocketChannelProperties();
 
+    private CompressionProperties compression = new CompressionProperties();
+
     /**
      * get webServerFactoryEnabled.
      *
@@ -143,6 +148,24 @@ public class NettyHttpProperties {
         this.accessLog = accessLog;
     }
 
+    /**
+     * get compression.
+     *
+     * @return compression
+     */
+    public CompressionProperties getCompression() {
+        return compression;
+    }
+
+    /**
+     * set compression.
+     *
+     * @param compression response compression config
+     */
+    public void setCompression(final CompressionProperties compression) {
+        this.compression = compression;
+    }
+
     public static class ServerSocketChannelProperties extends NettyChannelProperties {
 
         private Integer soBacklog = 128;
@@ -287,4 +310,71 @@ public class NettyHttpProperties {
             this.allowHalfClosure = allowHalfClosure;
         }
     }
+
+    /**
+     * The response compression, negotiated with the client by the netty http content compressor.
+     */
+    public static class CompressionProperties {
+
+        private Boolean enabled = false;
+
+        private Integer minResponseSize = 2048;
+
+        private List<String> mimeTypes = Arrays.asList("text/html", "text/xml", "text/plain", "text/css", "text/javascript",
+                "application/javascript", "application/json", "application/xml");
+
+        /**
+         * get enabled.
+         *
+         * @return enabled
+         */
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        /**
+         * set enabled.
+         *
+         * @param enabled whether the responses are compressed
+         */
+        public void setEnabled(final Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * get minResponseSize.
+         *
+         * @return minResponseSize
+         */
+        public Integer getMinResponseSize() {
+            return minResponseSize;
+        }
+
+        /**
+         * set minResponseSize.
+         *
+         * @param minResponseSize the min content length in bytes of a compressed response
+         */
+        public void setMinResponseSize(final Integer minResponseSize) {
+            this.minResponseSize = minResponseSize;
+        }
+
+        /**
+         * get mimeTypes.
+         *
+         * @return mimeTypes
+         */
+        public List<String> getMimeTypes() {
+            return mimeTypes;
+        }
+
+        /**
+         * set mimeTypes.
+         *
+         * @param mimeTypes the content types of the compressed responses
+         */
+        public void setMimeTypes(final List<String> mimeTypes) {
+            this.mimeTypes = mimeTypes;
+        }
+    }
 }
@@ -18,7 +18,9 @@
 package org.apache.shenyu.springboot.starter.netty;
 
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -26,16 +28,29 @@ import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory
 import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
 import reactor.netty.resources.LoopResources;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * The type shenyu netty web server factory.
  */
 @Configuration
 public class ShenyuNettyWebServerConfiguration {
+
+    /**
+     * the loop resources of the server, shared by the server and the event loops bean.
+     */
+    private LoopResources loopResources;
     
     /**
      * Netty tcp config.
@@ -59,26 +74,108 @@ public class ShenyuNettyWebServerConfiguration {
     public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(final ObjectProvider<NettyHttpProperties> properties) {
         NettyReactiveWebServerFactory webServerFactory = new NettyReactiveWebServerFactory();
         NettyHttpProperties nettyHttpProperties = Optional.ofNullable(properties.getIfAvailable()).orElse(new NettyHttpProperties());
-        webServerFactory.addServerCustomizers(new EventLoopNettyCustomizer(nettyHttpProperties));
+        webServerFactory.addServerCustomizers(new EventLoopNettyCustomizer(nettyHttpProperties, obtainLoopResources(nettyHttpProperties)));
+        if (Boolean.TRUE.equals(nettyHttpProperties.getCompression().getEnabled())) {
+            webServerFactory.addServerCustomizers(new CompressionNettyCustomizer(nettyHttpProperties.getCompression()));
+        }
         return webServerFactory;
     }
 
+    /**
+     * The event loops of the netty server, the load shedding probes their queueing delay.
+     *
+     * @param properties the properties
+     * @return the event loop group the server runs on
+     */
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(value = "shenyu.netty.http.web-server-factory-enabled", havingValue = "true", matchIfMissing = true)
+    public EventLoopGroup shenyuNettyEventLoops(final ObjectProvider<NettyHttpProperties> properties) {
+        NettyHttpProperties nettyHttpProperties = Optional.ofNullable(properties.getIfAvailable()).orElse(new NettyHttpProperties());
+        // the server runs on the loops of the same native preference
+        return obtainLoopResources(nettyHttpProperties).onServer(LoopResources.DEFAULT_NATIVE);
+    }
+
+    private synchronized LoopResources obtainLoopResources(final NettyHttpProperties nettyHttpProperties) {
+        if (Objects.isNull(loopResources)) {
+            loopResources = LoopResources.create("shenyu-netty", nettyHttpProperties.getSelectCount(), nettyHttpProperties.getWorkerCount(), true);
+        }
+        return loopResources;
+    }
+
+    /**
+     * Compress the responses by the pooled netty http content compressor, it negotiates gzip, deflate
+     * and brotli when the brotli native library is on the classpath with the client.
+     * only the responses of the allowed content types from the min size are compressed, the streaming ones never are,
+     * the compressor would hold back their events.
+     */
+    static class CompressionNettyCustomizer implements NettyServerCustomizer {
+
+        private static final List<MediaType> STREAMING_MEDIA_TYPES = Arrays.asList(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_NDJSON);
+
+        private final NettyHttpProperties.CompressionProperties compression;
+
+        private final List<MediaType> mimeTypes;
+
+        /**
+         * Instantiates a new Compression netty customizer.
+         *
+         * @param compression the compression config
+         */
+        CompressionNettyCustomizer(final NettyHttpProperties.CompressionProperties compression) {
+            this.compression = compression;
+            this.mimeTypes = compression.getMimeTypes().stream().map(MediaType::parseMediaType).collect(Collectors.toList());
+        }
+
+        @Override
+        public HttpServer apply(final HttpServer httpServer) {
+            return httpServer.compress(Math.max(compression.getMinResponseSize(), 0)).compress(this::shouldCompress);
+        }
+
+        /**
+         * Whether the response is compressed by its content type.
+         *
+         * @param request the request
+         * @param response the response
+         * @return true if it is compressed
+         */
+        boolean shouldCompress(final HttpServerRequest request, final HttpServerResponse response) {
+            final String contentType = response.responseHeaders().get(HttpHeaderNames.CONTENT_TYPE);
+            if (Objects.isNull(contentType)) {
+                return false;
+            }
+            final MediaType mediaType;
+            try {
+                mediaType = MediaType.parseMediaType(contentType);
+            } catch (InvalidMediaTypeException e) {
+                return false;
+            }
+            if (STREAMING_MEDIA_TYPES.stream().anyMatch(mediaType::isCompatibleWith)) {
+                return false;
+            }
+            return mimeTypes.stream().anyMatch(mediaType::isCompatibleWith);
+        }
+    }
+
     private static class EventLoopNettyCustomizer implements NettyServerCustomizer {
 
         private final NettyHttpProperties nettyHttpProperties;
+
+        private final LoopResources loopResources;
     
         /**
          * Instantiates a new Event loop netty customizer.
          *
          * @param nettyHttpProperties the netty tcp config
+         * @param loopResources the loop resources the server runs on
          */
-        EventLoopNettyCustomizer(final NettyHttpProperties nettyHttpProperties) {
+        EventLoopNettyCustomizer(final NettyHttpProperties nettyHttpProperties, final LoopResources loopResources) {
             this.nettyHttpProperties = nettyHttpProperties;
+            this.loopResources = loopResources;
         }
 
         @Override
         public HttpServer apply(final HttpServer httpServer) {
-            return httpServer.runOn(LoopResources.create("shenyu-netty", nettyHttpProperties.getSelectCount(), nettyHttpProperties.getWorkerCount(), true))
+            return httpServer.runOn(loopResources)
                     .accessLog(nettyHttpProperties.getAccessLog())
                     // server socket channel parameters
                     .option(ChannelOption.SO_BACKLOG, nettyHttpProperties.getServerSocketChannel().getSoBacklog())
@@ -17,16 +17,26 @@
 
 package org.apache.shenyu.springboot.starter.netty;
 
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.Arrays;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Test case for {@link ShenyuNettyWebServerConfiguration}.
@@ -101,4 +111,43 @@ public class ShenyuNettyWebServerConfigurationTest {
                 assertThat(properties.getSocketChannel().getSingleEventExecutorPerGroup(), is(false));
             });
     }
+
+    @Test
+    public void testCompressionProperties() {
+        applicationContextRunner
+            .withPropertyValues(
+                "shenyu.netty.http.compression.enabled=true",
+                "shenyu.netty.http.compression.minResponseSize=1024",
+                "shenyu.netty.http.compression.mimeTypes=application/json,text/*"
+            )
+            .run(context -> {
+                NettyHttpProperties properties = context.getBean("nettyTcpProperties", NettyHttpProperties.class);
+                assertThat(properties.getCompression().getEnabled(), is(true));
+                assertThat(properties.getCompression().getMinResponseSize(), is(1024));
+                assertThat(properties.getCompression().getMimeTypes(), is(Arrays.asList("application/json", "text/*")));
+            });
+    }
+
+    @Test
+    public void testShouldCompress() {
+        NettyHttpProperties.CompressionProperties compression = new NettyHttpProperties.CompressionProperties();
+        compression.setMimeTypes(Arrays.asList("application/json", "text/*"));
+        ShenyuNettyWebServerConfiguration.CompressionNettyCustomizer customizer = new ShenyuNettyWebServerConfiguration.CompressionNettyCustomizer(compression);
+        assertTrue(customizer.shouldCompress(null, response("application/json;charset=UTF-8")));
+        assertTrue(customizer.shouldCompress(null, response("text/html")));
+        assertFalse(customizer.shouldCompress(null, response("text/event-stream")));
+        assertFalse(customizer.shouldCompress(null, response("image/png")));
+        assertFalse(customizer.shouldCompress(null, response("invalid")));
+        assertFalse(customizer.shouldCompress(null, response(null)));
+    }
+
+    private static HttpServerResponse response(final String contentType) {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        if (contentType != null) {
+            headers.set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        }
+        HttpServerResponse response = mock(HttpServerResponse.class);
+        when(response.responseHeaders()).thenReturn(headers);
+        return response;
+    }
 }
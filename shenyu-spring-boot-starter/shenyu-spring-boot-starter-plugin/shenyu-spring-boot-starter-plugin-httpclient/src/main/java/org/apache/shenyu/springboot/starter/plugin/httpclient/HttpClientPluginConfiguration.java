@@ -37,16 +37,19 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.DefaultSslContextSpec;
 import reactor.netty.tcp.SslProvider;
+import reactor.netty.transport.AddressUtils;
 import reactor.netty.transport.ProxyProvider;
 
 import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -109,11 +112,20 @@ public class HttpClientPluginConfiguration {
             httpClient.runOn(loopResources);
         }
         HttpClientProperties.Ssl ssl = properties.getSsl();
-        if (StringUtils.isNotEmpty(ssl.getKeyStorePath())
+        final boolean secure = StringUtils.isNotEmpty(ssl.getKeyStorePath())
                 || ArrayUtils.isNotEmpty(ssl.getTrustedX509CertificatesForTrustManager())
-                || ssl.isUseInsecureTrustManager()) {
+                || ssl.isUseInsecureTrustManager();
+        if (secure) {
             httpClient = httpClient.secure(sslContextSpec -> setSsl(sslContextSpec, ssl));
         }
+        HttpClientProperties.Http2 http2 = properties.getHttp2();
+        if (http2.isEnabled()) {
+            // a connection of the pool carries many streams, an upstream without HTTP/2 keeps HTTP/1.1
+            httpClient = httpClient.protocol(secure ? HttpProtocol.H2 : HttpProtocol.H2C, HttpProtocol.HTTP11);
+            if (Objects.nonNull(http2.getInitialWindowSize())) {
+                httpClient = httpClient.http2Settings(settings -> settings.initialWindowSize(http2.getInitialWindowSize()));
+            }
+        }
         if (properties.isWiretap()) {
             httpClient = httpClient.wiretap(true);
         }
@@ -163,20 +175,41 @@ public class HttpClientPluginConfiguration {
     }
 
     private ConnectionProvider buildConnectionProvider(final HttpClientProperties.Pool pool) {
-        ConnectionProvider connectionProvider;
         if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
-            connectionProvider = ConnectionProvider.newConnection();
-        } else if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
+            return ConnectionProvider.newConnection();
+        }
+        ConnectionProvider.Builder builder;
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
             // reactor remove fixed pool by fixed method from 0.9.4
             // reason: https://github.com/reactor/reactor-netty/issues/1499 and https://github.com/reactor/reactor-netty/issues/1960
-            connectionProvider = buildFixedConnectionPool(pool.getName(), pool.getMaxConnections(), pool.getAcquireTimeout(), pool.getMaxIdleTime());
+            builder = fixedConnectionPoolBuilder(pool.getName(), pool.getMaxConnections(), pool.getAcquireTimeout(), pool.getMaxIdleTime());
         } else {
             // please see https://projectreactor.io/docs/netty/release/reference/index.html#_connection_pool_2
             // reactor remove elastic pool by elastic method from 0.9.4
             // reason: https://github.com/reactor/reactor-netty/issues/1499 and https://github.com/reactor/reactor-netty/issues/1960
-            connectionProvider = buildElasticConnectionPool(pool.getName(), pool.getMaxIdleTime());
+            builder = elasticConnectionPoolBuilder(pool.getName(), pool.getMaxIdleTime());
         }
-        return connectionProvider;
+        // the pools are partitioned by the remote address, a slow upstream host only exhausts its own pool
+        for (HttpClientProperties.Pool.HostPool hostPool : pool.getHosts()) {
+            if (StringUtils.isBlank(hostPool.getHost()) || Objects.isNull(hostPool.getPort())) {
+                throw new IllegalArgumentException("Host and port of the host pool must be set");
+            }
+            final int maxConnections = Optional.ofNullable(hostPool.getMaxConnections()).orElse(pool.getMaxConnections());
+            final long acquireTimeout = Optional.ofNullable(hostPool.getAcquireTimeout()).orElse(pool.getAcquireTimeout());
+            final Duration maxIdleTime = Optional.ofNullable(hostPool.getMaxIdleTime()).map(Duration::ofMillis).orElse(pool.getMaxIdleTime());
+            if (maxConnections <= 0) {
+                throw new IllegalArgumentException("Max Connections value must be strictly positive");
+            }
+            if (acquireTimeout < 0) {
+                throw new IllegalArgumentException("Acquire Timeout value must be positive");
+            }
+            // the address of an ip host is resolved, as the remote address of the request is
+            builder.forRemoteHost(AddressUtils.createUnresolved(hostPool.getHost(), hostPool.getPort()), spec -> spec
+                    .maxConnections(maxConnections)
+                    .pendingAcquireTimeout(Duration.ofMillis(acquireTimeout))
+                    .maxIdleTime(maxIdleTime));
+        }
+        return builder.build();
     }
 
     /**
@@ -190,6 +223,11 @@ public class HttpClientPluginConfiguration {
      */
     public static ConnectionProvider buildFixedConnectionPool(final String poolName, final Integer maxConnections,
                                              final Long acquireTimeout, final Duration maxIdleTime) {
+        return fixedConnectionPoolBuilder(poolName, maxConnections, acquireTimeout, maxIdleTime).build();
+    }
+
+    private static ConnectionProvider.Builder fixedConnectionPoolBuilder(final String poolName, final Integer maxConnections,
+                                                                         final Long acquireTimeout, final Duration maxIdleTime) {
         if (maxConnections <= 0) {
             throw new IllegalArgumentException("Max Connections value must be strictly positive");
         }
@@ -199,8 +237,7 @@ public class HttpClientPluginConfiguration {
         return ConnectionProvider.builder(poolName)
                 .maxConnections(maxConnections)
                 .pendingAcquireTimeout(Duration.ofMillis(acquireTimeout))
-                .maxIdleTime(maxIdleTime)
-                .build();
+                .maxIdleTime(maxIdleTime);
     }
 
     /**
@@ -211,13 +248,16 @@ public class HttpClientPluginConfiguration {
      * @return {@link ConnectionProvider} elastic pool
      */
     public ConnectionProvider buildElasticConnectionPool(final String poolName, final Duration maxIdleTime) {
+        return elasticConnectionPoolBuilder(poolName, maxIdleTime).build();
+    }
+
+    private static ConnectionProvider.Builder elasticConnectionPoolBuilder(final String poolName, final Duration maxIdleTime) {
         // about the args, please see https://projectreactor.io/docs/netty/release/reference/index.html#_connection_pool_2
         return ConnectionProvider.builder(poolName)
                 .maxConnections(Integer.MAX_VALUE)
                 .pendingAcquireTimeout(Duration.ofMillis(0))
                 .pendingAcquireMaxCount(-1)
-                .maxIdleTime(maxIdleTime)
-                .build();
+                .maxIdleTime(maxIdleTime);
     }
 
     /**
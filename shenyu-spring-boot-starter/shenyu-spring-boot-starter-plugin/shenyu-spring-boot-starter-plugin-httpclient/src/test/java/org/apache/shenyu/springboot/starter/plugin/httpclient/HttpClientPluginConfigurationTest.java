@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.time.Duration;
+import java.util.Arrays;
 
 import io.netty.handler.ssl.SslProvider;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
@@ -33,6 +34,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Configuration;
 
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 
@@ -106,6 +108,34 @@ public class HttpClientPluginConfigurationTest {
                 });
     }
 
+    @Test
+    public void testHttpClientWithHostPoolsAndHttp2() {
+        applicationContextRunner
+                .withPropertyValues(
+                        "debug=true",
+                        "shenyu.httpclient.pool.type=FIXED",
+                        "shenyu.httpclient.pool.maxConnections=100",
+                        "shenyu.httpclient.pool.hosts[0].host=127.0.0.1",
+                        "shenyu.httpclient.pool.hosts[0].port=8189",
+                        "shenyu.httpclient.pool.hosts[0].maxConnections=10",
+                        "shenyu.httpclient.pool.hosts[0].maxIdleTime=3000",
+                        "shenyu.httpclient.http2.enabled=true",
+                        "shenyu.httpclient.http2.initialWindowSize=1048576"
+                )
+                .run(context -> {
+                    HttpClientProperties properties = context.getBean("httpClientProperties", HttpClientProperties.class);
+                    HttpClientProperties.Pool.HostPool hostPool = properties.getPool().getHosts().get(0);
+                    assertThat(hostPool.getHost(), is("127.0.0.1"));
+                    assertThat(hostPool.getPort(), is(8189));
+                    assertThat(hostPool.getMaxConnections(), is(10));
+                    assertThat(hostPool.getMaxIdleTime(), is(3000L));
+                    assertThat(properties.getHttp2().isEnabled(), is(true));
+                    assertThat(properties.getHttp2().getInitialWindowSize(), is(1048576));
+                    HttpClient client = context.getBean("httpClient", HttpClient.class);
+                    assertThat(Arrays.asList(client.configuration().protocols()).contains(HttpProtocol.H2C), is(true));
+                });
+    }
+
     @Test
     public void testWebClientPlugin() {
         applicationContextRunner
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.config.LoadSheddingConfig;
+import org.apache.shenyu.plugin.base.utils.PathMatchUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The admission of the requests by the load of the gateway, in front of the plugins.
+ * <p>The load is the larger of the requests in flight and the scheduling lag, each over its max. The lag is probed
+ * periodically where the requests are served, by the queueing delay of a task submitted to every event loop of the
+ * server and to the work scheduler if the requests are scheduled on it. The delay of the probe thread itself is kept
+ * as a secondary signal, it catches the gc pauses and the cpu saturation even if no event loop is known.
+ * A request is shed with a bare 503 once the load reaches the share of its priority, so the low priority requests are
+ * shed first and the critical ones last.</p>
+ */
+public final class LoadShedder {
+
+    private static final List<String> PRIORITIES = Arrays.asList("critical", "high", "normal", "low");
+
+    /**
+     * the load each priority is shed at.
+     */
+    private static final double[] SHED_LOADS = {1d, 0.85d, 0.7d, 0.5d};
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final LongAdder shedCount = new LongAdder();
+
+    private final double maxInflight;
+
+    private final double maxLagNanos;
+
+    private final long probeIntervalNanos;
+
+    private final String priorityHeader;
+
+    private final int defaultPriority;
+
+    private final Map<PathPattern, Integer> paths = new LinkedHashMap<>();
+
+    private final Scheduler scheduler;
+
+    private final Executor[] eventLoops;
+
+    /**
+     * the nano time the pending probe of each event loop was submitted at, 0 if none is pending.
+     */
+    private final AtomicLongArray eventLoopPendingSince;
+
+    /**
+     * the last queueing delay of each event loop.
+     */
+    private final AtomicLongArray eventLoopLags;
+
+    private volatile ScheduledExecutorService probeExecutor;
+
+    private volatile long selfLagNanos;
+
+    private volatile long schedulerLagNanos;
+
+    private volatile long eventLoopLagNanos;
+
+    /**
+     * the nano time the pending probe of the scheduler was submitted at, 0 if none is pending.
+     */
+    private final AtomicLong pendingSince = new AtomicLong();
+
+    private volatile long lastProbe = System.nanoTime();
+
+    /**
+     * Instantiates a new load shedder.
+     *
+     * @param config the load shedding config
+     * @param scheduler the scheduler the requests are scheduled on, null if they are not
+     */
+    public LoadShedder(final LoadSheddingConfig config, final Scheduler scheduler) {
+        this(config, scheduler, null);
+    }
+
+    /**
+     * Instantiates a new load shedder.
+     *
+     * @param config the load shedding config
+     * @param scheduler the scheduler the requests are scheduled on, null if they are not
+     * @param eventLoops the event loops of the server, null if they are unknown
+     */
+    public LoadShedder(final LoadSheddingConfig config, final Scheduler scheduler, final Iterable<? extends Executor> eventLoops) {
+        this.maxInflight = Math.max(config.getMaxInflight(), 1);
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(config.getMaxLag(), 1));
+        this.probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(config.getProbeInterval(), 1));
+        this.priorityHeader = config.getPriorityHeader();
+        this.defaultPriority = priorityOf(config.getDefaultPriority(), PRIORITIES.indexOf("normal"));
+        config.getPaths().forEach((pattern, priority) -> paths.put(PathMatchUtils.parsePathPattern(pattern), priorityOf(priority, defaultPriority)));
+        this.scheduler = scheduler;
+        final List<Executor> loops = new ArrayList<>();
+        if (Objects.nonNull(eventLoops)) {
+            eventLoops.forEach(loops::add);
+        }
+        this.eventLoops = loops.toArray(new Executor[0]);
+        this.eventLoopPendingSince = new AtomicLongArray(this.eventLoops.length);
+        this.eventLoopLags = new AtomicLongArray(this.eventLoops.length);
+    }
+
+    /**
+     * Start probing the lag.
+     *
+     * @return this
+     */
+    public synchronized LoadShedder start() {
+        if (Objects.isNull(probeExecutor)) {
+            probeExecutor = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("load-shedding", true));
+            probeExecutor.scheduleWithFixedDelay(this::probe, probeIntervalNanos, probeIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Stop probing the lag.
+     */
+    public synchronized void stop() {
+        if (Objects.nonNull(probeExecutor)) {
+            probeExecutor.shutdownNow();
+            probeExecutor = null;
+        }
+    }
+
+    /**
+     * Admit the request to the plugins by its priority and the load, the request admitted is in flight until it completes.
+     *
+     * @param exchange the exchange
+     * @param execute the execution of the plugins
+     * @return the execution, or the 503 response if the request is shed
+     */
+    public Mono<Void> admit(final ServerWebExchange exchange, final Mono<Void> execute) {
+        return Mono.defer(() -> {
+            if (load() >= SHED_LOADS[priority(exchange)]) {
+                shedCount.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                return exchange.getResponse().setComplete();
+            }
+            inflight.incrementAndGet();
+            return execute.doFinally(signalType -> inflight.decrementAndGet());
+        });
+    }
+
+    /**
+     * Get the load, 1 is fully loaded.
+     *
+     * @return the load
+     */
+    public double load() {
+        final long pending = pendingSince.get();
+        final long lag = Math.max(Math.max(Math.max(selfLagNanos, schedulerLagNanos), eventLoopLagNanos), pending == 0L ? 0L : System.nanoTime() - pending);
+        return Math.max(inflight.get() / maxInflight, lag / maxLagNanos);
+    }
+
+    /**
+     * Get the count of the requests shed.
+     *
+     * @return the shed count
+     */
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    /**
+     * Get the requests in flight.
+     *
+     * @return the inflight
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Probe the lag, the queueing delay of the event loops and of the scheduler and the delay of the probe thread beyond its interval.
+     */
+    void probe() {
+        final long now = System.nanoTime();
+        selfLagNanos = Math.max(now - lastProbe - probeIntervalNanos, 0L);
+        lastProbe = now;
+        probeEventLoops(now);
+        if (Objects.nonNull(scheduler) && pendingSince.compareAndSet(0L, now)) {
+            try {
+                scheduler.schedule(() -> {
+                    schedulerLagNanos = System.nanoTime() - now;
+                    pendingSince.set(0L);
+                });
+            } catch (RejectedExecutionException e) {
+                pendingSince.set(0L);
+            }
+        }
+    }
+
+    /**
+     * submit a probe to every event loop without one pending, the lag is the largest of the last delays
+     * and of the time the pending probes have waited so far, so a stalled loop is caught before its probe runs.
+     */
+    private void probeEventLoops(final long now) {
+        long lag = 0L;
+        for (int i = 0; i < eventLoops.length; i++) {
+            final long pending = eventLoopPendingSince.get(i);
+            if (pending != 0L) {
+                lag = Math.max(lag, now - pending);
+                continue;
+            }
+            lag = Math.max(lag, eventLoopLags.get(i));
+            if (!eventLoopPendingSince.compareAndSet(i, 0L, now)) {
+                continue;
+            }
+            final int index = i;
+            try {
+                eventLoops[i].execute(() -> {
+                    eventLoopLags.set(index, System.nanoTime() - now);
+                    eventLoopPendingSince.set(index, 0L);
+                });
+            } catch (RejectedExecutionException e) {
+                eventLoopPendingSince.set(index, 0L);
+            }
+        }
+        eventLoopLagNanos = lag;
+    }
+
+    private int priority(final ServerWebExchange exchange) {
+        if (StringUtils.isNotEmpty(priorityHeader)) {
+            final String priority = exchange.getRequest().getHeaders().getFirst(priorityHeader);
+            if (StringUtils.isNotEmpty(priority)) {
+                return priorityOf(priority, defaultPriority);
+            }
+        }
+        if (!paths.isEmpty()) {
+            final PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+            for (Map.Entry<PathPattern, Integer> entry : paths.entrySet()) {
+                if (entry.getKey().matches(path)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return defaultPriority;
+    }
+
+    private static int priorityOf(final String priority, final int defaultPriority) {
+        final int index = StringUtils.isEmpty(priority) ? -1 : PRIORITIES.indexOf(priority.trim().toLowerCase(Locale.ROOT));
+        return index < 0 ? defaultPriority : index;
+    }
+}
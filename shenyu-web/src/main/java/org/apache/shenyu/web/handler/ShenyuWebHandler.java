@@ -18,15 +18,20 @@
 package org.apache.shenyu.web.handler;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.config.LoadSheddingConfig;
 import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.PluginHandlerEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationListener;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
@@ -37,16 +42,18 @@ import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
  * This is web handler request starter.
  */
-public final class ShenyuWebHandler implements WebHandler, ApplicationListener<PluginHandlerEvent> {
+public final class ShenyuWebHandler implements WebHandler, ApplicationListener<PluginHandlerEvent>, DisposableBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(ShenyuWebHandler.class);
 
@@ -55,6 +62,11 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      */
     private volatile List<ShenyuPlugin> plugins;
 
+    /**
+     * the chain of the plugins above, rebuilt whenever they change.
+     */
+    private volatile DefaultShenyuPluginChain pluginChain;
+
     /**
      * source plugins, these plugins load from ShenyuPlugin, this filed can't change.
      */
@@ -64,6 +76,11 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
 
     private Scheduler scheduler;
 
+    /**
+     * the admission of the requests by the load, null if the load shedding is disabled.
+     */
+    private final LoadShedder loadShedder;
+
     /**
      * Instantiates a new shenyu web handler.
      *
@@ -71,8 +88,19 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      * @param shenyuConfig plugins config
      */
     public ShenyuWebHandler(final List<ShenyuPlugin> plugins, final ShenyuConfig shenyuConfig) {
+        this(plugins, shenyuConfig, null);
+    }
+
+    /**
+     * Instantiates a new shenyu web handler.
+     *
+     * @param plugins the plugins
+     * @param shenyuConfig plugins config
+     * @param eventLoops the event loops of the server, the load shedding probes them, null if they are unknown
+     */
+    public ShenyuWebHandler(final List<ShenyuPlugin> plugins, final ShenyuConfig shenyuConfig, final Iterable<? extends Executor> eventLoops) {
         this.sourcePlugins = new ArrayList<>(plugins);
-        this.plugins = new ArrayList<>(plugins);
+        updatePlugins(new ArrayList<>(plugins));
         ShenyuConfig.Scheduler config = shenyuConfig.getScheduler();
         this.scheduled = config.getEnabled();
         if (scheduled) {
@@ -82,6 +110,9 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 this.scheduler = Schedulers.boundedElastic();
             }
         }
+        LoadSheddingConfig loadSheddingConfig = shenyuConfig.getLoadShedding();
+        this.loadShedder = Objects.nonNull(loadSheddingConfig) && Boolean.TRUE.equals(loadSheddingConfig.getEnabled())
+                ? new LoadShedder(loadSheddingConfig, scheduler, eventLoops).start() : null;
     }
 
     /**
@@ -92,13 +123,27 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      */
     @Override
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
-        Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+        Mono<Void> execute = pluginChain.execute(exchange);
         if (scheduled) {
-            return execute.subscribeOn(scheduler);
+            execute = execute.subscribeOn(scheduler);
+        }
+        if (Objects.nonNull(loadShedder)) {
+            // the requests are shed on the event loop, before they are scheduled on the work threads.
+            return loadShedder.admit(exchange, execute);
         }
         return execute;
     }
 
+    /**
+     * Stop the probe of the load shedding.
+     */
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(loadShedder)) {
+            loadShedder.stop();
+        }
+    }
+
     /**
      * Put ext plugins.
      *
@@ -116,7 +161,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
             // copy new list
             List<ShenyuPlugin> newPluginList = new ArrayList<>(plugins);
             newPluginList.addAll(shenyuPlugins);
-            plugins = sortPlugins(newPluginList);
+            updatePlugins(sortPlugins(newPluginList));
         }
     }
     
@@ -140,7 +185,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 break;
             case SORTED:
                 // copy a new one, or there will be concurrency problems
-                this.plugins = sortPlugins(new ArrayList<>(this.plugins));
+                updatePlugins(sortPlugins(new ArrayList<>(this.plugins)));
                 break;
             default:
                 throw new IllegalStateException("Unexpected value: " + event.getPluginStateEnums());
@@ -174,7 +219,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         // copy a new plugin list.
         List<ShenyuPlugin> newPluginList = new ArrayList<>(this.plugins);
         newPluginList.addAll(enabledPlugins);
-        this.plugins = sortPlugins(newPluginList);
+        updatePlugins(sortPlugins(newPluginList));
     }
 
     /**
@@ -185,22 +230,65 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         // copy a new plugin list.
         List<ShenyuPlugin> newPluginList = new ArrayList<>(this.plugins);
         newPluginList.removeIf(plugin -> plugin.named().equals(pluginData.getName()));
-        this.plugins = newPluginList;
+        updatePlugins(newPluginList);
     }
 
-    private static class DefaultShenyuPluginChain implements ShenyuPluginChain {
+    /**
+     * publish the plugins together with their chain.
+     *
+     * @param newPlugins the new plugin list
+     */
+    private synchronized void updatePlugins(final List<ShenyuPlugin> newPlugins) {
+        this.plugins = newPlugins;
+        this.pluginChain = DefaultShenyuPluginChain.build(newPlugins);
+    }
+
+    /**
+     * the immutable plugin chain, one chain object per position is built ahead and shared by all the requests.
+     * every rpc type has its mask of the plugins always skipped for it, they are passed over without calling skip.
+     */
+    private static final class DefaultShenyuPluginChain implements ShenyuPluginChain {
 
-        private int index;
+        private final int index;
 
-        private final List<ShenyuPlugin> plugins;
+        private final ShenyuPlugin[] plugins;
 
         /**
-         * Instantiates a new Default shenyu plugin chain.
-         *
-         * @param plugins the plugins
+         * rpc type -> whether the plugin at the position is skipped.
          */
-        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins) {
+        private final Map<String, boolean[]> skipMasks;
+
+        private final DefaultShenyuPluginChain[] chains;
+
+        private DefaultShenyuPluginChain(final int index, final ShenyuPlugin[] plugins,
+                                         final Map<String, boolean[]> skipMasks, final DefaultShenyuPluginChain[] chains) {
+            this.index = index;
             this.plugins = plugins;
+            this.skipMasks = skipMasks;
+            this.chains = chains;
+        }
+
+        /**
+         * Build the chain of the plugins.
+         *
+         * @param pluginList the sorted plugins
+         * @return the head of the chain
+         */
+        static DefaultShenyuPluginChain build(final List<ShenyuPlugin> pluginList) {
+            final ShenyuPlugin[] plugins = pluginList.toArray(new ShenyuPlugin[0]);
+            final Map<String, boolean[]> skipMasks = new HashMap<>(RpcTypeEnum.values().length * 2);
+            for (RpcTypeEnum rpcType : RpcTypeEnum.values()) {
+                boolean[] skipMask = new boolean[plugins.length];
+                for (int i = 0; i < plugins.length; i++) {
+                    skipMask[i] = plugins[i].skipRpcType(rpcType);
+                }
+                skipMasks.put(rpcType.getName(), skipMask);
+            }
+            final DefaultShenyuPluginChain[] chains = new DefaultShenyuPluginChain[plugins.length + 1];
+            for (int i = 0; i < chains.length; i++) {
+                chains[i] = new DefaultShenyuPluginChain(i, plugins, skipMasks, chains);
+            }
+            return chains[0];
         }
 
         /**
@@ -211,17 +299,31 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
          */
         @Override
         public Mono<Void> execute(final ServerWebExchange exchange) {
+            if (index >= plugins.length) {
+                return Mono.empty();
+            }
+            // plugins usually assemble the rest of the chain before their own work completes, so the next plugin is deferred
             return Mono.defer(() -> {
-                if (this.index < plugins.size()) {
-                    ShenyuPlugin plugin = plugins.get(this.index++);
-                    boolean skip = plugin.skip(exchange);
-                    if (skip) {
-                        return this.execute(exchange);
+                final boolean[] skipMask = obtainSkipMask(exchange);
+                for (int i = index; i < plugins.length; i++) {
+                    if (Objects.nonNull(skipMask) && skipMask[i]) {
+                        continue;
+                    }
+                    final ShenyuPlugin plugin = plugins[i];
+                    if (!plugin.skip(exchange)) {
+                        return plugin.execute(exchange, chains[i + 1]);
                     }
-                    return plugin.execute(exchange, this);
                 }
                 return Mono.empty();
             });
         }
+
+        private boolean[] obtainSkipMask(final ServerWebExchange exchange) {
+            final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+            if (Objects.isNull(shenyuContext) || Objects.isNull(shenyuContext.getRpcType())) {
+                return null;
+            }
+            return skipMasks.get(shenyuContext.getRpcType());
+        }
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import org.apache.shenyu.common.config.LoadSheddingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for LoadShedder.
+ */
+public final class LoadShedderTest {
+
+    private static final String PRIORITY_HEADER = "X-Priority";
+
+    private LoadSheddingConfig config;
+
+    @BeforeEach
+    public void setUp() {
+        config = new LoadSheddingConfig();
+        config.setEnabled(true);
+        config.setMaxInflight(4);
+        config.setPriorityHeader(PRIORITY_HEADER);
+        config.getPaths().put("/critical/**", "critical");
+    }
+
+    @Test
+    public void shedByPriorityTest() {
+        LoadShedder loadShedder = new LoadShedder(config, null);
+        final Disposable first = loadShedder.admit(exchange("/a", null), Mono.never()).subscribe();
+        final Disposable second = loadShedder.admit(exchange("/a", null), Mono.never()).subscribe();
+        assertEquals(2, loadShedder.getInflight());
+        assertShed(loadShedder, exchange("/a", "low"));
+        final Disposable third = loadShedder.admit(exchange("/a", null), Mono.never()).subscribe();
+        assertShed(loadShedder, exchange("/a", "normal"));
+        final Disposable fourth = loadShedder.admit(exchange("/a", "high"), Mono.never()).subscribe();
+        assertShed(loadShedder, exchange("/critical/a", null));
+        assertEquals(3, loadShedder.getShedCount());
+        first.dispose();
+        ServerWebExchange critical = exchange("/critical/a", null);
+        StepVerifier.create(loadShedder.admit(critical, Mono.empty())).verifyComplete();
+        assertNull(critical.getResponse().getStatusCode());
+        second.dispose();
+        third.dispose();
+        fourth.dispose();
+        assertEquals(0, loadShedder.getInflight());
+    }
+
+    @Test
+    public void shedBySchedulerLagTest() throws InterruptedException {
+        config.setMaxLag(1);
+        LoadShedder loadShedder = new LoadShedder(config, mock(Scheduler.class));
+        loadShedder.probe();
+        TimeUnit.MILLISECONDS.sleep(5);
+        assertTrue(loadShedder.load() >= 1d);
+        assertShed(loadShedder, exchange("/critical/a", null));
+    }
+
+    @Test
+    public void rejectedSchedulerProbeTest() {
+        Scheduler scheduler = mock(Scheduler.class);
+        when(scheduler.schedule(any(Runnable.class))).thenThrow(new RejectedExecutionException());
+        LoadShedder loadShedder = new LoadShedder(config, scheduler);
+        loadShedder.probe();
+        loadShedder.probe();
+        verify(scheduler, times(2)).schedule(any(Runnable.class));
+    }
+
+    @Test
+    public void shedByEventLoopLagTest() throws InterruptedException {
+        config.setMaxLag(1);
+        List<Runnable> queued = new ArrayList<>();
+        Executor stalled = queued::add;
+        LoadShedder loadShedder = new LoadShedder(config, null, Collections.singletonList(stalled));
+        loadShedder.probe();
+        assertEquals(1, queued.size());
+        TimeUnit.MILLISECONDS.sleep(5);
+        loadShedder.probe();
+        assertEquals(1, queued.size());
+        assertTrue(loadShedder.load() >= 1d);
+        assertShed(loadShedder, exchange("/critical/a", null));
+        queued.get(0).run();
+        loadShedder.probe();
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    public void stopTest() {
+        LoadShedder loadShedder = new LoadShedder(config, null).start();
+        loadShedder.stop();
+        loadShedder.stop();
+        StepVerifier.create(loadShedder.admit(exchange("/a", null), Mono.empty())).verifyComplete();
+    }
+
+    private static void assertShed(final LoadShedder loadShedder, final ServerWebExchange exchange) {
+        StepVerifier.create(loadShedder.admit(exchange, Mono.error(new IllegalStateException()))).verifyComplete();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+    }
+
+    private static ServerWebExchange exchange(final String path, final String priority) {
+        MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get(path);
+        if (priority != null) {
+            builder.header(PRIORITY_HEADER, priority);
+        }
+        return MockServerWebExchange.from(builder.build());
+    }
+}
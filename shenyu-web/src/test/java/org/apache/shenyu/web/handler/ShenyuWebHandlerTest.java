@@ -21,6 +21,7 @@ import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -40,11 +41,16 @@ import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -82,6 +88,23 @@ public final class ShenyuWebHandlerTest {
         StepVerifier.create(handle).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void handleSkipRpcTypes() {
+        TestPlugin4 httpPlugin = new TestPlugin4();
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(plugin1, httpPlugin), new ShenyuConfig());
+        ShenyuContext shenyuContext = new ShenyuContext();
+        shenyuContext.setRpcType(RpcTypeEnum.DUBBO.getName());
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
+        exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+        StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+        assertEquals(0, httpPlugin.executed.get());
+
+        shenyuContext.setRpcType(RpcTypeEnum.HTTP.getName());
+        StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+        StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+        assertEquals(2, httpPlugin.executed.get());
+    }
+
     @Test
     public void putExtPlugins() {
         shenyuWebHandler.putExtPlugins(Collections.emptyList());
@@ -105,6 +128,19 @@ public final class ShenyuWebHandlerTest {
         assertNotNull(handle2);
     }
 
+    @Test
+    public void loadSheddingEnableTest() {
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress(8090))
+                .build());
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getLoadShedding().setEnabled(true);
+        ShenyuWebHandler handler = new ShenyuWebHandler(listPlugins, shenyuConfig);
+        StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+
     @Test
     public void testOnApplicationEvent() {
         PluginData pluginData1 = PluginData.builder().id("1")
@@ -216,4 +252,30 @@ public final class ShenyuWebHandlerTest {
             return ShenyuPlugin.super.skip(exchange);
         }
     }
+
+    static class TestPlugin4 implements ShenyuPlugin {
+
+        private final AtomicInteger executed = new AtomicInteger();
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            executed.incrementAndGet();
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 4;
+        }
+
+        @Override
+        public String named() {
+            return "test-plugin4";
+        }
+
+        @Override
+        public Set<RpcTypeEnum> skipExceptRpcTypes() {
+            return EnumSet.of(RpcTypeEnum.HTTP);
+        }
+    }
 }